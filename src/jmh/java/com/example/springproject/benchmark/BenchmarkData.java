@@ -0,0 +1,50 @@
+package com.example.springproject.benchmark;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sample users shared by the benchmarks, shaped like the users of the API.
+ */
+final class BenchmarkData {
+
+  private BenchmarkData() {}
+
+  static UserRequest request(int i) {
+    return new UserRequest("user" + i, "secret" + i, "user" + i + "@example.com", "09" + (10000000 + i), "USER");
+  }
+
+  static User user(int i) {
+    UserRequest request = request(i);
+    User user = new User(request.getUsername(), request.getPassword(), request.getEmail(), request.getPhone(),
+          request.getRole());
+    user.ensureId();
+    return user;
+  }
+
+  static UserResponse response(int i) {
+    User user = user(i);
+    return new UserResponse(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(), user.getPhone(),
+          user.getRole());
+  }
+
+  static List<User> users(int count) {
+    List<User> users = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      users.add(user(i));
+    }
+    return users;
+  }
+
+  static List<UserResponse> responses(int count) {
+    List<UserResponse> responses = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      responses.add(response(i));
+    }
+    return responses;
+  }
+}
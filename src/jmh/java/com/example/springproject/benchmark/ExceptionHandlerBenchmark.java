@@ -0,0 +1,78 @@
+package com.example.springproject.benchmark;
+
+import com.example.springproject.configuration.MessageSourceConfiguration;
+import com.example.springproject.controller.advice.ExceptionHandlerAdvice;
+import com.example.springproject.dto.base.ResponseGeneral;
+import com.example.springproject.exception.BatchTooLargeException;
+import com.example.springproject.exception.ImportJobNotFoundException;
+import com.example.springproject.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the error paths: creating the exception, as the service does, then turning it into a localized
+ * response, as {@link ExceptionHandlerAdvice} does.
+ * {@link #createException()} creates a stackless exception, {@link #createExceptionWithStackTrace()} one that still
+ * captures its stack trace.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+
+  private ExceptionHandlerAdvice advice;
+  private UserNotFoundException notFound;
+  private final RuntimeException failure = new IllegalStateException("benchmark");
+
+  @Setup
+  public void setUp() {
+    advice = new ExceptionHandlerAdvice(new MessageSourceConfiguration().messageSource(), new SimpleMeterRegistry());
+    notFound = new UserNotFoundException();
+  }
+
+  @Benchmark
+  public UserNotFoundException createException() {
+    return new UserNotFoundException();
+  }
+
+  @Benchmark
+  public ImportJobNotFoundException createExceptionWithStackTrace() {
+    return new ImportJobNotFoundException();
+  }
+
+  @Benchmark
+  public ResponseEntity<ResponseGeneral<Object>> handleNotFound() {
+    return advice.handleNotFoundException(notFound, Locale.ENGLISH);
+  }
+
+  @Benchmark
+  public ResponseEntity<ResponseGeneral<Object>> notFound() {
+    return advice.handleNotFoundException(new UserNotFoundException(), Locale.ENGLISH);
+  }
+
+  @Benchmark
+  public ResponseEntity<ResponseGeneral<Object>> badRequestWithParams() {
+    return advice.handleBadRequestException(new BatchTooLargeException(1000), Locale.ENGLISH);
+  }
+
+  @Benchmark
+  public ResponseEntity<ResponseGeneral<Object>> generic() {
+    return advice.handleGenericException(failure, Locale.ENGLISH);
+  }
+}
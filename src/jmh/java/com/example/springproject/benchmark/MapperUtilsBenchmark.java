@@ -0,0 +1,61 @@
+package com.example.springproject.benchmark;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.entity.User;
+import com.example.springproject.utils.MapperUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping between users and their DTOs with {@link MapperUtils}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperUtilsBenchmark {
+
+  @Param({"10", "100"})
+  private int size;
+
+  private User user;
+  private UserRequest request;
+  private List<User> users;
+
+  @Setup
+  public void setUp() {
+    user = BenchmarkData.user(0);
+    request = BenchmarkData.request(0);
+    users = BenchmarkData.users(size);
+  }
+
+  @Benchmark
+  public UserResponse toDTO() {
+    return MapperUtils.toDTO(user, UserResponse.class);
+  }
+
+  @Benchmark
+  public User toEntity() {
+    return MapperUtils.toEntity(request, User.class);
+  }
+
+  @Benchmark
+  public List<UserResponse> toDTOs() {
+    return MapperUtils.toDTOs(users, UserResponse.class);
+  }
+}
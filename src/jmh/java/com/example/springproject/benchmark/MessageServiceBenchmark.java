@@ -0,0 +1,54 @@
+package com.example.springproject.benchmark;
+
+import com.example.springproject.service.base.MessageService;
+import com.example.springproject.service.base.MessageServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.springproject.constant.CommonConstants.MESSAGE_SOURCE;
+import static com.example.springproject.constant.MessageCodeConstant.LIST_USER;
+
+/**
+ * Cost of resolving a localized message, as every response does once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageServiceBenchmark {
+
+  @Param({"en", "vi"})
+  private String language;
+
+  private MessageService messageService;
+
+  @Setup
+  public void setUp() {
+    messageService = new MessageServiceImpl(MESSAGE_SOURCE, StandardCharsets.UTF_8, Duration.ZERO);
+  }
+
+  @Benchmark
+  public String knownCode() {
+    return messageService.getMessage(LIST_USER, language);
+  }
+
+  @Benchmark
+  public String unknownCode() {
+    return messageService.getMessage("com.example.springproject.benchmark.missing", language);
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.springproject.benchmark;
+
+import com.example.springproject.controller.converter.ResponseGeneralHttpMessageConverter;
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.base.ResponseGeneral;
+import com.example.springproject.dto.response.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and serializing the response envelopes, with an ObjectMapper configured like the one of the
+ * application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+  private static final String MESSAGE = "Get List User Success";
+
+  @Param({"10", "100", "1000"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private ResponseGeneralHttpMessageConverter converter;
+  private final HttpOutputMessage output = new DiscardingOutputMessage();
+  private UserResponse user;
+  private List<UserResponse> users;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    converter = new ResponseGeneralHttpMessageConverter(objectMapper, 64);
+    user = BenchmarkData.response(0);
+    users = BenchmarkData.responses(pageSize);
+  }
+
+  @Benchmark
+  public byte[] user() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(ResponseGeneral.ofSuccess(MESSAGE, user));
+  }
+
+  @Benchmark
+  public byte[] page() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(ResponseGeneral.ofSuccess(MESSAGE, PageResponse.of(users, 10_000)));
+  }
+
+  @Benchmark
+  public byte[] error() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(ResponseGeneral.of(404, "User Not Found Exception", null));
+  }
+
+  @Benchmark
+  public void userConverter() throws IOException {
+    converter.write(ResponseGeneral.ofSuccess(MESSAGE, user), MediaType.APPLICATION_JSON, output);
+  }
+
+  @Benchmark
+  public void pageConverter() throws IOException {
+    converter.write(ResponseGeneral.ofSuccess(MESSAGE, PageResponse.of(users, 10_000)), MediaType.APPLICATION_JSON,
+          output);
+  }
+
+  /**
+   * Output message discarding the body, so only the serialization is measured.
+   */
+  private static final class DiscardingOutputMessage implements HttpOutputMessage {
+    private final OutputStream body = OutputStream.nullOutputStream();
+
+    @Override
+    public OutputStream getBody() {
+      return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return new HttpHeaders();
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.example.springproject.benchmark;
+
+import com.example.springproject.SpringProjectApplication;
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchItemResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.service.UserService;
+import com.example.springproject.service.search.UserSearchEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service operations behind the endpoints, with the application context of the application running
+ * against an in-memory H2 database in MySQL mode, seeded with {@link #USERS} users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+  private static final int USERS = 10_000;
+  private static final int SEED_BATCH_SIZE = 1_000;
+  private static final int PAGE_SIZE = 20;
+
+  @Param({"true", "false"})
+  private boolean cacheEnabled;
+
+  @Param({"trigram", "none"})
+  private String searchEngine;
+
+  private ConfigurableApplicationContext context;
+  private UserService userService;
+  private String[] ids;
+
+  @Setup(Level.Trial)
+  public void setUp() throws InterruptedException {
+    context = new SpringApplicationBuilder(SpringProjectApplication.class)
+          .web(WebApplicationType.NONE)
+          .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--app.user.cache.enabled=" + cacheEnabled,
+                "--app.user.search.engine=" + searchEngine);
+    userService = context.getBean(UserService.class);
+
+    List<String> created = new ArrayList<>(USERS);
+    for (int from = 0; from < USERS; from += SEED_BATCH_SIZE) {
+      List<UserRequest> requests = new ArrayList<>(SEED_BATCH_SIZE);
+      for (int i = from; i < from + SEED_BATCH_SIZE; i++) {
+        requests.add(BenchmarkData.request(i));
+      }
+      for (BatchItemResponse item : userService.createBatch(requests).getItems()) {
+        created.add(item.getId());
+      }
+    }
+    ids = created.toArray(new String[0]);
+
+    UserSearchEngine engine = context.getBean(UserSearchEngine.class);
+    while (!engine.isReady() && !"none".equals(searchEngine)) {
+      Thread.sleep(100);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public UserResponse getById() {
+    return userService.getById(ids[ThreadLocalRandom.current().nextInt(ids.length)], UserField.ALL);
+  }
+
+  @Benchmark
+  public PageResponse<UserResponse> getAllUser() {
+    return userService.getAllUser(PAGE_SIZE, ThreadLocalRandom.current().nextInt(USERS / PAGE_SIZE), UserField.ALL);
+  }
+
+  @Benchmark
+  public PageResponse<UserResponse> getAllUserAfter() {
+    return userService.getAllUserAfter(null, PAGE_SIZE, UserField.ALL);
+  }
+
+  @Benchmark
+  public PageResponse<UserResponse> getUserBySearch() {
+    return userService.getUserBySearch("user12", PAGE_SIZE, 0, UserField.ALL);
+  }
+}
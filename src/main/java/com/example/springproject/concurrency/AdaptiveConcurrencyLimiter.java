@@ -0,0 +1,259 @@
+package com.example.springproject.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limit of the requests of one endpoint group running at once, learnt from their latency rather than configured.
+ *
+ * Requests hold a {@link Permit} while they run. Every window of samples, the average latency of the window
+ * (short RTT) is compared to a slowly moving average of past windows (long RTT): while they agree the limit grows
+ * by a small queue allowance, and when the short RTT rises above the long RTT, as it does once the database starts
+ * queueing, the limit shrinks by their ratio (gradient). Dropped requests, those failing with a server error or
+ * timing out, cut the limit at once. Requests beyond the limit are refused instead of queueing, so latency stays
+ * close to the healthy one and the excess is shed.
+ *
+ * A disabled limiter grants every permit.
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+  private static final double LONG_RTT_SMOOTHING = 0.05;
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double LONG_RTT_DRIFT = 2.0;
+
+  @Getter
+  private final String name;
+  private final boolean enabled;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double smoothing;
+  private final int windowSize;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private volatile int limit;
+
+  private double estimatedLimit;
+  private double longRtt;
+  private long windowRttSum;
+  private int windowCount;
+  private int windowMaxInflight;
+  private boolean windowDropped;
+
+  private AdaptiveConcurrencyLimiter(String name, boolean enabled, int initialLimit, int minLimit, int maxLimit,
+                                     double tolerance, double smoothing, int windowSize) {
+    this.name = name;
+    this.enabled = enabled;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.smoothing = smoothing;
+    this.windowSize = windowSize;
+    this.limit = initialLimit;
+    this.estimatedLimit = initialLimit;
+  }
+
+  /**
+   * Creates a limiter.
+   *
+   * @param name         The name of the endpoint group, used for the metrics.
+   * @param initialLimit The limit until enough samples have been seen.
+   * @param minLimit     The limit never goes below, so a slow database still serves some requests.
+   * @param maxLimit     The limit never goes above, typically the number of threads or connections available.
+   * @param tolerance    How much slower than the long RTT the short RTT may get before the limit shrinks, e.g. 1.5.
+   * @param smoothing    The weight of a new estimate against the current limit, between 0 and 1.
+   * @param windowSize   The number of samples averaged before the limit is updated.
+   * @return A new AdaptiveConcurrencyLimiter.
+   */
+  public static AdaptiveConcurrencyLimiter of(String name, int initialLimit, int minLimit, int maxLimit,
+                                              double tolerance, double smoothing, int windowSize) {
+    int initial = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    return new AdaptiveConcurrencyLimiter(name, true, initial, minLimit, maxLimit, tolerance, smoothing,
+          Math.max(1, windowSize));
+  }
+
+  /**
+   * Creates a limiter granting every permit.
+   *
+   * @param name The name of the endpoint group.
+   * @return A new disabled AdaptiveConcurrencyLimiter.
+   */
+  public static AdaptiveConcurrencyLimiter disabled(String name) {
+    return new AdaptiveConcurrencyLimiter(name, false, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, 1, 1, 1);
+  }
+
+  /**
+   * Takes a permit if fewer requests than the limit are running.
+   *
+   * @return The permit to release once the request completes, or null if the request must be refused.
+   */
+  public Permit tryAcquire() {
+    if (!enabled) {
+      inflight.incrementAndGet();
+      return new Permit(System.nanoTime());
+    }
+    int current;
+    do {
+      current = inflight.get();
+      if (current >= limit) {
+        rejected.increment();
+        return null;
+      }
+    } while (!inflight.compareAndSet(current, current + 1));
+    return new Permit(System.nanoTime());
+  }
+
+  private void release(long startNanos, boolean drop) {
+    int running = inflight.getAndDecrement();
+    if (!enabled) {
+      return;
+    }
+    if (drop) {
+      dropped.increment();
+    }
+    sample(System.nanoTime() - startNanos, running, drop);
+  }
+
+  private synchronized void sample(long rtt, int running, boolean drop) {
+    windowRttSum += rtt;
+    windowCount++;
+    windowMaxInflight = Math.max(windowMaxInflight, running);
+    windowDropped |= drop;
+    if (windowCount < windowSize) {
+      return;
+    }
+    double shortRtt = (double) windowRttSum / windowCount;
+    int maxInflight = windowMaxInflight;
+    boolean anyDropped = windowDropped;
+    windowRttSum = 0;
+    windowCount = 0;
+    windowMaxInflight = 0;
+    windowDropped = false;
+    update(shortRtt, maxInflight, anyDropped);
+  }
+
+  private void update(double shortRtt, int maxInflight, boolean anyDropped) {
+    if (longRtt == 0) {
+      longRtt = shortRtt;
+    } else {
+      longRtt += (shortRtt - longRtt) * LONG_RTT_SMOOTHING;
+    }
+    // After a long slow period the average stays high and would let the limit grow on latencies that are only
+    // good compared to it; pull it back down towards the recent ones.
+    if (longRtt / shortRtt > LONG_RTT_DRIFT) {
+      longRtt = shortRtt * LONG_RTT_DRIFT;
+    }
+    double newLimit;
+    if (anyDropped) {
+      newLimit = estimatedLimit * BACKOFF_RATIO;
+    } else if (maxInflight < estimatedLimit / 2) {
+      // The group was not using its limit, so its latency says nothing about a larger one.
+      return;
+    } else {
+      double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+      double queueSize = Math.sqrt(estimatedLimit);
+      newLimit = estimatedLimit * (1 - smoothing) + smoothing * (estimatedLimit * gradient + queueSize);
+    }
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    limit = (int) estimatedLimit;
+  }
+
+  /**
+   * Returns the number of requests allowed to run at once.
+   *
+   * @return The current limit.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Returns the number of requests holding a permit.
+   *
+   * @return The number of running requests.
+   */
+  public int getInflight() {
+    return inflight.get();
+  }
+
+  /**
+   * Returns the number of requests refused since startup.
+   *
+   * @return The number of rejected requests.
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Returns the number of requests that failed or timed out since startup.
+   *
+   * @return The number of dropped requests.
+   */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * Registers the limit, running requests, rejections and drops of the limiter, tagged with its name.
+   *
+   * @param registry The registry of the application.
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+          .tag("group", name)
+          .description("Requests of the group allowed to run at once")
+          .register(registry);
+    Gauge.builder("concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInflight)
+          .tag("group", name)
+          .description("Requests of the group running")
+          .register(registry);
+    FunctionCounter.builder("concurrency.rejected", this, AdaptiveConcurrencyLimiter::getRejected)
+          .tag("group", name)
+          .description("Requests refused because the group was at its limit")
+          .register(registry);
+    FunctionCounter.builder("concurrency.dropped", this, AdaptiveConcurrencyLimiter::getDropped)
+          .tag("group", name)
+          .description("Requests of the group that failed or timed out")
+          .register(registry);
+  }
+
+  /**
+   * The right of one request to run, released exactly once when the request completes.
+   */
+  public final class Permit {
+    private final long startNanos;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(long startNanos) {
+      this.startNanos = startNanos;
+    }
+
+    /**
+     * Releases the permit of a request that completed, its latency feeding the limit.
+     */
+    public void onSuccess() {
+      if (released.compareAndSet(false, true)) {
+        release(startNanos, false);
+      }
+    }
+
+    /**
+     * Releases the permit of a request that failed or timed out, which shrinks the limit.
+     */
+    public void onDropped() {
+      if (released.compareAndSet(false, true)) {
+        release(startNanos, true);
+      }
+    }
+  }
+}
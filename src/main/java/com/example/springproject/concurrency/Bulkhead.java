@@ -0,0 +1,231 @@
+package com.example.springproject.concurrency;
+
+import com.example.springproject.exception.base.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of threads reserved to one class of operations, so that a burst of slow operations exhausts
+ * its own threads and queue rather than the threads every other operation needs.
+ *
+ * Tasks beyond the threads wait in a bounded queue; once the queue is full, new tasks are rejected at once
+ * with a {@link ServiceUnavailableException} instead of piling up. A disabled bulkhead runs tasks on the
+ * calling thread.
+ *
+ * When requests are served on virtual threads, a pool of platform threads would put a thread hop and a cap on
+ * cheap threads back in front of every operation. A semaphore bulkhead keeps the same limits without a pool:
+ * tasks run on the calling thread, at most as many at once as the bulkhead has threads, while the others park
+ * on a semaphore, which does not pin a virtual thread, up to the queue capacity.
+ */
+public class Bulkhead implements MeterBinder {
+  @Getter
+  private final String name;
+  private final int threads;
+  private final int queueCapacity;
+  private final ThreadPoolExecutor executor;
+  private final Executor decoratedExecutor;
+  private final Semaphore admissions;
+  private final Semaphore running;
+  private final LongAdder rejected = new LongAdder();
+
+  private Bulkhead(String name, int threads, int queueCapacity, ThreadPoolExecutor executor,
+                   TaskDecorator taskDecorator) {
+    this.name = name;
+    this.threads = threads;
+    this.queueCapacity = queueCapacity;
+    this.executor = executor;
+    this.decoratedExecutor = executor == null ? null : task -> executor.execute(taskDecorator.decorate(task));
+    this.admissions = null;
+    this.running = null;
+  }
+
+  private Bulkhead(String name, int threads, int queueCapacity) {
+    this.name = name;
+    this.threads = threads;
+    this.queueCapacity = queueCapacity;
+    this.executor = null;
+    this.decoratedExecutor = null;
+    this.admissions = new Semaphore(threads + queueCapacity);
+    this.running = new Semaphore(threads, true);
+  }
+
+  /**
+   * Creates a bulkhead.
+   *
+   * @param name          The name of the bulkhead, used for its threads and metrics.
+   * @param threads       The number of threads running the tasks.
+   * @param queueCapacity The number of tasks waiting for a thread before new ones are rejected.
+   * @return A new Bulkhead.
+   */
+  public static Bulkhead of(String name, int threads, int queueCapacity) {
+    return of(name, threads, queueCapacity, task -> task);
+  }
+
+  /**
+   * Creates a bulkhead whose tasks are decorated on the submitting thread, typically to carry its context over.
+   *
+   * @param name          The name of the bulkhead, used for its threads and metrics.
+   * @param threads       The number of threads running the tasks.
+   * @param queueCapacity The number of tasks waiting for a thread before new ones are rejected.
+   * @param taskDecorator The decorator applied to every task.
+   * @return A new Bulkhead.
+   */
+  public static Bulkhead of(String name, int threads, int queueCapacity, TaskDecorator taskDecorator) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bulkhead-" + name + "-"),
+          new ThreadPoolExecutor.AbortPolicy());
+    return new Bulkhead(name, threads, queueCapacity, executor, taskDecorator);
+  }
+
+  /**
+   * Creates a bulkhead running its tasks on the calling threads, for requests served on virtual threads.
+   * Nothing has to be carried over to another thread, so tasks are not decorated.
+   *
+   * @param name          The name of the bulkhead, used for its metrics.
+   * @param threads       The number of tasks running at once.
+   * @param queueCapacity The number of tasks waiting for their turn before new ones are rejected.
+   * @return A new Bulkhead.
+   */
+  public static Bulkhead semaphore(String name, int threads, int queueCapacity) {
+    return new Bulkhead(name, threads, queueCapacity);
+  }
+
+  /**
+   * Creates a bulkhead running every task on the calling thread.
+   *
+   * @param name The name of the bulkhead.
+   * @return A new disabled Bulkhead.
+   */
+  public static Bulkhead disabled(String name) {
+    return new Bulkhead(name, 0, 0, null, null);
+  }
+
+  /**
+   * Runs a task in the bulkhead.
+   *
+   * @param task The task.
+   * @return A future completed with the result of the task, or its exception.
+   * @throws ServiceUnavailableException if the threads are busy and the queue is full.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    if (running != null) {
+      return CompletableFuture.completedFuture(runOnCaller(task));
+    }
+    if (executor == null) {
+      return CompletableFuture.completedFuture(task.get());
+    }
+    try {
+      return CompletableFuture.supplyAsync(task, decoratedExecutor);
+    } catch (RejectedExecutionException ex) {
+      rejected.increment();
+      throw new ServiceUnavailableException();
+    }
+  }
+
+  /**
+   * Returns the number of tasks waiting for a thread.
+   *
+   * @return The depth of the queue.
+   */
+  public int getQueueDepth() {
+    if (running != null) {
+      return Math.max(0, threads + queueCapacity - admissions.availablePermits() - getActive());
+    }
+    return executor == null ? 0 : executor.getQueue().size();
+  }
+
+  /**
+   * Returns the number of threads running a task.
+   *
+   * @return The number of active threads.
+   */
+  public int getActive() {
+    if (running != null) {
+      return threads - running.availablePermits();
+    }
+    return executor == null ? 0 : executor.getActiveCount();
+  }
+
+  /**
+   * Returns the number of tasks rejected since startup.
+   *
+   * @return The number of rejected tasks.
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Registers the queue depth, active threads and rejections of the bulkhead, tagged with its name.
+   *
+   * @param registry The registry of the application.
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("bulkhead.queue.depth", this, Bulkhead::getQueueDepth)
+          .tag("bulkhead", name)
+          .description("Tasks waiting for a thread of the bulkhead")
+          .register(registry);
+    Gauge.builder("bulkhead.queue.capacity", this, bulkhead -> bulkhead.queueCapacity)
+          .tag("bulkhead", name)
+          .register(registry);
+    Gauge.builder("bulkhead.active", this, Bulkhead::getActive)
+          .tag("bulkhead", name)
+          .description("Threads of the bulkhead running a task")
+          .register(registry);
+    Gauge.builder("bulkhead.threads", this, bulkhead -> bulkhead.threads)
+          .tag("bulkhead", name)
+          .register(registry);
+    FunctionCounter.builder("bulkhead.rejected", this, Bulkhead::getRejected)
+          .tag("bulkhead", name)
+          .description("Tasks rejected because the bulkhead was full")
+          .register(registry);
+  }
+
+  /**
+   * Runs a task on the calling thread once one of the running permits is free, the caller parking meanwhile.
+   */
+  private <T> T runOnCaller(Supplier<T> task) {
+    if (!admissions.tryAcquire()) {
+      rejected.increment();
+      throw new ServiceUnavailableException();
+    }
+    try {
+      running.acquire();
+    } catch (InterruptedException ex) {
+      admissions.release();
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException();
+    }
+    try {
+      return task.get();
+    } finally {
+      running.release();
+      admissions.release();
+    }
+  }
+
+  /**
+   * Stops the threads of the bulkhead, letting the running tasks finish.
+   */
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.springproject.concurrency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+
+/**
+ * The token buckets of the clients of one rate limit, bounded in number.
+ *
+ * Clients are spread over stripes by the hash of their key. Each stripe is a Caffeine cache holding its own share of
+ * the capacity. A bucket expires once it has not been used for the time it takes to refill entirely. By then it is
+ * full and dropping it loses nothing. A stripe reaching its share evicts in O(1) with the Window TinyLFU policy of
+ * Caffeine, which keeps the clients sending often. A flood of one-off keys therefore cannot push out the buckets of
+ * the active clients. An evicted client simply starts again with a full bucket. Maintenance runs on the calling
+ * thread, so a stripe never grows beyond its share while a background thread catches up.
+ */
+public class ClientBuckets {
+  private final long intervalNanos;
+  private final int capacity;
+  private final Ticker ticker;
+  private final Cache<String, TokenBucket>[] stripes;
+
+  /**
+   * Creates the buckets of a rate limit.
+   *
+   * @param ratePerSecond The number of tokens refilled per second.
+   * @param capacity      The number of tokens a bucket holds when full, i.e. the burst a client may send at once.
+   * @param maxClients    The number of clients tracked before some are evicted.
+   * @param stripes       The number of stripes, rounded up to a power of two.
+   */
+  public ClientBuckets(double ratePerSecond, int capacity, int maxClients, int stripes) {
+    this(ratePerSecond, capacity, maxClients, stripes, Ticker.systemTicker());
+  }
+
+  @SuppressWarnings("unchecked")
+  ClientBuckets(double ratePerSecond, int capacity, int maxClients, int stripes, Ticker ticker) {
+    this.ticker = ticker;
+    this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+    this.capacity = Math.max(1, capacity);
+    int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+    int maxClientsPerStripe = Math.max(1, maxClients / count);
+    Duration refill = Duration.ofNanos(intervalNanos).multipliedBy(this.capacity);
+    this.stripes = new Cache[count];
+    for (int i = 0; i < count; i++) {
+      this.stripes[i] = Caffeine.newBuilder()
+            .maximumSize(maxClientsPerStripe)
+            .expireAfterAccess(refill)
+            .executor(Runnable::run)
+            .ticker(ticker)
+            .build();
+    }
+  }
+
+  /**
+   * Takes a token from the bucket of a client, creating it full if the client is new.
+   *
+   * @param client The key of the client.
+   * @return 0 if a token was taken, otherwise the time to wait in nanoseconds before one is available.
+   */
+  public long tryConsume(String client) {
+    long now = ticker.read();
+    int hash = client.hashCode();
+    Cache<String, TokenBucket> stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    return stripe.get(client, key -> new TokenBucket(intervalNanos, capacity, now)).tryConsume(now);
+  }
+
+  /**
+   * Returns the number of clients tracked, once the expired buckets are dropped.
+   *
+   * @return The number of buckets.
+   */
+  public long size() {
+    long size = 0;
+    for (Cache<String, TokenBucket> stripe : stripes) {
+      stripe.cleanUp();
+      size += stripe.estimatedSize();
+    }
+    return size;
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.springproject.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket refilled at a constant rate up to a burst capacity.
+ *
+ * Rather than a token count and a refill time, which would need a lock to change together, the bucket keeps a single
+ * timestamp: the time at which it will be full again (the generic cell rate algorithm). Taking a token pushes that
+ * time one refill interval further, and is refused when it would land more than the capacity worth of intervals
+ * after now. A compare-and-set of that one value is then the whole update.
+ *
+ * A bucket whose timestamp has passed is full, holding no state a new bucket would not, so it can be dropped freely.
+ */
+public class TokenBucket {
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final AtomicLong fullAt;
+
+  /**
+   * Creates a full bucket.
+   *
+   * @param intervalNanos The time to refill one token.
+   * @param capacity      The number of tokens the bucket holds when full.
+   * @param nowNanos      The current time, from {@link System#nanoTime()}.
+   */
+  public TokenBucket(long intervalNanos, int capacity, long nowNanos) {
+    this.intervalNanos = intervalNanos;
+    this.burstNanos = intervalNanos * capacity;
+    this.fullAt = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Takes a token if one is available.
+   *
+   * @param nowNanos The current time, from {@link System#nanoTime()}.
+   * @return 0 if a token was taken, otherwise the time to wait in nanoseconds before one is available.
+   */
+  public long tryConsume(long nowNanos) {
+    while (true) {
+      long current = fullAt.get();
+      long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+      long ahead = next - nowNanos;
+      if (ahead > burstNanos) {
+        return ahead - burstNanos;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Tells whether the bucket is full, so that dropping it loses nothing.
+   *
+   * @param nowNanos The current time, from {@link System#nanoTime()}.
+   * @return true if no token has been taken that is not refilled yet.
+   */
+  public boolean isFull(long nowNanos) {
+    return fullAt.get() - nowNanos <= 0;
+  }
+}
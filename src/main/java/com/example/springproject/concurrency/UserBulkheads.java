@@ -0,0 +1,31 @@
+package com.example.springproject.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The bulkheads of the user endpoints: point reads by id, listings and searches, and writes.
+ * A burst of full-scan searches then only queues behind other searches, and never delays a lookup by id.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserBulkheads implements MeterBinder {
+  private final Bulkhead pointRead;
+  private final Bulkhead list;
+  private final Bulkhead write;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    pointRead.bindTo(registry);
+    list.bindTo(registry);
+    write.bindTo(registry);
+  }
+
+  public void shutdown() {
+    pointRead.shutdown();
+    list.shutdown();
+    write.shutdown();
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.springproject.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The concurrency limits of the user endpoints, one per group of the bulkheads: point reads by id, listings and
+ * searches, and writes. A slow search then lowers the limit of searches only, and never sheds lookups by id.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserConcurrencyLimits implements MeterBinder {
+  private static final String LIST_SUFFIX = "/all";
+  private static final String SEARCH_SUFFIX = "/search";
+  private static final String EXPORT_SUFFIX = "/export";
+
+  private final AdaptiveConcurrencyLimiter pointRead;
+  private final AdaptiveConcurrencyLimiter list;
+  private final AdaptiveConcurrencyLimiter write;
+
+  /**
+   * Returns the limiter of a request to the user endpoints.
+   *
+   * @param method The HTTP method of the request.
+   * @param path   The path of the request, without the context path.
+   * @return The limiter of the group of the request.
+   */
+  public AdaptiveConcurrencyLimiter limiterFor(String method, String path) {
+    if (!"GET".equals(method) && !"HEAD".equals(method)) {
+      return write;
+    }
+    if (path.endsWith(LIST_SUFFIX) || path.endsWith(SEARCH_SUFFIX) || path.endsWith(EXPORT_SUFFIX)) {
+      return list;
+    }
+    return pointRead;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    pointRead.bindTo(registry);
+    list.bindTo(registry);
+    write.bindTo(registry);
+  }
+}
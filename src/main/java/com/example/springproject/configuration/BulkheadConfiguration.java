@@ -0,0 +1,54 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.concurrency.Bulkhead;
+import com.example.springproject.concurrency.UserBulkheads;
+import com.example.springproject.datasource.SqlStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class define the bulkheads isolating the classes of user operations from each other.
+ * Their tasks record their SQL statements into the statistics of the request submitting them.
+ * When requests are served on virtual threads, the bulkheads bound the operations with semaphores on the
+ * request threads instead of handing them to pools of platform threads.
+ */
+@Configuration
+public class BulkheadConfiguration {
+
+  /**
+   *
+   * @param enabled whether operations run in their bulkhead, otherwise they run on the request thread
+   * @param virtualThreads whether requests are served on virtual threads
+   * @param pointReadThreads number of threads serving reads by id
+   * @param pointReadQueue number of reads by id waiting for a thread before rejection
+   * @param listThreads number of threads serving listings and searches
+   * @param listQueue number of listings and searches waiting for a thread before rejection
+   * @param writeThreads number of threads serving creations and deletions
+   * @param writeQueue number of creations and deletions waiting for a thread before rejection
+   * @return instance of UserBulkheads
+   */
+  @Bean(destroyMethod = "shutdown")
+  public UserBulkheads userBulkheads(@Value("${app.bulkhead.enabled:true}") boolean enabled,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                     @Value("${app.bulkhead.point-read.threads:32}") int pointReadThreads,
+                                     @Value("${app.bulkhead.point-read.queue-capacity:200}") int pointReadQueue,
+                                     @Value("${app.bulkhead.list.threads:8}") int listThreads,
+                                     @Value("${app.bulkhead.list.queue-capacity:20}") int listQueue,
+                                     @Value("${app.bulkhead.write.threads:16}") int writeThreads,
+                                     @Value("${app.bulkhead.write.queue-capacity:100}") int writeQueue) {
+    if (!enabled) {
+      return new UserBulkheads(Bulkhead.disabled("point-read"), Bulkhead.disabled("list"),
+            Bulkhead.disabled("write"));
+    }
+    if (virtualThreads) {
+      return new UserBulkheads(Bulkhead.semaphore("point-read", pointReadThreads, pointReadQueue),
+            Bulkhead.semaphore("list", listThreads, listQueue),
+            Bulkhead.semaphore("write", writeThreads, writeQueue));
+    }
+    return new UserBulkheads(
+          Bulkhead.of("point-read", pointReadThreads, pointReadQueue, SqlStatistics.TASK_DECORATOR),
+          Bulkhead.of("list", listThreads, listQueue, SqlStatistics.TASK_DECORATOR),
+          Bulkhead.of("write", writeThreads, writeQueue, SqlStatistics.TASK_DECORATOR));
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.springproject.concurrency.UserConcurrencyLimits;
+import com.example.springproject.controller.filter.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * This class define the adaptive concurrency limits of the user endpoints, enforced by the ConcurrencyLimitFilter.
+ * Each group of endpoints learns its limit from its latency between the minimum and its maximum.
+ */
+@Configuration
+public class ConcurrencyLimitConfiguration {
+
+  /**
+   *
+   * @param enabled whether requests beyond the limit of their group are refused, otherwise every request runs
+   * @param minLimit limit no group goes below
+   * @param tolerance how much slower than usual requests may get before the limits shrink
+   * @param smoothing weight of a new estimate against the current limit
+   * @param windowSize number of requests averaged before a limit is updated
+   * @param pointReadInitial limit of the reads by id until enough requests were seen
+   * @param pointReadMax limit the reads by id never go above
+   * @param listInitial limit of the listings and searches until enough requests were seen
+   * @param listMax limit the listings and searches never go above
+   * @param writeInitial limit of the creations and deletions until enough requests were seen
+   * @param writeMax limit the creations and deletions never go above
+   * @return instance of UserConcurrencyLimits
+   */
+  @Bean
+  public UserConcurrencyLimits userConcurrencyLimits(
+        @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+        @Value("${app.concurrency-limit.min-limit:4}") int minLimit,
+        @Value("${app.concurrency-limit.tolerance:1.5}") double tolerance,
+        @Value("${app.concurrency-limit.smoothing:0.2}") double smoothing,
+        @Value("${app.concurrency-limit.window-size:50}") int windowSize,
+        @Value("${app.concurrency-limit.point-read.initial-limit:50}") int pointReadInitial,
+        @Value("${app.concurrency-limit.point-read.max-limit:232}") int pointReadMax,
+        @Value("${app.concurrency-limit.list.initial-limit:10}") int listInitial,
+        @Value("${app.concurrency-limit.list.max-limit:28}") int listMax,
+        @Value("${app.concurrency-limit.write.initial-limit:20}") int writeInitial,
+        @Value("${app.concurrency-limit.write.max-limit:116}") int writeMax) {
+    if (!enabled) {
+      return new UserConcurrencyLimits(AdaptiveConcurrencyLimiter.disabled("point-read"),
+            AdaptiveConcurrencyLimiter.disabled("list"), AdaptiveConcurrencyLimiter.disabled("write"));
+    }
+    return new UserConcurrencyLimits(
+          AdaptiveConcurrencyLimiter.of("point-read", pointReadInitial, minLimit, pointReadMax, tolerance, smoothing,
+                windowSize),
+          AdaptiveConcurrencyLimiter.of("list", listInitial, minLimit, listMax, tolerance, smoothing, windowSize),
+          AdaptiveConcurrencyLimiter.of("write", writeInitial, minLimit, writeMax, tolerance, smoothing, windowSize));
+  }
+
+  /**
+   *
+   * @param limits accept the limits of the user endpoints as an input
+   * @param exceptionResolver the resolver writing the 503 of refused requests like the controllers would
+   * @return instance of ConcurrencyLimitFilter
+   */
+  @Bean
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+  public ConcurrencyLimitFilter concurrencyLimitFilter(
+        UserConcurrencyLimits limits,
+        @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+    return new ConcurrencyLimitFilter(limits, exceptionResolver);
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.springproject.configuration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.function.UnaryOperator;
+
+/**
+ * Post processor wrapping the DataSource of the application, the wrappers being stacked by their order, the
+ * lowest one closest to the pool: the connection limit around the pool, then the read/write routing, then the
+ * statement monitoring around them all, so that it also sees the statements of the replicas.
+ */
+final class DataSourceWrappingPostProcessor implements BeanPostProcessor, Ordered {
+  static final int CONNECTION_LIMIT_ORDER = 0;
+  static final int READ_WRITE_ROUTING_ORDER = 10;
+  static final int STATEMENT_MONITORING_ORDER = 20;
+
+  private final int order;
+  private final UnaryOperator<DataSource> wrapper;
+
+  /**
+   * Creates a DataSourceWrappingPostProcessor.
+   *
+   * @param order   The position of the wrapper in the stack.
+   * @param wrapper The function wrapping a DataSource, returning it as is when it does not apply.
+   */
+  DataSourceWrappingPostProcessor(int order, UnaryOperator<DataSource> wrapper) {
+    this.order = order;
+    this.wrapper = wrapper;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    return bean instanceof DataSource dataSource ? wrapper.apply(dataSource) : bean;
+  }
+
+  @Override
+  public int getOrder() {
+    return order;
+  }
+}
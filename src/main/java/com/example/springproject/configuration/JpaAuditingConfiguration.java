@@ -0,0 +1,12 @@
+package com.example.springproject.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * This class enable the auditing of entities, filling their created and last updated timestamps
+ */
+@Configuration
+@EnableJpaAuditing
+public class JpaAuditingConfiguration {
+}
@@ -0,0 +1,109 @@
+package com.example.springproject.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static com.example.springproject.constant.CommonConstants.USER_CACHE_REGION;
+import static com.example.springproject.constant.CommonConstants.USER_PAGES_CACHE_REGION;
+
+/**
+ * This class define the second-level cache of Hibernate, enabled unless app.jpa.cache.enabled=false.
+ *
+ * The regions live in a local Caffeine JCache manager. An entity extending BaseEntity is cached once annotated
+ * with {@code @Cacheable} and {@code @Cache(usage = READ_WRITE, region = ...)}; the regions sized here are the user
+ * entities and the cached pages of users, any other region is created unbounded. Cached query results are
+ * invalidated by Hibernate whenever the tables they read are written through it. The cache is local to each
+ * instance, so the writes of other instances are only seen once the entries expire.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jpa.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class JpaCacheConfiguration {
+
+  /**
+   *
+   * @param userMaximumSize maximum number of users in the entity region
+   * @param userTtl time a user stays in the entity region after it is written
+   * @param userPagesMaximumSize maximum number of pages of users in the query region
+   * @param userPagesTtl time a page of users stays in the query region after it is written
+   * @return instance of the JCache CacheManager holding the regions
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager jpaCacheManager(@Value("${app.jpa.cache.user.maximum-size:10000}") long userMaximumSize,
+                                      @Value("${app.jpa.cache.user.ttl:10m}") Duration userTtl,
+                                      @Value("${app.jpa.cache.user-pages.maximum-size:1000}") long userPagesMaximumSize,
+                                      @Value("${app.jpa.cache.user-pages.ttl:1m}") Duration userPagesTtl) {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+    createRegion(cacheManager, USER_CACHE_REGION, userMaximumSize, userTtl);
+    createRegion(cacheManager, USER_PAGES_CACHE_REGION, userPagesMaximumSize, userPagesTtl);
+    return cacheManager;
+  }
+
+  /**
+   *
+   * @param jpaCacheManager accept the CacheManager holding the regions as an input
+   * @param queryCacheEnabled whether the results of the queries hinted as cacheable are cached
+   * @param statisticsEnabled whether Hibernate gathers the statistics published as metrics
+   * @return instance of HibernatePropertiesCustomizer enabling the second-level cache
+   */
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+        CacheManager jpaCacheManager,
+        @Value("${app.jpa.cache.query.enabled:true}") boolean queryCacheEnabled,
+        @Value("${app.jpa.cache.statistics.enabled:true}") boolean statisticsEnabled) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+      properties.put(ConfigSettings.CACHE_MANAGER, jpaCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+      properties.put(AvailableSettings.USE_QUERY_CACHE, queryCacheEnabled);
+      properties.put(AvailableSettings.GENERATE_STATISTICS, statisticsEnabled);
+      // the statistics are published as metrics, not logged as "Session Metrics" at the end of every session
+      properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+    };
+  }
+
+  /**
+   * Publishes the statistics of Hibernate, such as the hits and misses of each cache region, when gathered
+   *
+   * @param entityManagerFactory accept the EntityManagerFactory of the application as an input
+   * @return instance of MeterBinder
+   */
+  @Bean
+  @ConditionalOnProperty(name = "app.jpa.cache.statistics.enabled", havingValue = "true", matchIfMissing = true)
+  public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+    return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory",
+          Tags.empty());
+  }
+
+  private static void createRegion(CacheManager cacheManager, String region, long maximumSize, Duration ttl) {
+    if (cacheManager.getCache(region) != null) {
+      return;
+    }
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maximumSize));
+    configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    // entries are immutable cache entries of Hibernate, copying them on every access would only cost
+    configuration.setStoreByValue(false);
+    configuration.setStatisticsEnabled(true);
+    cacheManager.createCache(region, configuration);
+  }
+}
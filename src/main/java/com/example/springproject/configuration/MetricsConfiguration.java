@@ -0,0 +1,39 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.service.support.ReadThroughCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class define the metrics of the application that Spring Boot does not record by itself:
+ * the timers of the methods annotated with @Timed and the statistics of the user cache
+ */
+@Configuration
+public class MetricsConfiguration {
+
+  /**
+   *
+   * @param registry accept the MeterRegistry as an input
+   * @return instance of TimedAspect recording the methods annotated with @Timed
+   */
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+
+  /**
+   *
+   * @param userCache accept the cache in front of getById as an input
+   * @return instance of MeterBinder exposing the hits, misses, loads and evictions of the user cache
+   */
+  @Bean
+  public MeterBinder userCacheMetrics(ReadThroughCache<String, UserResponse> userCache) {
+    return registry -> userCache.nativeCache()
+          .ifPresent(cache -> CaffeineCacheMetrics.monitor(registry, cache, "user"));
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.concurrency.ClientBuckets;
+import com.example.springproject.security.ClientKeyResolver;
+import com.example.springproject.security.UserRateLimits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * This class define the per-client rate limits of the user endpoints, enforced by the RateLimitFilter of the
+ * security filter chain. A group whose rate is not positive is not limited.
+ */
+@Configuration
+public class RateLimitConfiguration {
+
+  /**
+   *
+   * @param strategy what identifies a client: "api-key", "ip" or "header"
+   * @param header the header holding the key of a client with the "header" strategy
+   * @param apiKeys the keys clients are limited by, any other value of the header being limited by IP address
+   * @return instance of ClientKeyResolver
+   */
+  @Bean
+  public ClientKeyResolver clientKeyResolver(@Value("${app.rate-limit.key:ip}") String strategy,
+                                            @Value("${app.rate-limit.key-header:}") String header,
+                                            @Value("${app.rate-limit.api-keys:}") Set<String> apiKeys) {
+    return ClientKeyResolver.of(strategy, header, apiKeys);
+  }
+
+  /**
+   *
+   * @param enabled whether clients are rate limited, otherwise no request is refused
+   * @param maxClients number of clients tracked per group, idle ones expiring and the least active evicted beyond it
+   * @param stripes number of independently evicted parts of the clients of a group
+   * @param pointReadRate reads by id a client may send per second
+   * @param pointReadBurst reads by id a client may send at once
+   * @param searchRate searches a client may send per second
+   * @param searchBurst searches a client may send at once
+   * @param listRate listings and exports a client may send per second
+   * @param listBurst listings and exports a client may send at once
+   * @param writeRate creations, imports and deletions a client may send per second
+   * @param writeBurst creations, imports and deletions a client may send at once
+   * @return instance of UserRateLimits
+   */
+  @Bean
+  public UserRateLimits userRateLimits(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                                       @Value("${app.rate-limit.max-clients:100000}") int maxClients,
+                                       @Value("${app.rate-limit.stripes:16}") int stripes,
+                                       @Value("${app.rate-limit.point-read.rate:200}") double pointReadRate,
+                                       @Value("${app.rate-limit.point-read.burst:400}") int pointReadBurst,
+                                       @Value("${app.rate-limit.search.rate:10}") double searchRate,
+                                       @Value("${app.rate-limit.search.burst:20}") int searchBurst,
+                                       @Value("${app.rate-limit.list.rate:20}") double listRate,
+                                       @Value("${app.rate-limit.list.burst:40}") int listBurst,
+                                       @Value("${app.rate-limit.write.rate:50}") double writeRate,
+                                       @Value("${app.rate-limit.write.burst:100}") int writeBurst) {
+    if (!enabled) {
+      return new UserRateLimits(null, null, null, null);
+    }
+    return new UserRateLimits(buckets(pointReadRate, pointReadBurst, maxClients, stripes),
+          buckets(searchRate, searchBurst, maxClients, stripes),
+          buckets(listRate, listBurst, maxClients, stripes),
+          buckets(writeRate, writeBurst, maxClients, stripes));
+  }
+
+  private static ClientBuckets buckets(double rate, int burst, int maxClients, int stripes) {
+    return rate > 0 ? new ClientBuckets(rate, burst, maxClients, stripes) : null;
+  }
+}
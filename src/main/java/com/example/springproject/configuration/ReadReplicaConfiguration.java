@@ -0,0 +1,95 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.datasource.ReadReplicas;
+import com.example.springproject.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class define the routing of the read-only transactions to the replicas listed in
+ * app.datasource.replicas.urls, every other transaction going to the primary of spring.datasource.url.
+ */
+@Configuration
+public class ReadReplicaConfiguration {
+
+  /**
+   * Wraps the DataSource in a lazy proxy, which borrows a connection at the first statement only, once the
+   * transaction has marked the connection read-only, and then borrows it from the replicas.
+   * A read-only transaction answered without any statement, such as a cache hit, borrows no connection at all.
+   *
+   * @param readReplicas the replicas of the primary, possibly none
+   * @return the post processor wrapping the DataSource
+   */
+  @Bean
+  public static BeanPostProcessor readWriteRoutingPostProcessor(ObjectProvider<ReadReplicas> readReplicas) {
+    return new DataSourceWrappingPostProcessor(DataSourceWrappingPostProcessor.READ_WRITE_ROUTING_ORDER,
+          dataSource -> {
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(dataSource);
+            ReadReplicas replicas = readReplicas.getObject();
+            if (!replicas.isEmpty()) {
+              proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(dataSource, replicas));
+            }
+            return proxy;
+          });
+  }
+
+  /**
+   *
+   * @param urls JDBC urls of the replicas, none to send every read to the primary
+   * @param username user of the replicas
+   * @param password password of the replicas
+   * @param driverClassName JDBC driver of the replicas
+   * @param poolSize maximum number of connections of each replica
+   * @param connectionTimeout maximum time to wait for a connection of a replica
+   * @param balancing how reads are spread over the replicas, round-robin or least-connections
+   * @param healthCheckInterval interval between two checks of the replicas
+   * @param lagQuery query returning the lag of a replica in seconds, blank to only check the replica answers
+   * @param maxLag lag beyond which a replica is not used
+   * @return instance of ReadReplicas
+   */
+  @Bean(destroyMethod = "close")
+  public ReadReplicas readReplicas(
+        @Value("${app.datasource.replicas.urls:}") List<String> urls,
+        @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+        @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+        @Value("${spring.datasource.driver-class-name:}") String driverClassName,
+        @Value("${app.datasource.replicas.pool-size:10}") int poolSize,
+        @Value("${app.datasource.replicas.connection-timeout:2s}") Duration connectionTimeout,
+        @Value("${app.datasource.replicas.balancing:round-robin}") String balancing,
+        @Value("${app.datasource.replicas.health-check-interval:5s}") Duration healthCheckInterval,
+        @Value("${app.datasource.replicas.lag-query:}") String lagQuery,
+        @Value("${app.datasource.replicas.max-lag:5s}") Duration maxLag) {
+    if (urls.isEmpty()) {
+      return ReadReplicas.none();
+    }
+    List<HikariDataSource> dataSources = new ArrayList<>(urls.size());
+    for (int i = 0; i < urls.size(); i++) {
+      HikariConfig config = new HikariConfig();
+      config.setPoolName("replica-" + (i + 1));
+      config.setJdbcUrl(urls.get(i).trim());
+      config.setUsername(username);
+      config.setPassword(password);
+      if (!driverClassName.isBlank()) {
+        config.setDriverClassName(driverClassName);
+      }
+      config.setMaximumPoolSize(poolSize);
+      config.setConnectionTimeout(connectionTimeout.toMillis());
+      config.setReadOnly(true);
+      // a replica down at startup is left out by the health check instead of failing the startup
+      config.setInitializationFailTimeout(-1);
+      dataSources.add(new HikariDataSource(config));
+    }
+    return new ReadReplicas(dataSources, ReadReplicas.Balancing.of(balancing), healthCheckInterval, lagQuery,
+          maxLag);
+  }
+}
@@ -1,14 +1,35 @@
 package com.example.springproject.configuration;
 
 
+import com.example.springproject.datasource.ReadReplicas;
+import com.example.springproject.dto.response.UserResponse;
 import com.example.springproject.repository.UserRepository;
 import com.example.springproject.service.base.MessageService;
+import com.example.springproject.service.UserImportService;
 import com.example.springproject.service.UserService;
 import com.example.springproject.service.base.MessageServiceImpl;
+import com.example.springproject.service.impl.UserImportServiceImpl;
 import com.example.springproject.service.impl.UserServiceImpl;
-import org.springframework.context.MessageSource;
+import com.example.springproject.service.search.NoOpUserSearchEngine;
+import com.example.springproject.service.search.TrigramUserSearchEngine;
+import com.example.springproject.service.search.UserSearchEngine;
+import com.example.springproject.service.support.ReadThroughCache;
+import com.example.springproject.service.support.RowCounter;
+import com.example.springproject.service.support.SingleFlight;
+import com.example.springproject.service.support.UserCacheFills;
+import com.example.springproject.service.support.UserReadFlights;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static com.example.springproject.constant.CommonConstants.MESSAGE_SOURCE;
+import static com.example.springproject.constant.CommonConstants.TRIGRAM_SEARCH_ENGINE;
 
 /**
  * This class define all service component in application
@@ -18,21 +39,146 @@ public class ServiceConfiguration {
   /**
    *
    * @param repository accept an UserRepository as an input
+   * @param userCounter accept the maintained user counter as an input
+   * @param userSearchEngine accept the engine answering keyword searches as an input
+   * @param userCache accept the cache in front of getById as an input
+   * @param userReadFlights accept the single flights of the user reads as an input
+   * @param userCacheFills accept the runner of the reads filling a cache as an input
+   * @param transactionTemplate accept a TransactionTemplate as an input, used for chunked batch transactions
+   * @param batchChunkSize number of users persisted per transaction of a batch
+   * @param batchMaxSize maximum number of users of one batch request
+   * @param deleteChunkSize number of ids deleted per statement of a bulk delete
+   * @param deleteMaxSize maximum number of ids of one bulk delete request
    * @return instance of UserService
    */
 
   @Bean
-  public UserService userService(UserRepository repository) {
-    return new UserServiceImpl(repository);
+  public UserService userService(UserRepository repository, RowCounter userCounter,
+                                 UserSearchEngine userSearchEngine, ReadThroughCache<String, UserResponse> userCache,
+                                 UserReadFlights userReadFlights, UserCacheFills userCacheFills,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.user.batch.chunk-size:50}") int batchChunkSize,
+                                 @Value("${app.user.batch.max-size:1000}") int batchMaxSize,
+                                 @Value("${app.user.bulk-delete.chunk-size:1000}") int deleteChunkSize,
+                                 @Value("${app.user.bulk-delete.max-size:100000}") int deleteMaxSize) {
+    return new UserServiceImpl(repository, userCounter, userSearchEngine, userCache, userReadFlights, userCacheFills,
+          transactionTemplate, batchChunkSize, batchMaxSize, deleteChunkSize, deleteMaxSize);
+  }
+
+  /**
+   *
+   * @param userService accept the UserService persisting the imported users as an input
+   * @param chunkSize number of users persisted per createBatch call, at most app.user.batch.max-size
+   * @param queueCapacity number of chunks parsed ahead of the writers
+   * @param writerThreads number of threads persisting the chunks of one job
+   * @param maxConcurrentJobs number of jobs running at once
+   * @param maxQueuedJobs number of jobs waiting for a running slot, further uploads are refused with 503
+   * @param maxReportedRejections number of rejected rows reported per job
+   * @param retention time a finished job can still be queried
+   * @param maxFileSize maximum size of an uploaded file, larger uploads are refused with 400
+   * @return instance of UserImportService
+   */
+  @Bean(destroyMethod = "shutdown")
+  public UserImportService userImportService(UserService userService,
+                                             @Value("${app.user.import.chunk-size:500}") int chunkSize,
+                                             @Value("${app.user.import.queue-capacity:8}") int queueCapacity,
+                                             @Value("${app.user.import.writer-threads:2}") int writerThreads,
+                                             @Value("${app.user.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                             @Value("${app.user.import.max-queued-jobs:4}") int maxQueuedJobs,
+                                             @Value("${app.user.import.max-reported-rejections:1000}") int maxReportedRejections,
+                                             @Value("${app.user.import.retention:1h}") Duration retention,
+                                             @Value("${app.user.import.max-file-size:100MB}") DataSize maxFileSize) {
+    return new UserImportServiceImpl(userService, chunkSize, queueCapacity, writerThreads, maxConcurrentJobs,
+          maxQueuedJobs, maxReportedRejections, retention, maxFileSize.toBytes());
+  }
+
+  /**
+   *
+   * @param enabled whether users are cached, a disabled cache always reads the database
+   * @param maximumSize maximum number of cached users
+   * @param timeToLive time after which a cached user is read again
+   * @return instance of ReadThroughCache for users by id
+   */
+  @Bean
+  public ReadThroughCache<String, UserResponse> userCache(
+        @Value("${app.user.cache.enabled:true}") boolean enabled,
+        @Value("${app.user.cache.maximum-size:10000}") long maximumSize,
+        @Value("${app.user.cache.ttl:10m}") Duration timeToLive) {
+    return enabled ? ReadThroughCache.of(maximumSize, timeToLive) : ReadThroughCache.disabled();
+  }
+
+  /**
+   *
+   * @param enabled whether identical concurrent reads share one database call, otherwise each runs its own
+   * @param maxWait time a read waits for the identical one running before failing with 503
+   * @return instance of UserReadFlights
+   */
+  @Bean
+  public UserReadFlights userReadFlights(@Value("${app.user.single-flight.enabled:true}") boolean enabled,
+                                         @Value("${app.user.single-flight.max-wait:2s}") Duration maxWait) {
+    if (!enabled) {
+      return new UserReadFlights(SingleFlight.disabled("getById"), SingleFlight.disabled("getVersion"),
+            SingleFlight.disabled("search"));
+    }
+    return new UserReadFlights(SingleFlight.of("getById", maxWait), SingleFlight.of("getVersion", maxWait),
+          SingleFlight.of("search", maxWait));
+  }
+
+  /**
+   *
+   * @param readReplicas accept the read replicas, possibly none, as an input
+   * @param transactionManager accept the PlatformTransactionManager of the primary as an input
+   * @param userCacheEnabled whether whole users are cached
+   * @param jpaCacheEnabled whether the second-level cache of Hibernate is enabled
+   * @param queryCacheEnabled whether the pages of users are kept in the query region
+   * @return instance of UserCacheFills, running the fills of the enabled caches on the primary when there are replicas
+   */
+  @Bean
+  public UserCacheFills userCacheFills(ReadReplicas readReplicas, PlatformTransactionManager transactionManager,
+                                       @Value("${app.user.cache.enabled:true}") boolean userCacheEnabled,
+                                       @Value("${app.jpa.cache.enabled:true}") boolean jpaCacheEnabled,
+                                       @Value("${app.jpa.cache.query.enabled:true}") boolean queryCacheEnabled) {
+    if (readReplicas.isEmpty()) {
+      return UserCacheFills.inCurrentTransaction();
+    }
+    return UserCacheFills.onPrimary(transactionManager, userCacheEnabled, jpaCacheEnabled && queryCacheEnabled);
+  }
+
+  /**
+   *
+   * @param repository accept an UserRepository as an input
+   * @param engine name of the engine, "trigram" for the in-memory index, anything else for the database query
+   * @param loadBatchSize number of users read per query while loading the index
+   * @return instance of UserSearchEngine
+   */
+  @Bean
+  public UserSearchEngine userSearchEngine(UserRepository repository,
+                                           @Value("${app.user.search.engine:database}") String engine,
+                                           @Value("${app.user.search.load-batch-size:1000}") int loadBatchSize) {
+    return TRIGRAM_SEARCH_ENGINE.equals(engine)
+          ? new TrigramUserSearchEngine(repository, loadBatchSize)
+          : new NoOpUserSearchEngine();
+  }
+
+  /**
+   *
+   * @param repository accept an UserRepository as an input
+   * @param resyncInterval interval after which the counter is re-seeded with a real count
+   * @return instance of RowCounter for the user table
+   */
+  @Bean
+  public RowCounter userCounter(UserRepository repository,
+                                @Value("${app.user.count.resync-interval:5m}") Duration resyncInterval) {
+    return new RowCounter(repository::count, resyncInterval);
   }
 
   /**
    *
-   * @param messageSource accept a MessageSource as an input
+   * @param refreshInterval interval after which the message files are checked for changes
    * @return instance of MessageServiceImpl
    */
   @Bean
-  public MessageService messageService(MessageSource messageSource) {
-    return new MessageServiceImpl(messageSource);
+  public MessageService messageService(@Value("${app.messages.refresh-interval:0s}") Duration refreshInterval) {
+    return new MessageServiceImpl(MESSAGE_SOURCE, StandardCharsets.UTF_8, refreshInterval);
   }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.controller.filter.SqlStatisticsFilter;
+import com.example.springproject.datasource.DataSourceWrappers;
+import com.example.springproject.datasource.StatementMonitoringDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * This class define the monitoring of the SQL statements, enabled unless app.datasource.statements.enabled=false.
+ * Every statement is counted and timed by kind, per request and in total, and the slow ones are logged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.statements.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementConfiguration {
+
+  /**
+   * Wraps the DataSource so that the statements of its connections are monitored.
+   *
+   * @param slowThreshold execution time from which a statement is logged
+   * @return the post processor wrapping the DataSource
+   */
+  @Bean
+  public static BeanPostProcessor statementMonitoringPostProcessor(
+        @Value("${app.datasource.statements.slow-threshold:200ms}") Duration slowThreshold) {
+    return new DataSourceWrappingPostProcessor(DataSourceWrappingPostProcessor.STATEMENT_MONITORING_ORDER,
+          dataSource -> DataSourceWrappers.unwrap(dataSource, StatementMonitoringDataSource.class) == null
+                ? new StatementMonitoringDataSource(dataSource, slowThreshold) : dataSource);
+  }
+
+  /**
+   *
+   * @param dataSource accept the DataSource as an input, wrapped by the statement monitoring
+   * @return instance of MeterBinder exposing the statements executed by kind
+   */
+  @Bean
+  public MeterBinder statementMetrics(ObjectProvider<DataSource> dataSource) {
+    return registry -> {
+      StatementMonitoringDataSource monitoring = DataSourceWrappers.unwrap(dataSource.getIfAvailable(),
+            StatementMonitoringDataSource.class);
+      if (monitoring != null) {
+        monitoring.bindTo(registry);
+      }
+    };
+  }
+
+  /**
+   *
+   * @param registry the MeterRegistry recording the statements of each request
+   * @return instance of SqlStatisticsFilter
+   */
+  @Bean
+  public SqlStatisticsFilter sqlStatisticsFilter(MeterRegistry registry) {
+    return new SqlStatisticsFilter(registry);
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.datasource.ConnectionLimitingDataSource;
+import com.example.springproject.datasource.DataSourceWrappers;
+import com.example.springproject.monitoring.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * This class define the guards of the virtual-thread mode, enabled with spring.threads.virtual.enabled=true.
+ * In that mode Spring Boot serves requests on virtual threads (Java 21 and later), so the repository calls
+ * of a request block a virtual thread instead of a Tomcat worker.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+  /**
+   * The pool size Hikari falls back to when none is configured, applied only once the pool starts
+   */
+  private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+  /**
+   * Wraps the Hikari pool so that no more threads borrow connections at once than the pool holds,
+   * waiting at most the connection timeout of the pool.
+   *
+   * @return the post processor wrapping the Hikari DataSource
+   */
+  @Bean
+  @ConditionalOnProperty(name = "app.datasource.connection-limit.enabled", havingValue = "true", matchIfMissing = true)
+  public static BeanPostProcessor connectionLimitingPostProcessor() {
+    return new DataSourceWrappingPostProcessor(DataSourceWrappingPostProcessor.CONNECTION_LIMIT_ORDER,
+          dataSource -> {
+            HikariDataSource hikari = DataSourceWrappers.unwrap(dataSource, HikariDataSource.class);
+            if (hikari == null) {
+              return dataSource;
+            }
+            int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+            return new ConnectionLimitingDataSource(dataSource, poolSize,
+                  Duration.ofMillis(hikari.getConnectionTimeout()));
+          });
+  }
+
+  /**
+   *
+   * @param dataSource accept the DataSource as an input, wrapped by the connection limit when it is enabled
+   * @return instance of MeterBinder exposing how many threads wait for a connection permit
+   */
+  @Bean
+  public MeterBinder connectionLimitMetrics(ObjectProvider<DataSource> dataSource) {
+    return registry -> {
+      ConnectionLimitingDataSource limiting = DataSourceWrappers.unwrap(dataSource.getIfAvailable(),
+            ConnectionLimitingDataSource.class);
+      if (limiting != null) {
+        limiting.bindTo(registry);
+      }
+    };
+  }
+
+  /**
+   *
+   * @param threshold minimum duration of a pinning to report it
+   * @return instance of VirtualThreadPinningMonitor
+   */
+  @Bean
+  @ConditionalOnProperty(name = "app.threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+  public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        @Value("${app.threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+    return new VirtualThreadPinningMonitor(threshold);
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.controller.converter.ResponseGeneralHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class define the web components customizing how responses are written
+ */
+@Configuration
+public class WebConfiguration {
+
+  /**
+   * Converter beans are placed before the default ones, so this converter writes every ResponseGeneral
+   *
+   * @param objectMapper the ObjectMapper of the application, writing the payloads the converter does not know
+   * @param bufferPoolSize number of JSON generator buffers kept for reuse
+   * @return instance of ResponseGeneralHttpMessageConverter
+   */
+  @Bean
+  public ResponseGeneralHttpMessageConverter responseGeneralHttpMessageConverter(
+        ObjectMapper objectMapper,
+        @Value("${app.json.buffer-pool-size:64}") int bufferPoolSize) {
+    return new ResponseGeneralHttpMessageConverter(objectMapper, bufferPoolSize);
+  }
+}
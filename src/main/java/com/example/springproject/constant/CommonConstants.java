@@ -13,6 +13,18 @@ public class CommonConstants {
   public static final String BLANK_CONSTANT = "";
   public static final int DEFAULT_STATUS = 0;
   public static final String PERCENT = "%";
+  public static final char LIKE_ESCAPE = '!';
+  public static final String TRIGRAM_SEARCH_ENGINE = "trigram";
+  public static final String EXPORT_FETCH_SIZE = "1000";
+  public static final String DEFAULT_EXPORT_FORMAT = "ndjson";
+  public static final String USER_SERVICE_TIMER = "user.service";
+  public static final String API_EXCEPTIONS_COUNTER = "api.exceptions";
+  public static final String REQUEST_SQL_STATEMENTS_SUMMARY = "http.server.requests.sql.statements";
+  public static final String REQUEST_SQL_TIMER = "http.server.requests.sql.time";
+  public static final String SQL_STATEMENTS_HEADER = "X-Sql-Statements";
+  public static final String SERVER_TIMING_HEADER = "Server-Timing";
+  public static final String USER_CACHE_REGION = "user";
+  public static final String USER_PAGES_CACHE_REGION = "user-pages";
 
 
 }
@@ -8,7 +8,18 @@ public class ExceptionCode {
   public static final String NOT_FOUND_CODE = "com.example.springproject.exception.base.NotFoundException";
   public static final String DUPLICATE_CODE = "com.example.springproject.exception.DuplicateNameException";
   public static final String USER_NOT_FOUND_CODE = "com.example.springproject.exception.base.NotFoundException.UserNotFoundException";
+  public static final String SERVICE_UNAVAILABLE_CODE = "com.example.springproject.exception.base.ServiceUnavailableException";
+  public static final String TOO_MANY_REQUESTS_CODE = "com.example.springproject.exception.base.TooManyRequestsException";
   public static final String GENERIC_CODE = "com.example.springproject.exception.base.GenericException";
+  public static final String INVALID_CURSOR_CODE = "com.example.springproject.exception.InvalidCursorException";
+  public static final String INVALID_USER_CODE = "com.example.springproject.exception.InvalidUserException";
+  public static final String BATCH_TOO_LARGE_CODE = "com.example.springproject.exception.BatchTooLargeException";
+  public static final String UNSUPPORTED_FORMAT_CODE = "com.example.springproject.exception.UnsupportedFormatException";
+  public static final String INVALID_IMPORT_FILE_CODE = "com.example.springproject.exception.InvalidImportFileException";
+  public static final String INVALID_IMPORT_ROW_CODE = "com.example.springproject.exception.InvalidImportRowException";
+  public static final String IMPORT_FILE_TOO_LARGE_CODE = "com.example.springproject.exception.ImportFileTooLargeException";
+  public static final String IMPORT_JOB_NOT_FOUND_CODE = "com.example.springproject.exception.base.NotFoundException.ImportJobNotFoundException";
+  public static final String UNSUPPORTED_FIELD_CODE = "com.example.springproject.exception.UnsupportedFieldException";
 
 
 
@@ -7,5 +7,9 @@ public class MessageCodeConstant {
   public static final String CREATE_USER = "com.example.springproject.controller.create";
   public static final String LIST_USER = "com.example.springproject.controller.list";
   public static final String DELETE_USER = "com.example.springproject.controller.delete";
+  public static final String CREATE_USER_BATCH = "com.example.springproject.controller.createBatch";
+  public static final String DELETE_USER_BATCH = "com.example.springproject.controller.deleteBatch";
+  public static final String IMPORT_USER = "com.example.springproject.controller.import";
+  public static final String GET_IMPORT_USER = "com.example.springproject.controller.importDetail";
 
 }
\ No newline at end of file
@@ -1,16 +1,39 @@
 package com.example.springproject.controller;
 
 
+import com.example.springproject.concurrency.UserBulkheads;
 import com.example.springproject.dto.base.PageResponse;
 import com.example.springproject.dto.base.ResponseGeneral;
 import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchItemResponse;
+import com.example.springproject.dto.response.BatchResponse;
+import com.example.springproject.dto.response.BulkDeleteResponse;
+import com.example.springproject.dto.response.ImportJobResponse;
+import com.example.springproject.dto.response.ImportRejectionResponse;
+import com.example.springproject.dto.response.UserField;
 import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.dto.response.UserVersion;
+import com.example.springproject.service.UserImportService;
 import com.example.springproject.service.UserService;
 import com.example.springproject.service.base.MessageService;
+import com.example.springproject.service.export.UserExportFormat;
+import com.example.springproject.service.export.UserExportWriter;
+import com.example.springproject.utils.ETagUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 import static com.example.springproject.constant.CommonConstants.*;
 import static com.example.springproject.constant.MessageCodeConstant.*;
 
@@ -27,7 +50,19 @@ import static com.example.springproject.constant.MessageCodeConstant.*;
  *
  * The `getById` method handles GET requests to retrieve a user by ID, while the `create` method handles POST requests to create a new user.
  * The `getUserBySearch` and `getAllUser` methods handle GET requests to search for users based on a keyword and retrieve all users, respectively.
- * The `delete` method handles DELETE requests to delete a user by ID.
+ * Both support offset paging (`page`) and cursor paging (`after`), the latter returning a `next_cursor` for the following page.
+ * Searching can also skip counting the matches (`count=false`) and only report `has_next`.
+ * The `createBatch` method handles POST requests creating many users at once and reports the outcome of each one.
+ * The `export` method streams every user as NDJSON or CSV, straight from a database cursor to the response.
+ * The `importUsers` method accepts an NDJSON or CSV file of users imported in the background, whose progress
+ * and rejected rows are reported by `getImport` while it runs.
+ * The `delete` method handles DELETE requests to delete a user by ID, and `deleteBatch` deletes many users by ID at once.
+ *
+ * Reads by ID, listings and searches, and writes each run on their own bounded thread pool (bulkhead) and are
+ * returned as a `CompletableFuture`, so a burst of slow searches cannot take the threads reads by ID need.
+ * A full bulkhead rejects the request at once with 503 Service Unavailable. Before that, each group only admits
+ * as many requests at once as its latency shows the database can take, the excess being shed with 503 as well
+ * (see `ConcurrencyLimitFilter`).
  *
  * Request parameters, such as ID, keyword, size, and page, are specified using annotations like `@PathVariable` and `@RequestParam`.
  * Language information is extracted from the request header and used for localized message retrieval via the `MessageService`.
@@ -46,23 +81,42 @@ import static com.example.springproject.constant.MessageCodeConstant.*;
 @RequestMapping("/api/v1/users")
 public class UserController {
   private final UserService userService;
+  private final UserImportService userImportService;
+  private final UserBulkheads bulkheads;
   private final MessageService messageService;
 
   /**
-   * Handles GET requests to retrieve a user by ID.
+   * Handles GET requests to retrieve a user by ID. The version of the user is read first and gives both the ETag and
+   * Last-Modified headers; when the client already has the current representation, 304 is returned without loading
+   * the user. As the version is read before the user, a concurrent update can only leave the tag older than the
+   * body, which costs the client one more full response but never a wrong 304.
    *
    * @param id       The ID of the user to retrieve.
+   * @param fields   The comma separated fields to return, every field when absent.
    * @param language The language for message localization.
+   * @param headers  The request headers, holding the conditional headers.
    * @return A ResponseEntity with a standardized response containing the localized message and the retrieved user data.
    */
   @GetMapping("/{id}")
-  public ResponseGeneral<UserResponse> getById(
+  public CompletableFuture<ResponseEntity<ResponseGeneral<UserResponse>>> getById(
         @PathVariable String id,
-        @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
+        @RequestParam(name = "fields", required = false) String fields,
+        @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language,
+        @RequestHeader HttpHeaders headers
   ) {
-    log.info("(getById) id : {}", id);
-    return ResponseGeneral.ofSuccess(messageService.getMessage(GET_USER_BY_ID, language),
-          userService.getById(id));
+    log.info("(getById) id : {}, fields: {}", id, fields);
+    Set<UserField> selected = UserField.parse(fields);
+    return bulkheads.getPointRead().submit(() -> {
+      UserVersion version = userService.getVersion(id);
+      String etag = ETagUtils.ofVersion(version, language, selected);
+      Long lastModified = version.getLastUpdatedAt();
+      if (ETagUtils.isNotModified(headers, etag, lastModified)) {
+        return conditional(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified).build();
+      }
+      UserResponse user = userService.getById(id, selected);
+      return conditional(ResponseEntity.ok(), etag, lastModified)
+            .body(ResponseGeneral.ofSuccess(messageService.getMessage(GET_USER_BY_ID, language), user));
+    });
   }
 
   /**
@@ -73,54 +127,175 @@ public class UserController {
    * @return A ResponseEntity with a standardized response containing the localized message and the created user data.
    */
   @PostMapping
-  public ResponseGeneral<UserResponse> create(
+  public CompletableFuture<ResponseGeneral<UserResponse>> create(
         @RequestBody UserRequest request,
         @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
   ) {
     log.info("(create) Request : {}", request);
-    return ResponseGeneral.ofCreated(messageService.getMessage(CREATE_USER, language),
-          userService.create(request));
+    return bulkheads.getWrite().submit(() -> ResponseGeneral.ofCreated(
+          messageService.getMessage(CREATE_USER, language), userService.create(request)));
+  }
+
+  /**
+   * Handles POST requests to create many users at once.
+   *
+   * @param requests The request body containing the creation details of every user.
+   * @param language The language for message localization.
+   * @return A ResponseEntity with a standardized response containing the localized message and the outcome of every user.
+   */
+  @PostMapping("/batch")
+  public CompletableFuture<ResponseGeneral<BatchResponse>> createBatch(
+        @RequestBody List<UserRequest> requests,
+        @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
+  ) {
+    log.info("(createBatch) size : {}", requests.size());
+    return bulkheads.getWrite().submit(() -> {
+      BatchResponse response = userService.createBatch(requests);
+      for (BatchItemResponse item : response.getItems()) {
+        if (item.getCode() != null) {
+          item.setMessage(messageService.getMessage(item.getCode(), language));
+        }
+      }
+      return ResponseGeneral.ofSuccess(messageService.getMessage(CREATE_USER_BATCH, language), response);
+    });
   }
   /**
    * Handles GET requests to search for users based on a keyword.
    *
    * @param keyword  The keyword to search for in user data.
    * @param size     The number of users to include in each page of the result.
-   * @param page     The page number of the result to retrieve.
+   * @param page     The page number of the result to retrieve, ignored when paging by cursor.
+   * @param after    The cursor of the previous page; when present (blank for the first page) paging is done by cursor.
+   * @param count    Whether the total number of matching users is counted; when false only `has_next` is returned.
+   * @param fields   The comma separated fields to return, every field when absent.
    * @param language The language for message localization.
-   * @return A ResponseEntity with a standardized response containing the localized message and a paginated list of matching users.
+   * @return A ResponseEntity with a standardized response containing the localized message and a paginated list of matching users,
+   *         tagged with the digest of the page so an unchanged page is answered with 304 without a body.
    */
   @GetMapping("/search")
-  public ResponseGeneral<PageResponse<UserResponse>> getUserBySearch(
+  public CompletableFuture<ResponseEntity<ResponseGeneral<PageResponse<UserResponse>>>> getUserBySearch(
         @RequestParam(name = "keyword", required = false) String keyword,
         @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) int size,
         @RequestParam(name = "page", defaultValue = DEFAULT_PAGE_NUMBER) int page,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "count", defaultValue = "true") boolean count,
+        @RequestParam(name = "fields", required = false) String fields,
         @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
   ) {
-    log.info("(listSearchUser) keyword: {}, size : {}, page: {}", keyword, size, page);
-    return ResponseGeneral.ofSuccess(messageService.getMessage(LIST_USER, language),
-          userService.getUserBySearch(keyword, size, page)
-    );
+    log.info("(listSearchUser) keyword: {}, size : {}, page: {}, after: {}, count: {}, fields: {}",
+          keyword, size, page, after, count, fields);
+    Set<UserField> selected = UserField.parse(fields);
+    return bulkheads.getList().submit(() -> {
+      PageResponse<UserResponse> users;
+      if (after != null) {
+        users = userService.getUserBySearchAfter(keyword, after, size, selected);
+      } else if (count) {
+        users = userService.getUserBySearch(keyword, size, page, selected);
+      } else {
+        users = userService.getUserBySearchSlice(keyword, size, page, selected);
+      }
+      return conditional(ResponseEntity.ok(), ETagUtils.ofPage(users, language, selected), null)
+            .body(ResponseGeneral.ofSuccess(messageService.getMessage(LIST_USER, language), users));
+    });
   }
 
   /**
    * Handles GET requests to retrieve all users.
    *
    * @param size     The number of users to include in each page of the result.
-   * @param page     The page number of the result to retrieve.
+   * @param page     The page number of the result to retrieve, ignored when paging by cursor.
+   * @param after    The cursor of the previous page; when present (blank for the first page) paging is done by cursor.
+   * @param fields   The comma separated fields to return, every field when absent.
    * @param language The language for message localization.
-   * @return A ResponseEntity with a standardized response containing the localized message and a paginated list of all users.
+   * @return A ResponseEntity with a standardized response containing the localized message and a paginated list of all users,
+   *         tagged with the digest of the page so an unchanged page is answered with 304 without a body.
    */
   @GetMapping("/all")
-  public ResponseGeneral<PageResponse<UserResponse>> getAllUser(
+  public CompletableFuture<ResponseEntity<ResponseGeneral<PageResponse<UserResponse>>>> getAllUser(
         @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) int size,
         @RequestParam(name = "page", defaultValue = DEFAULT_PAGE_NUMBER) int page,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "fields", required = false) String fields,
+        @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
+  ) {
+    log.info("(listAllUser) size : {}, page: {}, after: {}, fields: {}", size, page, after, fields);
+    Set<UserField> selected = UserField.parse(fields);
+    return bulkheads.getList().submit(() -> {
+      PageResponse<UserResponse> users = after != null
+            ? userService.getAllUserAfter(after, size, selected) : userService.getAllUser(size, page, selected);
+      return conditional(ResponseEntity.ok(), ETagUtils.ofPage(users, language, selected), null)
+            .body(ResponseGeneral.ofSuccess(messageService.getMessage(LIST_USER, language), users));
+    });
+  }
+
+  /**
+   * Handles GET requests to export all users. Users are written to the response as they are read from the database,
+   * so the export is not wrapped in a standardized response and memory stays flat whatever the number of users.
+   *
+   * @param format   The export format, "ndjson" or "csv".
+   * @param response The HTTP response the users are written to.
+   * @throws IOException if the response cannot be written, typically because the client went away.
+   */
+  @GetMapping("/export")
+  public void export(
+        @RequestParam(name = "format", defaultValue = DEFAULT_EXPORT_FORMAT) String format,
+        HttpServletResponse response
+  ) throws IOException {
+    log.info("(export) format : {}", format);
+    UserExportFormat exportFormat = UserExportFormat.of(format);
+    response.setContentType(exportFormat.getContentType());
+    response.setCharacterEncoding(ENCODING_UTF_8);
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+          .filename("users." + exportFormat.getExtension())
+          .build()
+          .toString());
+    try (UserExportWriter writer = exportFormat.open(response.getOutputStream())) {
+      userService.exportAll(writer::write);
+    }
+  }
+
+  /**
+   * Handles POST requests to import users from a file sent as the request body.
+   *
+   * @param format   The format of the file, "ndjson" or "csv".
+   * @param request  The HTTP request whose body is the file.
+   * @param language The language for message localization.
+   * @return A ResponseEntity with a standardized response containing the localized message and the new import job.
+   * @throws IOException if the upload cannot be read or stored.
+   */
+  @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/octet-stream"})
+  public ResponseGeneral<ImportJobResponse> importUsers(
+        @RequestParam(name = "format", defaultValue = DEFAULT_EXPORT_FORMAT) String format,
+        HttpServletRequest request,
+        @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
+  ) throws IOException {
+    log.info("(importUsers) format : {}, length : {}", format, request.getContentLengthLong());
+    return ResponseGeneral.of(HttpStatus.ACCEPTED.value(), messageService.getMessage(IMPORT_USER, language),
+          userImportService.start(format, request.getInputStream()));
+  }
+
+  /**
+   * Handles GET requests to retrieve the progress of an import job.
+   *
+   * @param id       The ID of the import job.
+   * @param language The language for message localization.
+   * @return A ResponseEntity with a standardized response containing the localized message, the progress and throughput
+   * of the job and the rows rejected so far.
+   */
+  @GetMapping("/import/{id}")
+  public ResponseGeneral<ImportJobResponse> getImport(
+        @PathVariable String id,
         @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
   ) {
-    log.info("(listAllUser) size : {}, page: {}", size, page);
-    return ResponseGeneral.ofSuccess(messageService.getMessage(LIST_USER, language),
-          userService.getAllUser(size, page)
-    );
+    log.info("(getImport) id : {}", id);
+    ImportJobResponse job = userImportService.getJob(id);
+    if (job.getErrorCode() != null) {
+      job.setErrorMessage(messageService.getMessage(job.getErrorCode(), language));
+    }
+    for (ImportRejectionResponse rejection : job.getRejections()) {
+      rejection.setMessage(messageService.getMessage(rejection.getCode(), language));
+    }
+    return ResponseGeneral.ofSuccess(messageService.getMessage(GET_IMPORT_USER, language), job);
   }
 
   /**
@@ -131,13 +306,48 @@ public class UserController {
    * @return A ResponseEntity with a standardized response containing the localized success message.
    */
   @DeleteMapping("{id}")
-  public ResponseGeneral<Void> delete(
+  public CompletableFuture<ResponseGeneral<Void>> delete(
         @PathVariable String id,
         @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
   ) {
     log.info("(delete) id : {}", id);
-    userService.delete(id);
-    return ResponseGeneral.ofSuccess(messageService.getMessage(DELETE_USER, language));
+    return bulkheads.getWrite().submit(() -> {
+      userService.delete(id);
+      return ResponseGeneral.ofSuccess(messageService.getMessage(DELETE_USER, language));
+    });
   }
-}
 
+  /**
+   * Handles DELETE requests to delete many users by ID.
+   *
+   * @param ids      The IDs of the users to delete.
+   * @param language The language for message localization.
+   * @return A ResponseEntity with a standardized response containing the number of deleted users and the IDs that did not exist.
+   */
+  @DeleteMapping
+  public CompletableFuture<ResponseGeneral<BulkDeleteResponse>> deleteBatch(
+        @RequestBody Set<String> ids,
+        @RequestHeader(name = LANGUAGE, defaultValue = DEFAULT_LANGUAGE) String language
+  ) {
+    log.info("(deleteBatch) size : {}", ids.size());
+    return bulkheads.getWrite().submit(() -> ResponseGeneral.ofSuccess(
+          messageService.getMessage(DELETE_USER_BATCH, language), userService.deleteBatch(ids)));
+  }
+
+  /**
+   * Adds the validators of a representation to a response. The message depends on the language, so caches are told
+   * to vary on it. Spring answers 304 itself when a 200 response matches the conditional headers of the request.
+   *
+   * @param builder      The response builder.
+   * @param etag         The entity tag of the representation.
+   * @param lastModified The time of the last modification in milliseconds, or null if unknown.
+   * @return The builder.
+   */
+  private static ResponseEntity.BodyBuilder conditional(ResponseEntity.BodyBuilder builder, String etag, Long lastModified) {
+    builder.eTag(etag).varyBy(LANGUAGE);
+    if (lastModified != null) {
+      builder.lastModified(lastModified);
+    }
+    return builder;
+  }
+}
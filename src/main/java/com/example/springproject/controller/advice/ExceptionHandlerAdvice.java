@@ -5,6 +5,10 @@ import com.example.springproject.exception.base.BadRequestException;
 import com.example.springproject.exception.base.BaseException;
 import com.example.springproject.exception.base.ConflictException;
 import com.example.springproject.exception.base.NotFoundException;
+import com.example.springproject.exception.base.ServiceUnavailableException;
+import org.springframework.http.HttpHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
@@ -15,7 +19,10 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import static com.example.springproject.constant.CommonConstants.API_EXCEPTIONS_COUNTER;
 import static com.example.springproject.constant.ExceptionCode.GENERIC_CODE;
 
 /**
@@ -24,7 +31,7 @@ import static com.example.springproject.constant.ExceptionCode.GENERIC_CODE;
  * It aims to produce consistent and well-structured responses for different exception scenarios.
  *
  * The class includes methods to handle specific exceptions such as `BaseException`, `NotFoundException`,
- * `BadRequestException`, `ConflictException`, and a generic `RuntimeException`.
+ * `BadRequestException`, `ConflictException`, `ServiceUnavailableException`, and a generic `RuntimeException`.
  *
  * The `handleBaseException` method is designed to handle exceptions of type `BaseException`. It extracts the error code,
  * retrieves the localized error message using a `MessageSource`, and constructs a standardized response using
@@ -32,6 +39,10 @@ import static com.example.springproject.constant.ExceptionCode.GENERIC_CODE;
  *
  * Similar handling mechanisms are provided for other specific exceptions, each annotated with the corresponding HTTP status code.
  *
+ * Messages without parameters are cached per (code, locale) by `errorBody`, so a burst of the same error, such as
+ * not-found lookups of wrong ids, does not resolve the message again for every request. Only the immutable message
+ * string is shared: every response gets its own `ResponseGeneral`, which callers are free to modify.
+ *
  * The `getMessage` method is a utility function to retrieve a localized error message from the `MessageSource`. It handles
  * exceptions that might occur during the message retrieval process and returns the error code if unsuccessful.
  *
@@ -45,15 +56,22 @@ import static com.example.springproject.constant.ExceptionCode.GENERIC_CODE;
 @RestControllerAdvice
 @ControllerAdvice
 public class ExceptionHandlerAdvice {
+  private static final String RETRY_AFTER_SECONDS = "1";
+  private static final int MAX_CACHED_LOCALES = 64;
   private final MessageSource messageSource;
+  private final ConcurrentMap<Locale, ConcurrentMap<String, String>> errorMessages = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentMap<Class<?>, Counter> exceptionCounters = new ConcurrentHashMap<>();
   /**
    * Constructor for the ExceptionHandlerAdvice class.
    *
    * @param messageSource The MessageSource bean for retrieving localized error messages.
+   * @param meterRegistry The MeterRegistry counting the handled exceptions.
    */
   @Autowired
-  public ExceptionHandlerAdvice(MessageSource messageSource) {
+  public ExceptionHandlerAdvice(MessageSource messageSource, MeterRegistry meterRegistry) {
     this.messageSource = messageSource;
+    this.meterRegistry = meterRegistry;
   }
   /**
    * Handles exceptions to type BaseException. Retrieves the error code, localizes the error message,
@@ -65,8 +83,7 @@ public class ExceptionHandlerAdvice {
    */
   @ExceptionHandler(BaseException.class)
   public ResponseEntity<ResponseGeneral<Object>> handleBaseException(BaseException ex, Locale locale) {
-    String message = getMessage(ex.getCode(), locale, ex.getParams());
-    ResponseGeneral<Object> response = ResponseGeneral.of(ex.getStatus(), message, null);
+    ResponseGeneral<Object> response = errorBody(ex.getCode(), ex.getStatus(), locale, ex);
     return new ResponseEntity<>(response, HttpStatus.valueOf(ex.getStatus()));
   }
 
@@ -81,8 +98,7 @@ public class ExceptionHandlerAdvice {
   @ExceptionHandler(NotFoundException.class)
   @ResponseStatus(HttpStatus.NOT_FOUND)
   public ResponseEntity<ResponseGeneral<Object>> handleNotFoundException(NotFoundException ex, Locale locale) {
-    String message = getMessage(ex.getCode(), locale, ex.getParams());
-    ResponseGeneral<Object> response = ResponseGeneral.of(ex.getStatus(), message, null);
+    ResponseGeneral<Object> response = errorBody(ex.getCode(), ex.getStatus(), locale, ex);
     return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
   }
 
@@ -97,8 +113,7 @@ public class ExceptionHandlerAdvice {
   @ExceptionHandler(BadRequestException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ResponseEntity<ResponseGeneral<Object>> handleBadRequestException(BadRequestException ex, Locale locale) {
-    String message = getMessage(ex.getCode(), locale, ex.getParams());
-    ResponseGeneral<Object> response = ResponseGeneral.of(ex.getStatus(), message, null);
+    ResponseGeneral<Object> response = errorBody(ex.getCode(), ex.getStatus(), locale, ex);
     return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
   }
 
@@ -113,23 +128,88 @@ public class ExceptionHandlerAdvice {
   @ExceptionHandler(ConflictException.class)
   @ResponseStatus(HttpStatus.CONFLICT)
   public ResponseEntity<ResponseGeneral<Object>> handleConflictException(ConflictException ex, Locale locale) {
-    String message = getMessage(ex.getCode(), locale, ex.getParams());
-    ResponseGeneral<Object> response = ResponseGeneral.of(ex.getStatus(), message, null);
+    ResponseGeneral<Object> response = errorBody(ex.getCode(), ex.getStatus(), locale, ex);
     return new ResponseEntity<>(response, HttpStatus.CONFLICT);
   }
+  /**
+   * Handles exceptions to type ServiceUnavailableException. Retrieves the error code, localizes the error message,
+   * and constructs a standardized response telling the client when to retry.
+   *
+   * @param ex The ServiceUnavailableException instance
+   * @param locale The locale for message localization.
+   * @return A ResponseEntity with a service unavailable status
+   */
+  @ExceptionHandler(ServiceUnavailableException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ResponseEntity<ResponseGeneral<Object>> handleServiceUnavailableException(ServiceUnavailableException ex,
+                                                                                   Locale locale) {
+    ResponseGeneral<Object> response = errorBody(ex.getCode(), ex.getStatus(), locale, ex);
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+          .body(response);
+  }
+
   /**
    * Handles generic RuntimeExceptions. It returns a standardized response with an internal server error status.
    *
+   * @param ex     The RuntimeException instance.
    * @param locale The locale for message localization.
    * @return A ResponseEntity with a standardized response for generic runtime exceptions.
    */
   @ExceptionHandler(RuntimeException.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-  public ResponseEntity<ResponseGeneral<Object>> handleGenericException(Locale locale) {
-    String message = getMessage(GENERIC_CODE, locale, null);
-    ResponseGeneral<Object> response = ResponseGeneral.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), message, null);
+  public ResponseEntity<ResponseGeneral<Object>> handleGenericException(RuntimeException ex, Locale locale) {
+    count(ex, HttpStatus.INTERNAL_SERVER_ERROR.value());
+    ResponseGeneral<Object> response = errorBody(GENERIC_CODE, HttpStatus.INTERNAL_SERVER_ERROR.value(), locale, null);
     return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
   }
+  /**
+   * Builds the error body of a code. Messages without parameters only depend on the code and the locale, so they are
+   * resolved once and reused; messages with parameters are resolved for each exception. The body itself is always new.
+   *
+   * @param code   The error code.
+   * @param status The HTTP status.
+   * @param locale The locale for message localization.
+   * @param ex     The exception carrying the parameters, or null.
+   * @return The error body.
+   */
+  private ResponseGeneral<Object> errorBody(String code, int status, Locale locale, BaseException ex) {
+    if (ex != null) {
+      count(ex, status);
+    }
+    if (ex != null && ex.hasParams()) {
+      return ResponseGeneral.of(status, getMessage(code, locale, ex.getParams()), null);
+    }
+    ConcurrentMap<String, String> messages = errorMessages.get(locale);
+    if (messages == null) {
+      if (errorMessages.size() >= MAX_CACHED_LOCALES) {
+        return ResponseGeneral.of(status, getMessage(code, locale, null), null);
+      }
+      messages = errorMessages.computeIfAbsent(locale, key -> new ConcurrentHashMap<>());
+    }
+    String message = messages.get(code);
+    if (message == null) {
+      message = getMessage(code, locale, null);
+      messages.put(code, message);
+    }
+    return ResponseGeneral.of(status, message, null);
+  }
+
+  /**
+   * Counts a handled exception, tagged with its class and the status of the response. The counter of each class is
+   * looked up once.
+   *
+   * @param ex     The exception.
+   * @param status The HTTP status of the response.
+   */
+  private void count(RuntimeException ex, int status) {
+    exceptionCounters.computeIfAbsent(ex.getClass(), type -> Counter.builder(API_EXCEPTIONS_COUNTER)
+          .description("Exceptions turned into error responses")
+          .tag("exception", type.getSimpleName())
+          .tag("status", String.valueOf(status))
+          .register(meterRegistry)).increment();
+  }
+
   /**
    * Utility method to retrieve a localized error message from the MessageSource.
    *
@@ -140,7 +220,8 @@ public class ExceptionHandlerAdvice {
    */
   private String getMessage(String code, Locale locale, Map<String, String> params) {
     try {
-      return messageSource.getMessage(code, params != null ? params.values().toArray() : null, locale);
+      return messageSource.getMessage(code, params != null && !params.isEmpty() ? params.values().toArray() : null,
+            locale);
     } catch (Exception e) {
       return code;
     }
@@ -0,0 +1,50 @@
+package com.example.springproject.controller.advice;
+
+import com.example.springproject.controller.filter.SqlStatisticsFilter;
+import com.example.springproject.datasource.SqlStatistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+import static com.example.springproject.constant.CommonConstants.SERVER_TIMING_HEADER;
+import static com.example.springproject.constant.CommonConstants.SQL_STATEMENTS_HEADER;
+
+/**
+ * Debugging aid reporting the SQL statements of a request in its response headers, enabled with
+ * app.datasource.statements.headers-enabled=true.
+ *
+ * The body is written once the operation is over, so the headers set here cover every statement of the request:
+ * `X-Sql-Statements` holds their number and `Server-Timing` the time spent executing them, which browsers show
+ * next to the timings of the request.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "app.datasource.statements.headers-enabled", havingValue = "true")
+public class SqlStatisticsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest
+          && servletRequest.getServletRequest().getAttribute(SqlStatisticsFilter.STATISTICS_ATTRIBUTE)
+          instanceof SqlStatistics statistics) {
+      response.getHeaders().set(SQL_STATEMENTS_HEADER, Long.toString(statistics.getStatements()));
+      response.getHeaders().set(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements\"",
+            statistics.getTime().toNanos() / 1_000_000.0, statistics.getStatements()));
+    }
+    return body;
+  }
+}
@@ -0,0 +1,185 @@
+package com.example.springproject.controller.converter;
+
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.base.ResponseGeneral;
+import com.example.springproject.dto.response.PartialUserResponse;
+import com.example.springproject.dto.response.UserResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * HttpMessageConverter writing the {@link ResponseGeneral} envelope straight into the response stream with a
+ * {@link JsonGenerator}, producing the same JSON as the ObjectMapper of the application.
+ * Users projected on a selection of fields only write the selected ones.
+ *
+ * The field names are encoded once, the generator buffers come from a bounded pool rather than from Jackson's
+ * per-thread recycler, which virtual threads would never reuse, and the payloads of the user
+ * endpoints, a {@link UserResponse} or a {@link PageResponse} of them, are written field by field without going
+ * through reflective serialization. Any other payload is written by the ObjectMapper into the same generator.
+ * The converter only writes; request bodies are read by the regular Jackson converter.
+ */
+public class ResponseGeneralHttpMessageConverter extends AbstractHttpMessageConverter<ResponseGeneral<?>> {
+  private static final SerializedString STATUS = new SerializedString("status");
+  private static final SerializedString MESSAGE = new SerializedString("message");
+  private static final SerializedString DATA = new SerializedString("data");
+  private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+  private static final SerializedString CONTENT = new SerializedString("content");
+  private static final SerializedString AMOUNT = new SerializedString("amount");
+  private static final SerializedString HAS_NEXT = new SerializedString("has_next");
+  private static final SerializedString NEXT_CURSOR = new SerializedString("next_cursor");
+  private static final SerializedString ID = new SerializedString("id");
+  private static final SerializedString USERNAME = new SerializedString("username");
+  private static final SerializedString PASSWORD = new SerializedString("password");
+  private static final SerializedString EMAIL = new SerializedString("email");
+  private static final SerializedString PHONE = new SerializedString("phone");
+  private static final SerializedString ROLE = new SerializedString("role");
+
+  private final JsonFactory factory;
+  private final ObjectWriter fallbackWriter;
+  private volatile SerializedString timestamp = new SerializedString("");
+
+  /**
+   * Constructor for ResponseGeneralHttpMessageConverter.
+   *
+   * @param objectMapper   The ObjectMapper writing the payloads the converter does not know.
+   * @param bufferPoolSize The number of generator buffers kept for reuse.
+   */
+  public ResponseGeneralHttpMessageConverter(ObjectMapper objectMapper, int bufferPoolSize) {
+    super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    this.factory = JsonFactory.builder()
+          .recyclerPool(JsonRecyclerPools.newBoundedPool(Math.max(1, bufferPoolSize)))
+          .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+          .build();
+    this.fallbackWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return ResponseGeneral.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected ResponseGeneral<?> readInternal(Class<? extends ResponseGeneral<?>> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("ResponseGeneral is not readable", inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(ResponseGeneral<?> response, HttpOutputMessage outputMessage) throws IOException {
+    try (JsonGenerator generator = factory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)) {
+      generator.writeStartObject();
+      generator.writeFieldName(STATUS);
+      generator.writeNumber(response.getStatus());
+      generator.writeFieldName(MESSAGE);
+      generator.writeString(response.getMessage());
+      generator.writeFieldName(DATA);
+      writeData(generator, response.getData());
+      generator.writeFieldName(TIMESTAMP);
+      writeTimestamp(generator, response.getTimestamp());
+      generator.writeEndObject();
+    }
+  }
+
+  private void writeData(JsonGenerator generator, Object data) throws IOException {
+    if (data == null) {
+      generator.writeNull();
+    } else if (data instanceof UserResponse user) {
+      writeUser(generator, user);
+    } else if (data instanceof PageResponse<?> page) {
+      writePage(generator, page);
+    } else {
+      fallbackWriter.writeValue(generator, data);
+    }
+  }
+
+  private void writePage(JsonGenerator generator, PageResponse<?> page) throws IOException {
+    generator.writeStartObject();
+    generator.writeFieldName(CONTENT);
+    List<?> content = page.getContent();
+    if (content == null) {
+      generator.writeNull();
+    } else {
+      generator.writeStartArray();
+      for (Object item : content) {
+        if (item instanceof UserResponse user) {
+          writeUser(generator, user);
+        } else if (item == null) {
+          generator.writeNull();
+        } else {
+          fallbackWriter.writeValue(generator, item);
+        }
+      }
+      generator.writeEndArray();
+    }
+    if (page.getAmount() != null) {
+      generator.writeFieldName(AMOUNT);
+      generator.writeNumber(page.getAmount());
+    }
+    if (page.getHasNext() != null) {
+      generator.writeFieldName(HAS_NEXT);
+      generator.writeBoolean(page.getHasNext());
+    }
+    if (page.getNextCursor() != null) {
+      generator.writeFieldName(NEXT_CURSOR);
+      generator.writeString(page.getNextCursor());
+    }
+    generator.writeEndObject();
+  }
+
+  private void writeUser(JsonGenerator generator, UserResponse user) throws IOException {
+    if (user instanceof PartialUserResponse partial) {
+      partial.writeFields(generator);
+      return;
+    }
+    generator.writeStartObject();
+    generator.writeFieldName(ID);
+    generator.writeString(user.getId());
+    generator.writeFieldName(USERNAME);
+    generator.writeString(user.getUsername());
+    generator.writeFieldName(PASSWORD);
+    generator.writeString(user.getPassword());
+    generator.writeFieldName(EMAIL);
+    generator.writeString(user.getEmail());
+    generator.writeFieldName(PHONE);
+    generator.writeString(user.getPhone());
+    generator.writeFieldName(ROLE);
+    generator.writeString(user.getRole());
+    generator.writeEndObject();
+  }
+
+  /**
+   * Writes the timestamp, reusing its encoded form as long as it is the same string, which it is for a whole
+   * day since the envelopes take it from the cached clock of DateUtils.
+   */
+  private void writeTimestamp(JsonGenerator generator, String value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+      return;
+    }
+    SerializedString encoded = timestamp;
+    if (!value.equals(encoded.getValue())) {
+      encoded = new SerializedString(value);
+      timestamp = encoded;
+    }
+    generator.writeString(encoded);
+  }
+}
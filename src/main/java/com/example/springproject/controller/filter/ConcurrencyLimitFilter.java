@@ -0,0 +1,98 @@
+package com.example.springproject.controller.filter;
+
+import com.example.springproject.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.springproject.concurrency.UserConcurrencyLimits;
+import com.example.springproject.exception.base.ServiceUnavailableException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Sheds the requests to the user endpoints beyond the concurrency limit of their group.
+ *
+ * A request takes a permit of its group before reaching the controller and gives it back once its response is
+ * complete, after the asynchronous processing of the bulkheads when there is one, so the latency fed to the limiter
+ * is the one the client sees. A request refused a permit is answered with the 503 of
+ * {@link ServiceUnavailableException} through the exception handlers of the application. Responses with a server
+ * error and timed out requests count as drops.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+  private static final String USER_API_PREFIX = "/api/v1/users";
+  private static final int SERVER_ERROR = 500;
+
+  private final UserConcurrencyLimits limits;
+  private final HandlerExceptionResolver exceptionResolver;
+
+  public ConcurrencyLimitFilter(UserConcurrencyLimits limits, HandlerExceptionResolver exceptionResolver) {
+    this.limits = limits;
+    this.exceptionResolver = exceptionResolver;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getServletPath().startsWith(USER_API_PREFIX);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+    AdaptiveConcurrencyLimiter.Permit permit = limits.limiterFor(request.getMethod(), request.getServletPath())
+          .tryAcquire();
+    if (permit == null) {
+      exceptionResolver.resolveException(request, response, null, new ServiceUnavailableException());
+      return;
+    }
+    boolean async = false;
+    try {
+      chain.doFilter(request, response);
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+        async = true;
+      }
+    } catch (IOException | ServletException | RuntimeException ex) {
+      permit.onDropped();
+      throw ex;
+    } finally {
+      if (!async) {
+        release(permit, response);
+      }
+    }
+  }
+
+  private static void release(AdaptiveConcurrencyLimiter.Permit permit, HttpServletResponse response) {
+    if (response.getStatus() >= SERVER_ERROR) {
+      permit.onDropped();
+    } else {
+      permit.onSuccess();
+    }
+  }
+
+  private record PermitReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+    @Override
+    public void onComplete(AsyncEvent event) {
+      release(permit, (HttpServletResponse) event.getSuppliedResponse());
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      permit.onDropped();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      permit.onDropped();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.springproject.controller.filter;
+
+import com.example.springproject.datasource.SqlStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static com.example.springproject.constant.CommonConstants.REQUEST_SQL_STATEMENTS_SUMMARY;
+import static com.example.springproject.constant.CommonConstants.REQUEST_SQL_TIMER;
+
+/**
+ * Counts the SQL statements each HTTP request issues.
+ *
+ * The statistics of a request are kept as a request attribute and bound to the thread for every dispatch of the
+ * request, the bulkheads carrying them over to the threads running the operations. Once the request completes,
+ * its statements and their time are recorded per method and route.
+ */
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+  /**
+   * The request attribute holding the {@link SqlStatistics} of the request
+   */
+  public static final String STATISTICS_ATTRIBUTE = SqlStatisticsFilter.class.getName() + ".statistics";
+  private static final String UNKNOWN_URI = "UNKNOWN";
+
+  private final MeterRegistry registry;
+
+  public SqlStatisticsFilter(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+    SqlStatistics statistics = (SqlStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+    if (statistics == null) {
+      statistics = new SqlStatistics();
+      request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+    }
+    try (SqlStatistics.Scope ignored = statistics.bind()) {
+      chain.doFilter(request, response);
+    } finally {
+      if (!request.isAsyncStarted()) {
+        record(request, statistics);
+      }
+    }
+  }
+
+  private void record(HttpServletRequest request, SqlStatistics statistics) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+    DistributionSummary.builder(REQUEST_SQL_STATEMENTS_SUMMARY)
+          .tag("method", request.getMethod())
+          .tag("uri", uri)
+          .description("SQL statements issued by a request")
+          .register(registry)
+          .record(statistics.getStatements());
+    Timer.builder(REQUEST_SQL_TIMER)
+          .tag("method", request.getMethod())
+          .tag("uri", uri)
+          .description("Time a request spent executing SQL statements")
+          .register(registry)
+          .record(statistics.getTime());
+  }
+}
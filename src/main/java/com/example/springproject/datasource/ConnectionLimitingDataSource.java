@@ -0,0 +1,155 @@
+package com.example.springproject.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource admitting at most as many borrowers as the pool has connections.
+ *
+ * With virtual threads there is no longer a worker pool capping how many requests reach the repository at once:
+ * thousands of threads can ask the connection pool for a connection at the same moment and spin on its hand-off
+ * queue. Here they wait in a fair semaphore instead, which parks virtual threads without pinning their carrier,
+ * and get a connection in arrival order. A borrower waiting longer than the timeout fails with a
+ * {@link SQLTransientConnectionException}, as it would on the pool itself.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements MeterBinder {
+  private final Semaphore permits;
+  private final int maxConnections;
+  private final long timeoutNanos;
+
+  /**
+   * Creates a ConnectionLimitingDataSource.
+   *
+   * @param targetDataSource The pool the connections are borrowed from.
+   * @param maxConnections   The number of connections of the pool.
+   * @param timeout          The maximum time to wait for a permit.
+   */
+  public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConnections, Duration timeout) {
+    super(targetDataSource);
+    this.permits = new Semaphore(maxConnections, true);
+    this.maxConnections = maxConnections;
+    this.timeoutNanos = timeout.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return limited(super.getConnection());
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return limited(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  /**
+   * Returns the number of borrowers currently waiting for a connection.
+   *
+   * @return The number of waiting threads, an estimate.
+   */
+  public int getWaiting() {
+    return permits.getQueueLength();
+  }
+
+  /**
+   * Returns the number of connections currently borrowed through this DataSource.
+   *
+   * @return The number of borrowed connections.
+   */
+  public int getBorrowed() {
+    return maxConnections - permits.availablePermits();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("datasource.connections.limit.waiting", this, ConnectionLimitingDataSource::getWaiting)
+          .description("Threads waiting for a connection permit")
+          .register(registry);
+    Gauge.builder("datasource.connections.limit.borrowed", this, ConnectionLimitingDataSource::getBorrowed)
+          .description("Connections borrowed through the limit")
+          .register(registry);
+    Gauge.builder("datasource.connections.limit.max", this, dataSource -> dataSource.maxConnections)
+          .description("Connections admitted at once")
+          .register(registry);
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException("No connection available within "
+              + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms, " + maxConnections + " connections in use");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a connection", ex);
+    }
+  }
+
+  private Connection limited(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+          new PermitReleasingHandler(connection));
+  }
+
+  /**
+   * Gives the permit of a connection back when the connection is closed, once.
+   */
+  private final class PermitReleasingHandler implements InvocationHandler {
+    private final Connection target;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private PermitReleasingHandler(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "close":
+          try {
+            target.close();
+          } finally {
+            if (released.compareAndSet(false, true)) {
+              permits.release();
+            }
+          }
+          return null;
+        default:
+          try {
+            return method.invoke(target, args);
+          } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+          }
+      }
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.springproject.datasource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Finds DataSources through the wrappers around them, so that the wrappers can be stacked in any order.
+ */
+public final class DataSourceWrappers {
+  private DataSourceWrappers() {
+  }
+
+  /**
+   * Returns the DataSource of a type wrapped by a DataSource, or the DataSource itself if it has that type.
+   *
+   * @param dataSource The DataSource, possibly wrapped.
+   * @param type       The type of the DataSource looked for.
+   * @return The DataSource of that type, or null if there is none.
+   */
+  public static <T> T unwrap(DataSource dataSource, Class<T> type) {
+    if (dataSource == null) {
+      return null;
+    }
+    try {
+      return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+    } catch (SQLException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,298 @@
+package com.example.springproject.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The replicas serving read-only transactions, each with its own connection pool.
+ *
+ * A background check validates a connection of every replica at a fixed interval and, when a lag query is
+ * configured, reads how far the replica is behind the primary. Only the replicas that answered and are not lagging
+ * more than the maximum lag are available; a replica failing to hand out a connection is taken out at once until
+ * the next check. Reads are spread over the available replicas round-robin or to the one with the fewest active
+ * connections.
+ */
+@Slf4j
+public class ReadReplicas implements MeterBinder, AutoCloseable {
+  private static final Replica[] NONE = new Replica[0];
+  private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+  /**
+   * How reads are spread over the available replicas.
+   */
+  public enum Balancing {
+    ROUND_ROBIN, LEAST_CONNECTIONS;
+
+    /**
+     * Parses a balancing, such as round-robin or least-connections.
+     *
+     * @param value The name of the balancing, case-insensitive.
+     * @return The Balancing.
+     */
+    public static Balancing of(String value) {
+      return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+  }
+
+  private final List<Replica> replicas;
+  private final Balancing balancing;
+  private final String lagQuery;
+  private final long maxLagMillis;
+  private final AtomicInteger next = new AtomicInteger();
+  private final LongAdder fallbacks = new LongAdder();
+  private final ScheduledExecutorService healthChecker;
+  private volatile Replica[] available = NONE;
+
+  /**
+   * Creates ReadReplicas, checking them right away then at every interval.
+   *
+   * @param dataSources         The pools of the replicas.
+   * @param balancing           How reads are spread over the available replicas.
+   * @param healthCheckInterval The interval between two checks of the replicas.
+   * @param lagQuery            The query returning the lag of a replica in seconds, or blank to not check the lag.
+   * @param maxLag              The lag beyond which a replica is not used.
+   */
+  public ReadReplicas(List<HikariDataSource> dataSources, Balancing balancing, Duration healthCheckInterval,
+                      String lagQuery, Duration maxLag) {
+    List<Replica> created = new ArrayList<>(dataSources.size());
+    for (HikariDataSource dataSource : dataSources) {
+      created.add(new Replica(dataSource));
+    }
+    this.replicas = List.copyOf(created);
+    this.balancing = balancing;
+    this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+    this.maxLagMillis = maxLag.toMillis();
+    if (replicas.isEmpty()) {
+      this.healthChecker = null;
+    } else {
+      CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-health-");
+      threadFactory.setDaemon(true);
+      this.healthChecker = Executors.newSingleThreadScheduledExecutor(threadFactory);
+      this.healthChecker.scheduleWithFixedDelay(this::check, 0, healthCheckInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Creates ReadReplicas without any replica, every read going to the primary.
+   *
+   * @return Empty ReadReplicas.
+   */
+  public static ReadReplicas none() {
+    return new ReadReplicas(List.of(), Balancing.ROUND_ROBIN, Duration.ZERO, null, Duration.ZERO);
+  }
+
+  public boolean isEmpty() {
+    return replicas.isEmpty();
+  }
+
+  public List<Replica> getReplicas() {
+    return replicas;
+  }
+
+  /**
+   * Picks the replica serving the next read.
+   *
+   * @return An available replica, or null if there is none.
+   */
+  public Replica select() {
+    Replica[] candidates = available;
+    if (candidates.length == 0) {
+      return null;
+    }
+    int start = Math.floorMod(next.getAndIncrement(), candidates.length);
+    if (balancing == Balancing.ROUND_ROBIN || candidates.length == 1) {
+      return candidates[start];
+    }
+    Replica least = candidates[start];
+    for (int i = 1; i < candidates.length; i++) {
+      Replica candidate = candidates[(start + i) % candidates.length];
+      if (candidate.getActiveConnections() < least.getActiveConnections()) {
+        least = candidate;
+      }
+    }
+    return least;
+  }
+
+  /**
+   * Checks every replica and updates the available ones. The replicas are checked outside the lock, so that a
+   * slow replica does not hold up the reads taking a failing replica out.
+   */
+  public void check() {
+    boolean[] checked = new boolean[replicas.size()];
+    for (int i = 0; i < checked.length; i++) {
+      checked[i] = replicas.get(i).check();
+    }
+    synchronized (this) {
+      List<Replica> healthy = new ArrayList<>(replicas.size());
+      for (int i = 0; i < checked.length; i++) {
+        Replica replica = replicas.get(i);
+        if (replica.available != checked[i]) {
+          log.info("(replicas) {} is now {}, lag {}ms", replica.getName(),
+                checked[i] ? "available" : "unavailable", replica.lagMillis);
+        }
+        replica.available = checked[i];
+        if (checked[i]) {
+          healthy.add(replica);
+        }
+      }
+      available = healthy.toArray(NONE);
+    }
+  }
+
+  /**
+   * Takes a replica out of the available ones until the next check, after it failed to hand out a connection.
+   *
+   * @param replica The failing replica.
+   * @param ex      The failure.
+   */
+  synchronized void markUnavailable(Replica replica, SQLException ex) {
+    if (replica.available) {
+      replica.available = false;
+      log.warn("(replicas) {} is now unavailable: {}", replica.getName(), ex.getMessage());
+    }
+    List<Replica> healthy = new ArrayList<>(available.length);
+    for (Replica candidate : available) {
+      if (candidate != replica) {
+        healthy.add(candidate);
+      }
+    }
+    available = healthy.toArray(NONE);
+  }
+
+  void recordFallback() {
+    fallbacks.increment();
+  }
+
+  /**
+   * Returns the number of reads served by the primary since startup because no replica was available.
+   *
+   * @return The number of fallbacks.
+   */
+  public long getFallbacks() {
+    return fallbacks.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("datasource.replica.fallbacks", this, ReadReplicas::getFallbacks)
+          .description("Read-only connections handed out by the primary because no replica was available")
+          .register(registry);
+    for (Replica replica : replicas) {
+      Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+            .tag("replica", replica.getName())
+            .description("Whether the replica serves reads")
+            .register(registry);
+      Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis / 1000.0)
+            .tag("replica", replica.getName())
+            .baseUnit("seconds")
+            .description("Lag of the replica behind the primary at the last check, -1 when unknown")
+            .register(registry);
+      Gauge.builder("datasource.replica.active", replica, Replica::getActiveConnections)
+            .tag("replica", replica.getName())
+            .description("Connections of the replica in use")
+            .register(registry);
+      FunctionCounter.builder("datasource.replica.reads", replica, r -> r.reads.sum())
+            .tag("replica", replica.getName())
+            .description("Connections handed out by the replica to read-only transactions")
+            .register(registry);
+    }
+  }
+
+  /**
+   * Stops checking the replicas and closes their pools.
+   */
+  @Override
+  public void close() {
+    if (healthChecker != null) {
+      healthChecker.shutdownNow();
+    }
+    for (Replica replica : replicas) {
+      replica.dataSource.close();
+    }
+  }
+
+  /**
+   * One replica, with the outcome of its last check.
+   */
+  public final class Replica {
+    private final HikariDataSource dataSource;
+    @Getter
+    private final String name;
+    private final LongAdder reads = new LongAdder();
+    private volatile boolean available;
+    private volatile long lagMillis = -1;
+
+    private Replica(HikariDataSource dataSource) {
+      this.dataSource = dataSource;
+      this.name = dataSource.getPoolName();
+    }
+
+    /**
+     * Borrows a connection of the replica.
+     *
+     * @return A connection.
+     * @throws SQLException if the replica cannot hand out a connection.
+     */
+    public Connection getConnection() throws SQLException {
+      Connection connection = dataSource.getConnection();
+      reads.increment();
+      return connection;
+    }
+
+    public boolean isAvailable() {
+      return available;
+    }
+
+    public int getActiveConnections() {
+      HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+      return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    private boolean check() {
+      try (Connection connection = dataSource.getConnection()) {
+        if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+          return false;
+        }
+        if (lagQuery == null) {
+          return true;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+          double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+          if (Double.isNaN(lagSeconds) || resultSet.wasNull()) {
+            lagMillis = -1;
+            return false;
+          }
+          lagMillis = (long) (lagSeconds * 1000);
+          return lagMillis <= maxLagMillis;
+        }
+      } catch (SQLException ex) {
+        log.debug("(replicas) check of {} failed: {}", name, ex.getMessage());
+        lagMillis = -1;
+        return false;
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.springproject.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource of the read-only transactions, handing out connections of an available replica and falling back to
+ * the primary when no replica is available.
+ *
+ * It is meant as the read-only DataSource of a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers borrowing a connection
+ * until the first statement, by when the transaction has marked the connection read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+  private final DataSource primary;
+  private final ReadReplicas replicas;
+
+  /**
+   * Creates a ReplicaRoutingDataSource.
+   *
+   * @param primary  The DataSource of the primary, used when no replica is available.
+   * @param replicas The replicas.
+   */
+  public ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas) {
+    this.primary = primary;
+    this.replicas = replicas;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    for (ReadReplicas.Replica replica = replicas.select(); replica != null; replica = replicas.select()) {
+      try {
+        return replica.getConnection();
+      } catch (SQLException ex) {
+        replicas.markUnavailable(replica, ex);
+      }
+    }
+    replicas.recordFallback();
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return getConnection();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || primary.isWrapperFor(iface);
+  }
+}
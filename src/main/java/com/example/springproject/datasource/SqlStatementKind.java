@@ -0,0 +1,44 @@
+package com.example.springproject.datasource;
+
+/**
+ * The kind of SQL statement, read from its first keyword.
+ */
+public enum SqlStatementKind {
+  SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+  private static final SqlStatementKind[] KEYWORDS = {SELECT, INSERT, UPDATE, DELETE};
+
+  /**
+   * Returns the kind of a statement, skipping leading blanks, parentheses and comments.
+   *
+   * @param sql The statement.
+   * @return The kind of the statement, OTHER when not recognized.
+   */
+  public static SqlStatementKind of(String sql) {
+    if (sql == null) {
+      return OTHER;
+    }
+    int i = 0;
+    int length = sql.length();
+    while (i < length) {
+      char c = sql.charAt(i);
+      if (Character.isWhitespace(c) || c == '(') {
+        i++;
+      } else if (sql.startsWith("/*", i)) {
+        int end = sql.indexOf("*/", i + 2);
+        i = end < 0 ? length : end + 2;
+      } else if (sql.startsWith("--", i)) {
+        int end = sql.indexOf('\n', i + 2);
+        i = end < 0 ? length : end + 1;
+      } else {
+        break;
+      }
+    }
+    for (SqlStatementKind kind : KEYWORDS) {
+      if (sql.regionMatches(true, i, kind.name(), 0, kind.name().length())) {
+        return kind;
+      }
+    }
+    return OTHER;
+  }
+}
@@ -0,0 +1,134 @@
+package com.example.springproject.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SQL statements issued within a scope, typically one HTTP request, counted by kind with the time spent
+ * executing them.
+ *
+ * The statistics of the current thread are bound with {@link #bind()}; {@link #propagate(Runnable)} carries them
+ * over to the threads a task is handed to, such as the bulkheads. They are updated concurrently and read once
+ * the scope is over.
+ */
+public final class SqlStatistics {
+  private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Decorates tasks so that they run with the statistics of the thread submitting them.
+   */
+  public static final TaskDecorator TASK_DECORATOR = SqlStatistics::propagate;
+
+  private final LongAdder selects = new LongAdder();
+  private final LongAdder inserts = new LongAdder();
+  private final LongAdder updates = new LongAdder();
+  private final LongAdder deletes = new LongAdder();
+  private final LongAdder others = new LongAdder();
+  private final LongAdder nanos = new LongAdder();
+
+  /**
+   * Returns the statistics bound to the current thread.
+   *
+   * @return The current statistics, or null outside any scope.
+   */
+  public static SqlStatistics current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Wraps a task so that it records its statements into the statistics of the calling thread.
+   *
+   * @param task The task.
+   * @return The task itself when no statistics are bound, the wrapped task otherwise.
+   */
+  public static Runnable propagate(Runnable task) {
+    SqlStatistics statistics = CURRENT.get();
+    if (statistics == null) {
+      return task;
+    }
+    return () -> {
+      try (Scope ignored = statistics.bind()) {
+        task.run();
+      }
+    };
+  }
+
+  /**
+   * Binds these statistics to the current thread until the returned scope is closed.
+   *
+   * @return The scope, restoring the previous statistics of the thread once closed.
+   */
+  public Scope bind() {
+    SqlStatistics previous = CURRENT.get();
+    CURRENT.set(this);
+    return () -> {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    };
+  }
+
+  void record(SqlStatementKind kind, long elapsedNanos) {
+    switch (kind) {
+      case SELECT -> selects.increment();
+      case INSERT -> inserts.increment();
+      case UPDATE -> updates.increment();
+      case DELETE -> deletes.increment();
+      default -> others.increment();
+    }
+    nanos.add(elapsedNanos);
+  }
+
+  /**
+   * Returns the number of statements executed, a batch counting as one.
+   *
+   * @return The number of statements.
+   */
+  public long getStatements() {
+    return selects.sum() + inserts.sum() + updates.sum() + deletes.sum() + others.sum();
+  }
+
+  public long getSelects() {
+    return selects.sum();
+  }
+
+  public long getInserts() {
+    return inserts.sum();
+  }
+
+  public long getUpdates() {
+    return updates.sum();
+  }
+
+  public long getDeletes() {
+    return deletes.sum();
+  }
+
+  /**
+   * Returns the time spent executing the statements, not including reading their results.
+   *
+   * @return The total execution time.
+   */
+  public Duration getTime() {
+    return Duration.ofNanos(nanos.sum());
+  }
+
+  @Override
+  public String toString() {
+    return "SqlStatistics{statements=" + getStatements() + ", selects=" + getSelects() + ", inserts=" + getInserts()
+          + ", updates=" + getUpdates() + ", deletes=" + getDeletes() + ", time=" + getTime() + "}";
+  }
+
+  /**
+   * The binding of statistics to a thread.
+   */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,258 @@
+package com.example.springproject.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource counting and timing every statement executed on its connections.
+ *
+ * Each execution, a batch counting as one, is recorded into the {@link SqlStatistics} bound to the executing
+ * thread, if any, and into totals by {@link SqlStatementKind} published as metrics. A statement slower than the
+ * threshold is logged with the shape of its bound parameters, their types and never their values.
+ */
+@Slf4j
+public class StatementMonitoringDataSource extends DelegatingDataSource implements MeterBinder {
+  private static final SqlStatementKind[] KINDS = SqlStatementKind.values();
+  private static final Object[] NO_PARAMETERS = new Object[0];
+  private static final Object NULL_PARAMETER = new Object();
+
+  private final long slowThresholdNanos;
+  private final LongAdder[] counts = new LongAdder[KINDS.length];
+  private final LongAdder[] nanos = new LongAdder[KINDS.length];
+  private final LongAdder slow = new LongAdder();
+
+  /**
+   * Creates a StatementMonitoringDataSource.
+   *
+   * @param targetDataSource The DataSource the connections are borrowed from.
+   * @param slowThreshold    The execution time from which a statement is logged.
+   */
+  public StatementMonitoringDataSource(DataSource targetDataSource, Duration slowThreshold) {
+    super(targetDataSource);
+    this.slowThresholdNanos = slowThreshold.toNanos();
+    for (int i = 0; i < KINDS.length; i++) {
+      counts[i] = new LongAdder();
+      nanos[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return monitored(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return monitored(super.getConnection(username, password));
+  }
+
+  /**
+   * Returns the number of statements of a kind executed since startup.
+   *
+   * @param kind The kind of statement.
+   * @return The number of statements.
+   */
+  public long getCount(SqlStatementKind kind) {
+    return counts[kind.ordinal()].sum();
+  }
+
+  /**
+   * Returns the number of statements slower than the threshold since startup.
+   *
+   * @return The number of slow statements.
+   */
+  public long getSlow() {
+    return slow.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (SqlStatementKind kind : KINDS) {
+      FunctionTimer.builder("jdbc.statements", this, dataSource -> dataSource.getCount(kind),
+                  dataSource -> dataSource.nanos[kind.ordinal()].sum(), TimeUnit.NANOSECONDS)
+            .tag("kind", kind.name().toLowerCase())
+            .description("Statements executed and the time spent executing them")
+            .register(registry);
+    }
+    FunctionCounter.builder("jdbc.statements.slow", this, StatementMonitoringDataSource::getSlow)
+          .description("Statements slower than the slow-query threshold")
+          .register(registry);
+  }
+
+  private void record(String sql, long elapsedNanos, Object[] parameters, int batchSize) {
+    SqlStatementKind kind = SqlStatementKind.of(sql);
+    counts[kind.ordinal()].increment();
+    nanos[kind.ordinal()].add(elapsedNanos);
+    SqlStatistics statistics = SqlStatistics.current();
+    if (statistics != null) {
+      statistics.record(kind, elapsedNanos);
+    }
+    if (elapsedNanos >= slowThresholdNanos) {
+      slow.increment();
+      log.warn("(sql) slow statement took {}ms, parameters {}{}: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            shape(parameters), batchSize > 0 ? ", batch of " + batchSize : "", sql);
+    }
+  }
+
+  private static String shape(Object[] parameters) {
+    StringJoiner joiner = new StringJoiner(", ", "[", "]");
+    for (Object parameter : parameters) {
+      if (parameter instanceof Method setter) {
+        joiner.add(setter.getName().equals("setNull") ? "null" : setter.getName().substring(3));
+      } else if (parameter instanceof Class<?> type) {
+        joiner.add(type.getSimpleName());
+      } else if (parameter == NULL_PARAMETER) {
+        joiner.add("null");
+      }
+    }
+    return joiner.toString();
+  }
+
+  private Connection monitored(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+          new ConnectionHandler(connection));
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getTargetException();
+    }
+  }
+
+  /**
+   * Hands out monitored statements.
+   */
+  private final class ConnectionHandler implements InvocationHandler {
+    private final Connection target;
+
+    private ConnectionHandler(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "createStatement":
+          return statement(Statement.class, (Statement) StatementMonitoringDataSource.invoke(target, method, args),
+                (Connection) proxy, null);
+        case "prepareStatement":
+          return statement(PreparedStatement.class,
+                (Statement) StatementMonitoringDataSource.invoke(target, method, args), (Connection) proxy,
+                (String) args[0]);
+        case "prepareCall":
+          return statement(CallableStatement.class,
+                (Statement) StatementMonitoringDataSource.invoke(target, method, args), (Connection) proxy,
+                (String) args[0]);
+        default:
+          return StatementMonitoringDataSource.invoke(target, method, args);
+      }
+    }
+
+    private Object statement(Class<? extends Statement> type, Statement statement, Connection connection,
+                             String sql) {
+      return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            new StatementHandler(statement, connection, sql));
+    }
+  }
+
+  /**
+   * Times the executions of a statement and keeps track of the setters of its parameters.
+   */
+  private final class StatementHandler implements InvocationHandler {
+    private final Statement target;
+    private final Connection connection;
+    private String sql;
+    private Object[] parameters = NO_PARAMETERS;
+    private int batchSize;
+
+    private StatementHandler(Statement target, Connection connection, String sql) {
+      this.target = target;
+      this.connection = connection;
+      this.sql = sql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (name.startsWith("execute")) {
+        String executed = args != null && args.length > 0 && args[0] instanceof String query ? query : sql;
+        int executedBatch = name.equals("executeBatch") || name.equals("executeLargeBatch") ? batchSize : 0;
+        long start = System.nanoTime();
+        try {
+          return StatementMonitoringDataSource.invoke(target, method, args);
+        } finally {
+          if (executedBatch > 0) {
+            batchSize = 0;
+          }
+          record(executed, System.nanoTime() - start, parameters, executedBatch);
+        }
+      }
+      if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+        if (name.equals("setObject") && args[1] != null) {
+          parameter(index, args[1].getClass());
+        } else if (args[1] == null && !name.equals("setNull")) {
+          parameter(index, NULL_PARAMETER);
+        } else {
+          parameter(index, method);
+        }
+        return StatementMonitoringDataSource.invoke(target, method, args);
+      }
+      switch (name) {
+        case "addBatch":
+          batchSize++;
+          if (args != null && args.length == 1 && args[0] instanceof String query) {
+            sql = query;
+          }
+          break;
+        case "clearBatch":
+          batchSize = 0;
+          break;
+        case "clearParameters":
+          parameters = NO_PARAMETERS;
+          break;
+        case "getConnection":
+          return connection;
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          break;
+      }
+      return StatementMonitoringDataSource.invoke(target, method, args);
+    }
+
+    private void parameter(int index, Object shape) {
+      if (index > parameters.length) {
+        parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+      }
+      parameters[index - 1] = shape;
+    }
+  }
+}
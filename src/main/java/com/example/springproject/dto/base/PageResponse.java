@@ -1,5 +1,8 @@
 package com.example.springproject.dto.base;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,13 +19,29 @@ import java.util.Objects;
 @Data
 @AllArgsConstructor(staticName = "of")
 @NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class PageResponse<T> {
   private List<T> content;
 
   /**
-   *  This property is the actual number of records has been found
+   *  This property is the actual number of records has been found, absent when the page is retrieved
+   *  without counting
    */
-  private int amount;
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer amount;
+
+  /**
+   *  This property tells whether there are more records after this page
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Boolean hasNext;
+
+  /**
+   *  This property is the opaque cursor of the next page, only present when paging by cursor
+   *  and there are more records after this page
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String nextCursor;
 
   /**
    *
@@ -33,6 +52,28 @@ public class PageResponse<T> {
    */
 
   public static <T> PageResponse<T> of(List<T> data, Integer amount) {
-    return new PageResponse<>(data, Objects.isNull(amount) ? 0 : amount.intValue());
+    return new PageResponse<>(data, Objects.isNull(amount) ? 0 : amount, null, null);
+  }
+
+  /**
+   * This function is used when the page is retrieved without counting the total number of records
+   * @param data List of generic type
+   * @param hasNext whether there are more records after this page
+   * @return a PageResponse with generic type
+   * @param <T> generic type
+   */
+  public static <T> PageResponse<T> ofSlice(List<T> data, boolean hasNext) {
+    return new PageResponse<>(data, null, hasNext, null);
+  }
+
+  /**
+   * This function is used when the page is retrieved by cursor
+   * @param data List of generic type
+   * @param nextCursor cursor of the next page, null when this is the last page
+   * @return a PageResponse with generic type
+   * @param <T> generic type
+   */
+  public static <T> PageResponse<T> ofCursor(List<T> data, String nextCursor) {
+    return new PageResponse<>(data, null, nextCursor != null, nextCursor);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.example.springproject.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a response dto (data transfer object) class contains the outcome of one item of a batch
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResponse {
+  /**
+   *  This property is the position of the item in the request
+   */
+  private int index;
+  private String id;
+  private int status;
+  private String code;
+  private String message;
+
+  public static BatchItemResponse ofSuccess(int index, String id, int status) {
+    return new BatchItemResponse(index, id, status, null, null);
+  }
+
+  public static BatchItemResponse ofFailure(int index, int status, String code) {
+    return new BatchItemResponse(index, null, status, code, null);
+  }
+}
@@ -0,0 +1,23 @@
+package com.example.springproject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * This is a response dto (data transfer object) class contains the per-item outcome of a batch
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResponse {
+  private int succeeded;
+  private int failed;
+  private List<BatchItemResponse> items;
+
+  public static BatchResponse of(List<BatchItemResponse> items, int succeeded) {
+    return new BatchResponse(succeeded, items.size() - succeeded, items);
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.springproject.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * This is a response dto (data transfer object) class contains the outcome of a bulk delete
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class BulkDeleteResponse {
+  /**
+   *  This property is the number of records actually deleted
+   */
+  private int deleted;
+
+  /**
+   *  This property is the requested ids that did not exist
+   */
+  private List<String> notFound;
+}
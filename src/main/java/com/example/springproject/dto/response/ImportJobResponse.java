@@ -0,0 +1,46 @@
+package com.example.springproject.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * This is a response dto (data transfer object) class contains the progress of an import job
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobResponse {
+  private String id;
+  private String format;
+  private String state;
+  /**
+   *  This property is the percentage of the uploaded file parsed so far
+   */
+  private double progress;
+  private long parsed;
+  private long imported;
+  private long rejected;
+  /**
+   *  This property is the number of rows imported or rejected per second since the job started
+   */
+  private double rowsPerSecond;
+  private Instant startedAt;
+  private Instant finishedAt;
+  private String errorCode;
+  private String errorMessage;
+  /**
+   *  This property holds the first rejected rows, ordered by line
+   */
+  private List<ImportRejectionResponse> rejections;
+}
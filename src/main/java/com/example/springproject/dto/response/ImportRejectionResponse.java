@@ -0,0 +1,26 @@
+package com.example.springproject.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a response dto (data transfer object) class contains a row rejected by an import
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRejectionResponse {
+  /**
+   *  This property is the line of the imported file on which the row starts
+   */
+  private long line;
+  private String code;
+  private String message;
+
+  public static ImportRejectionResponse of(long line, String code) {
+    return new ImportRejectionResponse(line, code, null);
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.springproject.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * This is a response dto (data transfer object) class contains the fields of a user selected with {@code ?fields=}.
+ * Only the selected fields are read from the database and written to the response; the id is always read, for
+ * cursors and ordering, but only written when selected.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@JsonSerialize(using = PartialUserResponse.Serializer.class)
+public class PartialUserResponse extends UserResponse {
+  private final Set<UserField> fields;
+
+  /**
+   * Writes the selected fields of the user.
+   *
+   * @param generator The generator to write to.
+   * @throws IOException if the generator fails.
+   */
+  public void writeFields(JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    for (UserField field : fields) {
+      generator.writeFieldName(field.getSerializedName());
+      generator.writeString(field.get(this));
+    }
+    generator.writeEndObject();
+  }
+
+  /**
+   * Serializer writing only the selected fields, so the ObjectMapper agrees with the envelope converter.
+   */
+  static class Serializer extends JsonSerializer<PartialUserResponse> {
+    @Override
+    public void serialize(PartialUserResponse user, JsonGenerator generator, SerializerProvider provider)
+          throws IOException {
+      user.writeFields(generator);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.springproject.dto.response;
+
+import com.example.springproject.exception.UnsupportedFieldException;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The fields of a {@link UserResponse} a client can select with {@code ?fields=}, in the order they are written.
+ * The name of a field is both its JSON name and the attribute of the User entity it is read from.
+ */
+public enum UserField {
+  ID("id", UserResponse::getId, UserResponse::setId),
+  USERNAME("username", UserResponse::getUsername, UserResponse::setUsername),
+  PASSWORD("password", UserResponse::getPassword, UserResponse::setPassword),
+  EMAIL("email", UserResponse::getEmail, UserResponse::setEmail),
+  PHONE("phone", UserResponse::getPhone, UserResponse::setPhone),
+  ROLE("role", UserResponse::getRole, UserResponse::setRole);
+
+  /**
+   * Every field, what a request without {@code ?fields=} gets.
+   */
+  public static final Set<UserField> ALL = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+  private static final String SUPPORTED_FIELDS = Arrays.stream(values())
+        .map(UserField::getName)
+        .collect(Collectors.joining(", "));
+
+  private final String name;
+  private final SerializedString serializedName;
+  private final Function<UserResponse, String> getter;
+  private final BiConsumer<UserResponse, String> setter;
+
+  UserField(String name, Function<UserResponse, String> getter, BiConsumer<UserResponse, String> setter) {
+    this.name = name;
+    this.serializedName = new SerializedString(name);
+    this.getter = getter;
+    this.setter = setter;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the name of the field encoded once for JSON generators.
+   *
+   * @return The encoded name.
+   */
+  public SerializedString getSerializedName() {
+    return serializedName;
+  }
+
+  public String get(UserResponse user) {
+    return getter.apply(user);
+  }
+
+  public void set(UserResponse user, String value) {
+    setter.accept(user, value);
+  }
+
+  /**
+   * Parses the comma separated list of fields of a request, case-insensitively.
+   *
+   * @param fields The requested fields, e.g. "id,username", or null for every field.
+   * @return The selected fields, {@link #ALL} when every field is selected.
+   * @throws UnsupportedFieldException if a field does not exist or the list is empty.
+   */
+  public static Set<UserField> parse(String fields) {
+    if (fields == null) {
+      return ALL;
+    }
+    EnumSet<UserField> selected = EnumSet.noneOf(UserField.class);
+    for (String name : fields.split(",")) {
+      selected.add(of(name.trim()));
+    }
+    return selected.size() == ALL.size() ? ALL : Collections.unmodifiableSet(selected);
+  }
+
+  /**
+   * Tells whether a selection contains every field, in which case the regular queries and responses are used.
+   *
+   * @param fields The selected fields.
+   * @return true if every field is selected.
+   */
+  public static boolean isAll(Set<UserField> fields) {
+    return fields.size() == ALL.size();
+  }
+
+  /**
+   * Packs a selection into a bit mask, e.g. to tell apart the tags of responses with different fields.
+   *
+   * @param fields The selected fields.
+   * @return The mask with the bit of every selected field set.
+   */
+  public static long mask(Set<UserField> fields) {
+    long mask = 0;
+    for (UserField field : fields) {
+      mask |= 1L << field.ordinal();
+    }
+    return mask;
+  }
+
+  private static UserField of(String name) {
+    for (UserField field : values()) {
+      if (field.name.equals(name.toLowerCase(Locale.ROOT))) {
+        return field;
+      }
+    }
+    throw new UnsupportedFieldException(SUPPORTED_FIELDS);
+  }
+}
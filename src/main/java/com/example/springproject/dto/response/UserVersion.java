@@ -0,0 +1,21 @@
+package com.example.springproject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a dto (data transfer object) class contains the version of a user, read to answer conditional requests
+ * without loading the whole user
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserVersion {
+  private String id;
+
+  /**
+   *  This property is the time of the last update in milliseconds, or of the creation if the user was never updated
+   */
+  private Long lastUpdatedAt;
+}
@@ -1,16 +1,25 @@
 package com.example.springproject.entity;
 
 import com.example.springproject.entity.base.BaseEntityWithUpdater;
+import com.example.springproject.entity.base.IdGeneration;
+import com.example.springproject.entity.base.IdStrategy;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import static com.example.springproject.constant.CommonConstants.USER_CACHE_REGION;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 @Entity
 @Table(name = "user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = USER_CACHE_REGION)
+@IdGeneration(IdStrategy.TIME_ORDERED_UUID)
 public class User extends BaseEntityWithUpdater {
   @Column(name = "username")
   private String username;
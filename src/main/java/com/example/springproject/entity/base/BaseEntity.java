@@ -12,11 +12,12 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Base entity class serving as a template for other entities in the system.
  * It includes common fields like id, createdBy, createdAt, and ensures the generation of a unique ID.
+ * The id generation strategy is selected per entity with {@link IdGeneration}, random UUIDs by default.
+ * An entity is kept in the second-level cache once annotated with {@code @Cacheable} and Hibernate's {@code @Cache}.
  */
 @Getter
 @MappedSuperclass
@@ -41,10 +42,10 @@ public class BaseEntity {
 
   /**
    * Ensures that the entity has a valid ID before persisting.
-   * If the ID is null, generates a new UUID and assigns it to the ID field.
+   * If the ID is null, generates a new one with the {@link IdStrategy} of the entity and assigns it to the ID field.
    */
   @PrePersist
   public void ensureId() {
-    this.id = Objects.isNull(this.id) ? UUID.randomUUID().toString() : this.id;
+    this.id = Objects.isNull(this.id) ? IdStrategy.of(getClass()).generate() : this.id;
   }
 }
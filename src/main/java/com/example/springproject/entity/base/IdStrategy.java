@@ -0,0 +1,55 @@
+package com.example.springproject.entity.base;
+
+import com.example.springproject.utils.UuidUtils;
+
+import java.util.UUID;
+
+/**
+ * Strategies generating the id of entities extending {@link BaseEntity}, selected per entity with {@link IdGeneration}.
+ */
+public enum IdStrategy {
+  /**
+   * Random version 4 UUID, the default for entities without {@link IdGeneration}.
+   */
+  RANDOM_UUID {
+    @Override
+    public String generate() {
+      return UUID.randomUUID().toString();
+    }
+  },
+
+  /**
+   * Time-ordered version 7 UUID, inserted in increasing order into the primary key index.
+   */
+  TIME_ORDERED_UUID {
+    @Override
+    public String generate() {
+      return UuidUtils.timeOrdered().toString();
+    }
+  };
+
+  private static final ClassValue<IdStrategy> STRATEGIES = new ClassValue<>() {
+    @Override
+    protected IdStrategy computeValue(Class<?> type) {
+      IdGeneration generation = type.getAnnotation(IdGeneration.class);
+      return generation == null ? RANDOM_UUID : generation.value();
+    }
+  };
+
+  /**
+   * Generates a new id.
+   *
+   * @return The id, in the 36-character UUID string form.
+   */
+  public abstract String generate();
+
+  /**
+   * Returns the strategy selected by an entity class, resolved once per class.
+   *
+   * @param entityClass The class of the entity.
+   * @return The strategy of the entity.
+   */
+  public static IdStrategy of(Class<?> entityClass) {
+    return STRATEGIES.get(entityClass);
+  }
+}
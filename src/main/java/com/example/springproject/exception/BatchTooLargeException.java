@@ -0,0 +1,16 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.BadRequestException;
+
+import static com.example.springproject.constant.ExceptionCode.BATCH_TOO_LARGE_CODE;
+
+/**
+ * BatchTooLargeException is a type of exception commonly
+ * used to indicate that a batch request holds more items than allowed
+ */
+public class BatchTooLargeException extends BadRequestException {
+  public BatchTooLargeException(int maxSize) {
+    setCode(BATCH_TOO_LARGE_CODE);
+    addParam("maxSize", String.valueOf(maxSize));
+  }
+}
@@ -7,9 +7,16 @@ import static com.example.springproject.constant.ExceptionCode.DUPLICATE_CODE;
 /**
  * DuplicateNameException is a type of exception commonly
  * used to indicate that there is a duplicate in the name or identifier of an object or resource in the system.
+ * Clients retrying a create hit it routinely, so like {@link UserNotFoundException} it captures no stack trace.
  */
 public class DuplicateNameException extends ConflictException {
   public DuplicateNameException(){
     setCode(DUPLICATE_CODE);
   }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
 }
+
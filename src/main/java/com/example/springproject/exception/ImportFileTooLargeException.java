@@ -0,0 +1,16 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.BadRequestException;
+
+import static com.example.springproject.constant.ExceptionCode.IMPORT_FILE_TOO_LARGE_CODE;
+
+/**
+ * ImportFileTooLargeException is a type of exception commonly
+ * used to indicate that an uploaded import file is larger than allowed
+ */
+public class ImportFileTooLargeException extends BadRequestException {
+  public ImportFileTooLargeException(long maxBytes) {
+    setCode(IMPORT_FILE_TOO_LARGE_CODE);
+    addParam("maxBytes", String.valueOf(maxBytes));
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.NotFoundException;
+
+import static com.example.springproject.constant.ExceptionCode.IMPORT_JOB_NOT_FOUND_CODE;
+
+/**
+ * ImportJobNotFoundException is a type of exception commonly
+ * used to indicate that the import job cannot be found, or has been forgotten
+ */
+public class ImportJobNotFoundException extends NotFoundException {
+  public ImportJobNotFoundException() {
+    setCode(IMPORT_JOB_NOT_FOUND_CODE);
+  }
+}
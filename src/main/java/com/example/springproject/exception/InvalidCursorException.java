@@ -0,0 +1,15 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.BadRequestException;
+
+import static com.example.springproject.constant.ExceptionCode.INVALID_CURSOR_CODE;
+
+/**
+ * InvalidCursorException is a type of exception commonly
+ * used to indicate that the paging cursor sent by the client cannot be decoded
+ */
+public class InvalidCursorException extends BadRequestException {
+  public InvalidCursorException() {
+    setCode(INVALID_CURSOR_CODE);
+  }
+}
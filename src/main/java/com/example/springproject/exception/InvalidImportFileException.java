@@ -0,0 +1,15 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.BadRequestException;
+
+import static com.example.springproject.constant.ExceptionCode.INVALID_IMPORT_FILE_CODE;
+
+/**
+ * InvalidImportFileException is a type of exception commonly
+ * used to indicate that an imported file cannot be read as users at all
+ */
+public class InvalidImportFileException extends BadRequestException {
+  public InvalidImportFileException() {
+    setCode(INVALID_IMPORT_FILE_CODE);
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.BadRequestException;
+
+import static com.example.springproject.constant.ExceptionCode.INVALID_IMPORT_ROW_CODE;
+
+/**
+ * InvalidImportRowException is a type of exception commonly
+ * used to indicate that one row of an imported file cannot be parsed
+ */
+public class InvalidImportRowException extends BadRequestException {
+  public InvalidImportRowException() {
+    setCode(INVALID_IMPORT_ROW_CODE);
+  }
+}
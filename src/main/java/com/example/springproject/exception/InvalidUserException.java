@@ -0,0 +1,15 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.BadRequestException;
+
+import static com.example.springproject.constant.ExceptionCode.INVALID_USER_CODE;
+
+/**
+ * InvalidUserException is a type of exception commonly
+ * used to indicate that the user information sent by the client is incomplete
+ */
+public class InvalidUserException extends BadRequestException {
+  public InvalidUserException() {
+    setCode(INVALID_USER_CODE);
+  }
+}
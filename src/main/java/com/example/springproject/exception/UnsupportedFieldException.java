@@ -0,0 +1,16 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.BadRequestException;
+
+import static com.example.springproject.constant.ExceptionCode.UNSUPPORTED_FIELD_CODE;
+
+/**
+ * UnsupportedFieldException is a type of exception commonly
+ * used to indicate that the client selected a field that does not exist
+ */
+public class UnsupportedFieldException extends BadRequestException {
+  public UnsupportedFieldException(String supportedFields) {
+    setCode(UNSUPPORTED_FIELD_CODE);
+    addParam("supportedFields", supportedFields);
+  }
+}
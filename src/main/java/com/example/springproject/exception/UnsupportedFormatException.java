@@ -0,0 +1,16 @@
+package com.example.springproject.exception;
+
+import com.example.springproject.exception.base.BadRequestException;
+
+import static com.example.springproject.constant.ExceptionCode.UNSUPPORTED_FORMAT_CODE;
+
+/**
+ * UnsupportedFormatException is a type of exception commonly
+ * used to indicate that the client asked for an export or import format that does not exist
+ */
+public class UnsupportedFormatException extends BadRequestException {
+  public UnsupportedFormatException(String supportedFormats) {
+    setCode(UNSUPPORTED_FORMAT_CODE);
+    addParam("supportedFormats", supportedFormats);
+  }
+}
@@ -5,10 +5,17 @@ import static com.example.springproject.constant.ExceptionCode.USER_NOT_FOUND_CO
 
 /**
  * UserNotFoundException is a type of exception commonly
- * used to indicate that the user cannot be found
+ * used to indicate that the user cannot be found.
+ * It is thrown on every read of a missing id, an expected outcome whose stack trace would only walk the servlet and
+ * Spring MVC frames of the request, so none is captured.
  */
 public class UserNotFoundException extends NotFoundException {
   public UserNotFoundException() {
     setCode(USER_NOT_FOUND_CODE);
   }
-}
\ No newline at end of file
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -2,19 +2,20 @@ package com.example.springproject.exception.base;
 
 import lombok.Data;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 
 import static com.example.springproject.constant.CommonConstants.*;
 
 /**
  * Base exception class that extends RuntimeException. It provides a structured way to handle and represent exceptions
  * in the application, including fields for message, code, status, and additional parameters.
+ *
+ * The params map is only allocated by the first {@link #addParam}.
  */
 @Data
 public class BaseException extends RuntimeException {
-
   private String message;
   private String code;
   private int status;
@@ -24,7 +25,24 @@ public class BaseException extends RuntimeException {
     this.status = DEFAULT_STATUS;
     this.code = BLANK_CONSTANT;
     this.message = BLANK_CONSTANT;
-    this.params = new HashMap<>();
+  }
+
+  /**
+   * Returns the parameters of the message, empty when none was added.
+   *
+   * @return The parameters.
+   */
+  public Map<String, String> getParams() {
+    return params != null ? params : Collections.emptyMap();
+  }
+
+  /**
+   * Tells whether the exception has parameters, without allocating the params map.
+   *
+   * @return true if a parameter was added.
+   */
+  public boolean hasParams() {
+    return params != null && !params.isEmpty();
   }
 
   /**
@@ -34,9 +52,9 @@ public class BaseException extends RuntimeException {
    * @param value The value of the parameter.
    */
   public void addParam(String key, String value) {
-    if (Objects.isNull(params)) {
+    if (params == null) {
       params = new HashMap<>();
     }
     params.put(key, value);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.example.springproject.exception.base;
+
+import static com.example.springproject.constant.ExceptionCode.SERVICE_UNAVAILABLE_CODE;
+
+/**
+ * ServiceUnavailableException is a type of exception commonly
+ * used to indicate that the server is overloaded and rejects the request, which can be retried later.
+ */
+public class ServiceUnavailableException extends BaseException {
+  public ServiceUnavailableException() {
+    setCode(SERVICE_UNAVAILABLE_CODE);
+    setStatus(StatusConstants.SERVICE_UNAVAILABLE);
+  }
+}
@@ -12,4 +12,6 @@ public class StatusConstants {
   public static final Integer NOT_FOUND = 404;
   public static final Integer CONFLICT = 409;
   public static final Integer BAD_REQUEST = 400;
+  public static final Integer TOO_MANY_REQUESTS = 429;
+  public static final Integer SERVICE_UNAVAILABLE = 503;
 }
\ No newline at end of file
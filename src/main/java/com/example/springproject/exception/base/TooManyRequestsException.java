@@ -0,0 +1,14 @@
+package com.example.springproject.exception.base;
+
+import static com.example.springproject.constant.ExceptionCode.TOO_MANY_REQUESTS_CODE;
+
+/**
+ * TooManyRequestsException is a type of exception commonly
+ * used to indicate that a client sent more requests than its rate limit allows, and can retry later.
+ */
+public class TooManyRequestsException extends BaseException {
+  public TooManyRequestsException() {
+    setCode(TOO_MANY_REQUESTS_CODE);
+    setStatus(StatusConstants.TOO_MANY_REQUESTS);
+  }
+}
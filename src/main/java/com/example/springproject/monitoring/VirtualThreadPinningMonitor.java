@@ -0,0 +1,141 @@
+package com.example.springproject.monitoring;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, typically by blocking inside a synchronized block or
+ * a native frame, which takes the carrier away from every other virtual thread for that long.
+ *
+ * Listens to the {@code jdk.VirtualThreadPinned} JFR event in-process. Every pinning longer than the threshold
+ * is counted by site, the first frame outside the JDK, and the first pinning of each site is logged with its
+ * stack trace. The event only exists on Java 21 and later; on older runtimes the monitor records nothing.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int LOGGED_FRAMES = 16;
+
+  private final Duration threshold;
+  private final AtomicLong pinned = new AtomicLong();
+  private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+  private volatile RecordingStream stream;
+
+  /**
+   * Creates a VirtualThreadPinningMonitor.
+   *
+   * @param threshold The minimum duration of a pinning to report it.
+   */
+  public VirtualThreadPinningMonitor(Duration threshold) {
+    this.threshold = threshold;
+  }
+
+  @Override
+  public void start() {
+    if (Runtime.version().feature() < 21) {
+      log.warn("(pinning) virtual threads need Java 21, running on Java {}", Runtime.version().feature());
+    }
+    RecordingStream recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::onPinned);
+    recording.startAsync();
+    stream = recording;
+    log.info("(pinning) monitoring virtual threads pinned longer than {}", threshold);
+  }
+
+  @Override
+  public void stop() {
+    RecordingStream recording = stream;
+    stream = null;
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  /**
+   * Returns the number of pinnings longer than the threshold since startup.
+   *
+   * @return The number of pinnings.
+   */
+  public long getPinnedCount() {
+    return pinned.get();
+  }
+
+  /**
+   * Returns the number of pinnings by site.
+   *
+   * @return A snapshot of the number of pinnings of every site.
+   */
+  public Map<String, Long> getSites() {
+    Map<String, Long> snapshot = new ConcurrentHashMap<>();
+    sites.forEach((site, count) -> snapshot.put(site, count.sum()));
+    return snapshot;
+  }
+
+  private void onPinned(RecordedEvent event) {
+    pinned.incrementAndGet();
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    String site = site(stackTrace);
+    LongAdder count = sites.get(site);
+    if (count == null) {
+      LongAdder created = new LongAdder();
+      count = sites.putIfAbsent(site, created);
+      if (count == null) {
+        count = created;
+        log.warn("(pinning) virtual thread {} pinned for {} at {}\n{}",
+              event.getThread() == null ? "?" : event.getThread().getJavaName(), event.getDuration(), site,
+              format(stackTrace));
+      }
+    }
+    count.increment();
+  }
+
+  private static String site(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "unknown";
+    }
+    for (RecordedFrame frame : stackTrace.getFrames()) {
+      if (frame.isJavaFrame() && !isJdk(frame)) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+      }
+    }
+    return "unknown";
+  }
+
+  private static boolean isJdk(RecordedFrame frame) {
+    String type = frame.getMethod().getType().getName();
+    return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+  }
+
+  private static String format(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "";
+    }
+    StringBuilder builder = new StringBuilder();
+    int frames = 0;
+    for (RecordedFrame frame : stackTrace.getFrames()) {
+      if (frames++ == LOGGED_FRAMES) {
+        builder.append("\t...\n");
+        break;
+      }
+      builder.append("\tat ").append(frame.getMethod().getType().getName()).append('.')
+            .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber()).append('\n');
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.springproject.repository;
+
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment reading users projected on a selection of fields, the counterpart of the constructor-expression
+ * queries of {@link UserRepository} for {@code ?fields=}. Only the selected columns, and the id, are read from the
+ * database, and the users are returned as {@link com.example.springproject.dto.response.PartialUserResponse}.
+ */
+public interface UserProjectionRepository {
+
+  /**
+   * Retrieves the selected fields of a user by user ID.
+   *
+   * @param id     The ID of the user.
+   * @param fields The selected fields.
+   * @return A UserResponse object, or null if the user does not exist.
+   */
+  UserResponse getProjectedByUserId(String id, Set<UserField> fields);
+
+  /**
+   * Retrieves the selected fields of every user whose id is in the given collection, in no particular order.
+   *
+   * @param ids    The ids of the users.
+   * @param fields The selected fields.
+   * @return A list of UserResponse objects, missing ids are skipped.
+   */
+  List<UserResponse> findAllProjectedByIds(Collection<String> ids, Set<UserField> fields);
+
+  /**
+   * Retrieves a slice of users projected on the selected fields without counting the total number of users.
+   *
+   * @param pageable Pagination information includes page number, size.
+   * @param fields   The selected fields.
+   * @return A slice of UserResponse objects telling whether there is a next page.
+   */
+  Slice<UserResponse> findAllProjectedSlice(Pageable pageable, Set<UserField> fields);
+
+  /**
+   * Retrieves the users whose id sorts after the given id (keyset pagination), projected on the selected fields.
+   *
+   * @param after    The id of the last user of the previous page, or null for the first page.
+   * @param pageable Pagination information, only the page size is used.
+   * @param fields   The selected fields.
+   * @return A list of UserResponse objects ordered by id.
+   */
+  List<UserResponse> findAllProjectedAfter(String after, Pageable pageable, Set<UserField> fields);
+
+  /**
+   * Searches for users based on a keyword, providing paginated results projected on the selected fields.
+   *
+   * @param pageable Pagination information.
+   * @param keyword  The keyword to search for in user attributes, its LIKE wildcards escaped with '!'.
+   * @param prefix   The pattern put before the keyword.
+   * @param suffix   The pattern put after the keyword.
+   * @param fields   The selected fields.
+   * @return A paginated list of UserResponse objects matching the search criteria.
+   */
+  Page<UserResponse> searchProjected(Pageable pageable, String keyword, String prefix, String suffix,
+                                     Set<UserField> fields);
+
+  /**
+   * Searches for users based on a keyword without counting the total number of matches, projected on the selected
+   * fields.
+   *
+   * @param pageable Pagination information.
+   * @param keyword  The keyword to search for in user attributes, its LIKE wildcards escaped with '!'.
+   * @param prefix   The pattern put before the keyword.
+   * @param suffix   The pattern put after the keyword.
+   * @param fields   The selected fields.
+   * @return A slice of UserResponse objects matching the search criteria.
+   */
+  Slice<UserResponse> searchProjectedSlice(Pageable pageable, String keyword, String prefix, String suffix,
+                                           Set<UserField> fields);
+
+  /**
+   * Searches for users based on a keyword, seeking past the given id (keyset pagination), projected on the selected
+   * fields.
+   *
+   * @param pageable Pagination information, only the page size is used.
+   * @param keyword  The keyword to search for in user attributes, its LIKE wildcards escaped with '!'.
+   * @param prefix   The pattern put before the keyword.
+   * @param suffix   The pattern put after the keyword.
+   * @param after    The id of the last user of the previous page, or null for the first page.
+   * @param fields   The selected fields.
+   * @return A list of UserResponse objects matching the search criteria, ordered by id.
+   */
+  List<UserResponse> searchProjectedAfter(Pageable pageable, String keyword, String prefix, String suffix,
+                                          String after, Set<UserField> fields);
+}
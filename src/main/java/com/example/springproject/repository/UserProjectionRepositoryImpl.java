@@ -0,0 +1,137 @@
+package com.example.springproject.repository;
+
+import com.example.springproject.dto.response.PartialUserResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link UserProjectionRepository}. The select clause is built from the selected fields, the
+ * conditions are the ones of the matching queries of {@link UserRepository}.
+ */
+class UserProjectionRepositoryImpl implements UserProjectionRepository {
+  private static final String FROM = " from User u";
+  private static final String ORDER_BY_ID = " order by u.id";
+  private static final String SEARCH_CONDITION = """
+         (:keyword is null or
+        lower(u.username) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.email) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.role) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!')""";
+  private static final String AFTER_CONDITION = " (:after is null or u.id > :after)";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public UserResponse getProjectedByUserId(String id, Set<UserField> fields) {
+    List<UserResponse> users = find(fields, " where u.id = :id", Map.of("id", id), 0, 1);
+    return users.isEmpty() ? null : users.get(0);
+  }
+
+  @Override
+  public List<UserResponse> findAllProjectedByIds(Collection<String> ids, Set<UserField> fields) {
+    return find(fields, " where u.id in :ids", Map.of("ids", ids), 0, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public Slice<UserResponse> findAllProjectedSlice(Pageable pageable, Set<UserField> fields) {
+    return slice(find(fields, "", Map.of(), pageable.getOffset(), pageable.getPageSize() + 1), pageable);
+  }
+
+  @Override
+  public List<UserResponse> findAllProjectedAfter(String after, Pageable pageable, Set<UserField> fields) {
+    return find(fields, " where" + AFTER_CONDITION + ORDER_BY_ID, afterParameters(new HashMap<>(), after),
+          0, pageable.getPageSize());
+  }
+
+  @Override
+  public Page<UserResponse> searchProjected(Pageable pageable, String keyword, String prefix, String suffix,
+                                            Set<UserField> fields) {
+    Map<String, Object> parameters = searchParameters(keyword, prefix, suffix);
+    List<UserResponse> content = find(fields, " where" + SEARCH_CONDITION, parameters,
+          pageable.getOffset(), pageable.getPageSize());
+    TypedQuery<Long> count = entityManager.createQuery("select count(u)" + FROM + " where" + SEARCH_CONDITION, Long.class);
+    parameters.forEach(count::setParameter);
+    return new PageImpl<>(content, pageable, count.getSingleResult());
+  }
+
+  @Override
+  public Slice<UserResponse> searchProjectedSlice(Pageable pageable, String keyword, String prefix, String suffix,
+                                                  Set<UserField> fields) {
+    return slice(find(fields, " where" + SEARCH_CONDITION, searchParameters(keyword, prefix, suffix),
+          pageable.getOffset(), pageable.getPageSize() + 1), pageable);
+  }
+
+  @Override
+  public List<UserResponse> searchProjectedAfter(Pageable pageable, String keyword, String prefix, String suffix,
+                                                 String after, Set<UserField> fields) {
+    return find(fields, " where" + SEARCH_CONDITION + " and" + AFTER_CONDITION + ORDER_BY_ID,
+          afterParameters(searchParameters(keyword, prefix, suffix), after), 0, pageable.getPageSize());
+  }
+
+  /**
+   * Runs a query selecting the id and the selected fields of the users matching a condition.
+   */
+  private List<UserResponse> find(Set<UserField> fields, String condition, Map<String, Object> parameters,
+                                  long offset, int limit) {
+    List<UserField> selected = new ArrayList<>(fields.size() + 1);
+    StringBuilder jpql = new StringBuilder("select u.id");
+    for (UserField field : fields) {
+      if (field != UserField.ID) {
+        selected.add(field);
+        jpql.append(", u.").append(field.getName());
+      }
+    }
+    TypedQuery<Tuple> query = entityManager.createQuery(jpql.append(FROM).append(condition).toString(), Tuple.class);
+    parameters.forEach(query::setParameter);
+    query.setFirstResult(Math.toIntExact(offset));
+    query.setMaxResults(limit);
+
+    List<Tuple> rows = query.getResultList();
+    List<UserResponse> users = new ArrayList<>(rows.size());
+    for (Tuple row : rows) {
+      UserResponse user = UserField.isAll(fields) ? new UserResponse() : new PartialUserResponse(fields);
+      user.setId(row.get(0, String.class));
+      for (int i = 0; i < selected.size(); i++) {
+        selected.get(i).set(user, row.get(i + 1, String.class));
+      }
+      users.add(user);
+    }
+    return users;
+  }
+
+  private static Map<String, Object> searchParameters(String keyword, String prefix, String suffix) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("keyword", keyword);
+    parameters.put("prefix", prefix);
+    parameters.put("suffix", suffix);
+    return parameters;
+  }
+
+  private static Map<String, Object> afterParameters(Map<String, Object> parameters, String after) {
+    parameters.put("after", after);
+    return parameters;
+  }
+
+  private static Slice<UserResponse> slice(List<UserResponse> users, Pageable pageable) {
+    boolean hasNext = users.size() > pageable.getPageSize();
+    return new SliceImpl<>(hasNext ? users.subList(0, pageable.getPageSize()) : users, pageable, hasNext);
+  }
+}
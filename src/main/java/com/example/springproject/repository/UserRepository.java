@@ -2,16 +2,32 @@ package com.example.springproject.repository;
 
 
 import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.dto.response.UserVersion;
 import com.example.springproject.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.springproject.constant.CommonConstants.EXPORT_FETCH_SIZE;
+import static com.example.springproject.constant.CommonConstants.USER_PAGES_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 /**
  * Repository interface for managing User entities. Extends the BaseRepository interface.
  */
-public interface UserRepository extends BaseRepository<User> {
+public interface UserRepository extends BaseRepository<User>, UserProjectionRepository {
 
   /**
    * Retrieves a UserResponse by user ID.
@@ -29,12 +45,68 @@ public interface UserRepository extends BaseRepository<User> {
   )
   UserResponse getByUserId(String id);
 
+  /**
+   * Retrieves the version of a user by user ID, reading two columns instead of the whole user.
+   *
+   * @param id The ID of the user.
+   * @return A UserVersion object, or null if the user does not exist.
+   */
+  @Query(
+        """
+              select new com.example.springproject.dto.response.UserVersion
+              (u.id, coalesce(u.lastUpdatedAt, u.createdAt))
+              from User u
+              where u.id=:id
+              """
+  )
+  UserVersion getVersionByUserId(@Param("id") String id);
+
+  /**
+   * Retrieves the UserResponse of every user whose id is in the given collection, in no particular order.
+   *
+   * @param ids The ids of the users.
+   * @return A list of UserResponse objects, missing ids are skipped.
+   */
+  @Query(
+        """
+              select new com.example.springproject.dto.response.UserResponse
+              (u.id, u.username,u.password,u.email,u.phone,u.role)
+              from User u
+              where u.id in :ids
+              """
+  )
+  List<UserResponse> findAllUserByIds(@Param("ids") Collection<String> ids);
+
+  /**
+   * Retrieves which of the given ids belong to an existing user, reading the primary key index only.
+   *
+   * @param ids The ids to check.
+   * @return The ids of the existing users.
+   */
+  @Query("select u.id from User u where u.id in :ids")
+  List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+  /**
+   * Deletes the users with the given ids in a single set-based statement, without loading them first.
+   *
+   * @param ids The ids of the users to delete.
+   * @return The number of users deleted.
+   */
+  @Modifying
+  @Query("delete from User u where u.id in :ids")
+  int deleteUsersByIds(@Param("ids") Collection<String> ids);
+
   /**
    * Retrieves a paginated list of UserResponse objects.
+   * The pages are kept in the query cache, when enabled, until the user table is written.
    *
    * @param pageable Pagination information includes page number, size.
    * @return A paginated list of UserResponse objects.
    */
+  @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = USER_PAGES_CACHE_REGION)
+  })
   @Query("""
              select new com.example.springproject.dto.response.UserResponse
              (u.id, u.username,u.password,u.email,u.phone,u.role)
@@ -42,11 +114,65 @@ public interface UserRepository extends BaseRepository<User> {
          """)
   Page<UserResponse> findAllUser(Pageable pageable);
 
+  /**
+   * Retrieves a slice of UserResponse objects without counting the total number of users.
+   * The slices are kept in the query cache, when enabled, until the user table is written.
+   *
+   * @param pageable Pagination information includes page number, size.
+   * @return A slice of UserResponse objects telling whether there is a next page.
+   */
+  @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = USER_PAGES_CACHE_REGION)
+  })
+  @Query("""
+             select new com.example.springproject.dto.response.UserResponse
+             (u.id, u.username,u.password,u.email,u.phone,u.role)
+             from User u
+         """)
+  Slice<UserResponse> findAllUserSlice(Pageable pageable);
+
+  /**
+   * Retrieves the users whose id sorts after the given id (keyset pagination).
+   * Seeking on the primary key keeps the cost of every page constant, no matter how deep it is.
+   *
+   * @param after    The id of the last user of the previous page, or null for the first page.
+   * @param pageable Pagination information, only the page size is used.
+   * @return A list of UserResponse objects ordered by id.
+   */
+  @Query("""
+             select new com.example.springproject.dto.response.UserResponse
+             (u.id, u.username,u.password,u.email,u.phone,u.role)
+             from User u
+             where (:after is null or u.id > :after)
+             order by u.id
+         """)
+  List<UserResponse> findAllUserAfter(@Param("after") String after, Pageable pageable);
+
+  /**
+   * Streams every user ordered by id from a forward-only cursor, fetching {@code EXPORT_FETCH_SIZE} rows per round trip,
+   * so that no more than one fetch is held in memory whatever the number of users.
+   * Must be consumed inside a transaction and closed afterwards.
+   *
+   * @return A stream of UserResponse objects ordered by id.
+   */
+  @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query("""
+             select new com.example.springproject.dto.response.UserResponse
+             (u.id, u.username,u.password,u.email,u.phone,u.role)
+             from User u
+             order by u.id
+         """)
+  Stream<UserResponse> streamAllUser();
+
   /**
    * Searches for users based on a keyword, providing paginated results.
    *
    * @param pageable Pagination information.
-   * @param keyword  The keyword to search for in user attributes.
+   * @param keyword  The keyword to search for in user attributes, its LIKE wildcards escaped with '!'.
    * @return A paginated list of UserResponse objects matching the search criteria.
    */
 //  @Query("""
@@ -66,15 +192,62 @@ public interface UserRepository extends BaseRepository<User> {
         (u.id, u.username, u.password, u.email, u.phone, u.role)
         from User u
         where (:keyword is null or
-        lower(u.username) LIKE lower(concat(:prefix, :keyword, :suffix)) or
-        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) or
-        lower(u.email) LIKE lower(concat(:prefix, :keyword, :suffix)) or
-        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) or
-        lower(u.role) LIKE lower(concat(:prefix, :keyword, :suffix)))
+        lower(u.username) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.email) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.role) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!')
     """)
   Page<UserResponse> searchUser(Pageable pageable, @Param("keyword") String keyword,
                                 @Param("prefix") String prefix, @Param("suffix") String suffix);
 
+  /**
+   * Searches for users based on a keyword without counting the total number of matches,
+   * so the keyword scan runs only once per page.
+   *
+   * @param pageable Pagination information.
+   * @param keyword  The keyword to search for in user attributes, its LIKE wildcards escaped with '!'.
+   * @return A slice of UserResponse objects matching the search criteria.
+   */
+  @Query("""
+        select new com.example.springproject.dto.response.UserResponse
+        (u.id, u.username, u.password, u.email, u.phone, u.role)
+        from User u
+        where (:keyword is null or
+        lower(u.username) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.email) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.role) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!')
+    """)
+  Slice<UserResponse> searchUserSlice(Pageable pageable, @Param("keyword") String keyword,
+                                      @Param("prefix") String prefix, @Param("suffix") String suffix);
+
+  /**
+   * Searches for users based on a keyword, seeking past the given id (keyset pagination).
+   *
+   * @param pageable Pagination information, only the page size is used.
+   * @param keyword  The keyword to search for in user attributes, its LIKE wildcards escaped with '!'.
+   * @param after    The id of the last user of the previous page, or null for the first page.
+   * @return A list of UserResponse objects matching the search criteria, ordered by id.
+   */
+  @Query("""
+        select new com.example.springproject.dto.response.UserResponse
+        (u.id, u.username, u.password, u.email, u.phone, u.role)
+        from User u
+        where (:keyword is null or
+        lower(u.username) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.email) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.phone) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!' or
+        lower(u.role) LIKE lower(concat(:prefix, :keyword, :suffix)) escape '!')
+        and (:after is null or u.id > :after)
+        order by u.id
+    """)
+  List<UserResponse> searchUserAfter(Pageable pageable, @Param("keyword") String keyword,
+                                     @Param("prefix") String prefix, @Param("suffix") String suffix,
+                                     @Param("after") String after);
+
 
 
 }
@@ -0,0 +1,71 @@
+package com.example.springproject.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+
+/**
+ * Resolves the key a client is rate limited by.
+ *
+ * With "api-key" or "header" the key is the value of the configured header when it is one of the known keys. The
+ * header is not authenticated, so any other value is ignored and the client is limited by its IP address, as are
+ * clients sending none; otherwise a client could get a fresh bucket per request by sending a new value each time.
+ * With "ip" the key is the remote address of the request, which is the one of the client behind a proxy only when
+ * server.forward-headers-strategy is set.
+ */
+public class ClientKeyResolver {
+  public static final String API_KEY_HEADER = "X-Api-Key";
+  private static final String IP_PREFIX = "ip:";
+  private static final String KEY_PREFIX = "key:";
+
+  private final String header;
+  private final Set<String> knownKeys;
+
+  private ClientKeyResolver(String header, Set<String> knownKeys) {
+    this.header = header;
+    this.knownKeys = knownKeys;
+  }
+
+  /**
+   * Creates a resolver.
+   *
+   * @param strategy  The key of the clients: "api-key", "ip" or "header".
+   * @param header    The header holding the key with the "header" strategy.
+   * @param knownKeys The header values clients are limited by; clients sending any other are limited by IP.
+   * @return A new ClientKeyResolver.
+   * @throws IllegalArgumentException if the strategy is unknown or the header is missing.
+   */
+  public static ClientKeyResolver of(String strategy, String header, Set<String> knownKeys) {
+    Set<String> keys = knownKeys == null ? Set.of() : Set.copyOf(knownKeys);
+    switch (strategy) {
+      case "api-key":
+        return new ClientKeyResolver(API_KEY_HEADER, keys);
+      case "ip":
+        return new ClientKeyResolver(null, keys);
+      case "header":
+        if (header == null || header.isBlank()) {
+          throw new IllegalArgumentException("A header is required to rate limit clients by header");
+        }
+        return new ClientKeyResolver(header, keys);
+      default:
+        throw new IllegalArgumentException("Unknown client key strategy: " + strategy);
+    }
+  }
+
+  /**
+   * Returns the key of the client of a request. Header values and addresses are prefixed differently, so a client
+   * cannot send a header equal to the address of another one to use its bucket.
+   *
+   * @param request The HTTP request.
+   * @return The key of the client.
+   */
+  public String resolve(HttpServletRequest request) {
+    if (header != null) {
+      String value = request.getHeader(header);
+      if (value != null && knownKeys.contains(value)) {
+        return KEY_PREFIX + value;
+      }
+    }
+    return IP_PREFIX + request.getRemoteAddr();
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.springproject.security;
+
+import com.example.springproject.exception.base.TooManyRequestsException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refuses the requests of a client that ran out of tokens for the endpoint it calls.
+ *
+ * The filter runs in the security filter chain, so throttled requests stop before any controller, bulkhead or
+ * concurrency limit. A refused request is answered with the 429 of {@link TooManyRequestsException} through the
+ * exception handlers of the application, with a Retry-After header telling when the next token is available.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+  private final UserRateLimits limits;
+  private final ClientKeyResolver keyResolver;
+  private final HandlerExceptionResolver exceptionResolver;
+
+  public RateLimitFilter(UserRateLimits limits, ClientKeyResolver keyResolver,
+                         HandlerExceptionResolver exceptionResolver) {
+    this.limits = limits;
+    this.keyResolver = keyResolver;
+    this.exceptionResolver = exceptionResolver;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !limits.isLimited(request.getMethod(), request.getServletPath());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+    long wait = limits.tryConsume(request.getMethod(), request.getServletPath(), keyResolver.resolve(request));
+    if (wait > 0) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait
+            + TimeUnit.SECONDS.toNanos(1) - 1))));
+      exceptionResolver.resolveException(request, response, null, new TooManyRequestsException());
+      return;
+    }
+    chain.doFilter(request, response);
+  }
+}
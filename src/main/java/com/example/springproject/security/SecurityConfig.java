@@ -1,30 +1,43 @@
 package com.example.springproject.security;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 /**
- * This configuration config security for whole application
+ * This configuration config security for whole application.
+ * Requests to the user endpoints are rate limited per client once the client is known, after authentication.
+ * The filter chain only exists in a servlet application, and its RateLimitFilter is always part of it.
  */
 @EnableWebSecurity
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        return http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, UserRateLimits rateLimits,
+                                                   ClientKeyResolver clientKeyResolver,
+                                                   @Qualifier("handlerExceptionResolver")
+                                                   HandlerExceptionResolver exceptionResolver)
+          throws Exception {
+        http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
               .csrf(AbstractHttpConfigurer::disable)
               .authorizeHttpRequests(
                     authorize -> authorize.anyRequest().permitAll()
               )
-              .build();
+              .addFilterAfter(new RateLimitFilter(rateLimits, clientKeyResolver, exceptionResolver),
+                    AnonymousAuthenticationFilter.class);
+        return http.build();
     }
 
     CorsConfigurationSource corsConfigurationSource() {
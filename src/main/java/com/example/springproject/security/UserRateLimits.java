@@ -0,0 +1,122 @@
+package com.example.springproject.security;
+
+import com.example.springproject.concurrency.ClientBuckets;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The per-client rate limits of the user endpoints: reads by id, searches, listings and exports, and writes each
+ * have their own rate and burst, so a client hammering the search does not use up the reads by id of the same client.
+ * A group without buckets is not limited.
+ */
+public class UserRateLimits implements MeterBinder {
+  private static final String USER_API_PREFIX = "/api/v1/users";
+  private static final String SEARCH_SUFFIX = "/search";
+  private static final String LIST_SUFFIX = "/all";
+  private static final String EXPORT_SUFFIX = "/export";
+
+  private final Group pointRead;
+  private final Group search;
+  private final Group list;
+  private final Group write;
+
+  /**
+   * Creates the rate limits.
+   *
+   * @param pointRead The buckets of the reads by id, or null.
+   * @param search    The buckets of the searches, or null.
+   * @param list      The buckets of the listings and exports, or null.
+   * @param write     The buckets of the creations, imports and deletions, or null.
+   */
+  public UserRateLimits(ClientBuckets pointRead, ClientBuckets search, ClientBuckets list, ClientBuckets write) {
+    this.pointRead = new Group("point-read", pointRead);
+    this.search = new Group("search", search);
+    this.list = new Group("list", list);
+    this.write = new Group("write", write);
+  }
+
+  /**
+   * Takes a token of a client for a request.
+   *
+   * @param method The HTTP method of the request.
+   * @param path   The path of the request, without the context path.
+   * @param client The key of the client.
+   * @return 0 if the request may go on, otherwise the time to wait in nanoseconds before the client may retry.
+   */
+  public long tryConsume(String method, String path, String client) {
+    Group group = groupFor(method, path);
+    if (group == null || group.buckets == null) {
+      return 0;
+    }
+    long wait = group.buckets.tryConsume(client);
+    if (wait > 0) {
+      group.rejected.increment();
+    }
+    return wait;
+  }
+
+  /**
+   * Tells whether a request is to a rate limited endpoint, before its client is resolved.
+   *
+   * @param method The HTTP method of the request.
+   * @param path   The path of the request, without the context path.
+   * @return true if the request takes a token.
+   */
+  public boolean isLimited(String method, String path) {
+    Group group = groupFor(method, path);
+    return group != null && group.buckets != null;
+  }
+
+  private Group groupFor(String method, String path) {
+    if (!path.startsWith(USER_API_PREFIX)) {
+      return null;
+    }
+    if (!"GET".equals(method) && !"HEAD".equals(method)) {
+      return write;
+    }
+    if (path.endsWith(SEARCH_SUFFIX)) {
+      return search;
+    }
+    if (path.endsWith(LIST_SUFFIX) || path.endsWith(EXPORT_SUFFIX)) {
+      return list;
+    }
+    return pointRead;
+  }
+
+  /**
+   * Registers the number of tracked clients and of rejected requests of every limited group.
+   *
+   * @param registry The registry of the application.
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (Group group : new Group[]{pointRead, search, list, write}) {
+      if (group.buckets == null) {
+        continue;
+      }
+      Gauge.builder("rate.limit.clients", group.buckets, ClientBuckets::size)
+            .tag("group", group.name)
+            .description("Clients whose token bucket is tracked")
+            .register(registry);
+      FunctionCounter.builder("rate.limit.rejected", group.rejected, LongAdder::sum)
+            .tag("group", group.name)
+            .description("Requests refused because the client ran out of tokens")
+            .register(registry);
+    }
+  }
+
+  private static final class Group {
+    private final String name;
+    private final ClientBuckets buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    private Group(String name, ClientBuckets buckets) {
+      this.name = name;
+      this.buckets = buckets;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.response.ImportJobResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for importing users in bulk from uploaded files.
+ */
+public interface UserImportService {
+
+  /**
+   * Start importing the users of an uploaded file. The upload is stored first, then imported in the background.
+   *
+   * @param format The format of the file, "ndjson" or "csv".
+   * @param body   The content of the file.
+   * @return The ImportJobResponse of the new job, to be polled with its id.
+   * @throws IOException if the upload cannot be stored.
+   */
+  ImportJobResponse start(String format, InputStream body) throws IOException;
+
+  /**
+   * Retrieve the progress of an import job.
+   *
+   * @param id The id of the job.
+   * @return The ImportJobResponse containing the progress of the job and the rows rejected so far.
+   */
+  ImportJobResponse getJob(String id);
+}
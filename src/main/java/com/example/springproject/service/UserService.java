@@ -3,7 +3,15 @@ package com.example.springproject.service;
 
 import com.example.springproject.dto.base.PageResponse;
 import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchResponse;
+import com.example.springproject.dto.response.BulkDeleteResponse;
+import com.example.springproject.dto.response.UserField;
 import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.dto.response.UserVersion;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing user-related operations.
@@ -13,10 +21,19 @@ public interface UserService {
   /**
    * Retrieve a user by their unique identifier.
    *
-   * @param id The unique identifier of the user.
+   * @param id     The unique identifier of the user.
+   * @param fields The fields of the user to retrieve, {@link UserField#ALL} for every field.
    * @return The UserResponseDTO containing user details.
    */
-  UserResponse getById(String id);
+  UserResponse getById(String id, Set<UserField> fields);
+
+  /**
+   * Retrieve the version of a user, to answer conditional requests without loading the whole user.
+   *
+   * @param id The unique identifier of the user.
+   * @return The UserVersion of the user.
+   */
+  UserVersion getVersion(String id);
 
   /**
    * Create a new user based on the provided UserRequestDTO.
@@ -26,6 +43,14 @@ public interface UserService {
    */
   UserResponse create(UserRequest request);
 
+  /**
+   * Create many users at once, reporting the outcome of each one.
+   *
+   * @param requests The UserRequestDTOs containing user information for creation.
+   * @return The BatchResponse containing the outcome of every request, in request order.
+   */
+  BatchResponse createBatch(List<UserRequest> requests);
+
   /**
    * Delete a user by their unique identifier.
    *
@@ -33,14 +58,23 @@ public interface UserService {
    */
   void delete(String id);
 
+  /**
+   * Delete many users by their unique identifiers.
+   *
+   * @param ids The unique identifiers of the users to be deleted.
+   * @return The BulkDeleteResponse containing the number of deleted users and the ids that did not exist.
+   */
+  BulkDeleteResponse deleteBatch(Set<String> ids);
+
   /**
    * Retrieve a paginated list of all users.
    *
-   * @param size The number of users to be retrieved in each page.
-   * @param page The page number.
+   * @param size   The number of users to be retrieved in each page.
+   * @param page   The page number.
+   * @param fields The fields of the users to retrieve.
    * @return The PageResponse containing a list of UserResponse objects.
    */
-  PageResponse<UserResponse> getAllUser(int size, int page);
+  PageResponse<UserResponse> getAllUser(int size, int page, Set<UserField> fields);
 
   /**
    * Retrieve a paginated list of users based on a keyword search.
@@ -48,8 +82,48 @@ public interface UserService {
    * @param keyword The keyword to search for in user details.
    * @param size    The number of users to be retrieved in each page.
    * @param page    The page number.
+   * @param fields  The fields of the users to retrieve.
    * @return The PageResponse containing a list of UserResponse objects matching the search criteria.
    */
-  PageResponse<UserResponse> getUserBySearch(String keyword, int size, int page);
+  PageResponse<UserResponse> getUserBySearch(String keyword, int size, int page, Set<UserField> fields);
+
+  /**
+   * Retrieve a paginated list of users based on a keyword search, without counting the total number of matches.
+   *
+   * @param keyword The keyword to search for in user details.
+   * @param size    The number of users to be retrieved in each page.
+   * @param page    The page number.
+   * @param fields  The fields of the users to retrieve.
+   * @return The PageResponse containing a list of UserResponse objects and whether there is a next page.
+   */
+  PageResponse<UserResponse> getUserBySearchSlice(String keyword, int size, int page, Set<UserField> fields);
+
+  /**
+   * Retrieve a page of all users by cursor (keyset pagination).
+   *
+   * @param after  The cursor returned with the previous page, blank for the first page.
+   * @param size   The number of users to be retrieved in the page.
+   * @param fields The fields of the users to retrieve.
+   * @return The PageResponse containing a list of UserResponse objects and the cursor of the next page.
+   */
+  PageResponse<UserResponse> getAllUserAfter(String after, int size, Set<UserField> fields);
+
+  /**
+   * Retrieve a page of users matching a keyword by cursor (keyset pagination).
+   *
+   * @param keyword The keyword to search for in user details.
+   * @param after   The cursor returned with the previous page, blank for the first page.
+   * @param size    The number of users to be retrieved in the page.
+   * @param fields  The fields of the users to retrieve.
+   * @return The PageResponse containing a list of UserResponse objects and the cursor of the next page.
+   */
+  PageResponse<UserResponse> getUserBySearchAfter(String keyword, String after, int size, Set<UserField> fields);
+
+  /**
+   * Stream every user, ordered by id, to the given consumer without holding them in memory.
+   *
+   * @param consumer The consumer receiving the users one at a time.
+   */
+  void exportAll(Consumer<UserResponse> consumer);
 
-}
\ No newline at end of file
+}
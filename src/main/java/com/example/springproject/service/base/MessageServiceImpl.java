@@ -1,22 +1,78 @@
 package com.example.springproject.service.base;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.context.MessageSource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 
-import java.util.Locale;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Implementation of the MessageService interface that retrieves messages from a MessageSource.
+ * Implementation of the MessageService interface that retrieves messages from a pre-resolved {@link MessageTable}.
+ *
+ * The table is built from the bundle files when the service is created, so a lookup is a hash probe that neither
+ * allocates nor throws; an unknown code resolves to the code itself. After the configured interval the next lookup
+ * checks whether the files changed and, if so, builds a new table and swaps it in atomically, while concurrent
+ * lookups keep reading the previous one. A non positive interval disables the check.
  */
-@RequiredArgsConstructor
 public class MessageServiceImpl implements MessageService {
-  private final MessageSource messageSource;
+  private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+  private final String basename;
+  private final Charset encoding;
+  private final long refreshMillis;
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private volatile MessageTable table;
+  private volatile long checkedAt;
+
+  /**
+   * Constructor for MessageServiceImpl.
+   *
+   * @param basename        The basename of the bundle, e.g. classpath:i18n/messages.
+   * @param encoding        The encoding of the bundle files.
+   * @param refreshInterval The interval after which the files are checked for changes.
+   */
+  public MessageServiceImpl(String basename, Charset encoding, Duration refreshInterval) {
+    this.basename = basename;
+    this.encoding = encoding;
+    this.refreshMillis = refreshInterval.toMillis();
+    this.table = MessageTable.load(resolver, basename, encoding);
+    this.checkedAt = System.currentTimeMillis();
+  }
 
   public String getMessage(String code, String language) {
+    if (refreshMillis > 0 && System.currentTimeMillis() - checkedAt >= refreshMillis) {
+      refresh();
+    }
+    String message = table.get(code, language);
+    return message != null ? message : code;
+  }
+
+  /**
+   * Rebuilds the table from the bundle files and swaps it in.
+   */
+  public void reload() {
+    refreshLock.lock();
+    try {
+      table = MessageTable.load(resolver, basename, encoding);
+      checkedAt = System.currentTimeMillis();
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  private void refresh() {
+    if (!refreshLock.tryLock()) {
+      return;
+    }
     try {
-      return messageSource.getMessage(code, null, new Locale(language));
-    } catch (Exception ex) {
-      return code;
+      if (System.currentTimeMillis() - checkedAt >= refreshMillis) {
+        if (table.isStale(resolver, basename)) {
+          table = MessageTable.load(resolver, basename, encoding);
+        }
+        checkedAt = System.currentTimeMillis();
+      }
+    } finally {
+      refreshLock.unlock();
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package com.example.springproject.service.base;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable table of the messages of a properties bundle, pre-resolved for every locale of the bundle.
+ *
+ * Each locale maps every code to its final message, the base file and the less specific locales already
+ * merged in, the way resource bundles fall back. The language of a request, as sent in the header, is
+ * normalized once and the resulting messages are remembered for that exact header value, so a lookup is two
+ * hash probes and allocates nothing. Unknown languages resolve to the messages of the base file.
+ */
+final class MessageTable {
+
+  /**
+   * Upper bound on the distinct raw language values remembered, so arbitrary headers cannot grow the table.
+   * Values past the bound are still resolved, just not remembered.
+   */
+  static final int MAX_CACHED_LANGUAGES = 256;
+
+  private static final String PROPERTIES_SUFFIX = ".properties";
+
+  private final Map<String, Map<String, String>> messagesByLocale;
+  private final Map<String, String> defaultMessages;
+  private final ConcurrentMap<String, Map<String, String>> messagesByLanguage = new ConcurrentHashMap<>();
+  private final long signature;
+
+  private MessageTable(Map<String, Map<String, String>> messagesByLocale, long signature) {
+    this.messagesByLocale = messagesByLocale;
+    this.defaultMessages = messagesByLocale.getOrDefault("", Map.of());
+    this.signature = signature;
+  }
+
+  /**
+   * Loads the files of a bundle, e.g. {@code classpath:i18n/messages} for {@code i18n/messages.properties}
+   * and {@code i18n/messages_vi.properties}.
+   *
+   * @param resolver The resolver of the bundle files.
+   * @param basename The basename of the bundle.
+   * @param encoding The encoding of the files.
+   * @return The table of the bundle.
+   */
+  static MessageTable load(ResourcePatternResolver resolver, String basename, Charset encoding) {
+    Map<String, Properties> files = new HashMap<>();
+    String filePrefix = basename.substring(basename.lastIndexOf('/') + 1);
+    for (Resource resource : resources(resolver, basename)) {
+      String filename = resource.getFilename();
+      if (filename == null || !filename.startsWith(filePrefix) || !filename.endsWith(PROPERTIES_SUFFIX)) {
+        continue;
+      }
+      String suffix = filename.substring(filePrefix.length(), filename.length() - PROPERTIES_SUFFIX.length());
+      if (!suffix.isEmpty() && suffix.charAt(0) != '_') {
+        continue;
+      }
+      String locale = suffix.isEmpty() ? "" : normalize(suffix.substring(1));
+      Properties properties = files.computeIfAbsent(locale, key -> new Properties());
+      try (Reader reader = new InputStreamReader(resource.getInputStream(), encoding)) {
+        properties.load(reader);
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Cannot read " + resource.getDescription(), ex);
+      }
+    }
+
+    Map<String, Map<String, String>> messagesByLocale = new HashMap<>();
+    for (String locale : files.keySet()) {
+      Map<String, String> messages = new HashMap<>();
+      putAll(messages, files.get(""));
+      int separator = locale.indexOf('_');
+      if (separator > 0) {
+        putAll(messages, files.get(locale.substring(0, separator)));
+      }
+      putAll(messages, files.get(locale));
+      messagesByLocale.put(locale, Map.copyOf(messages));
+    }
+    return new MessageTable(Map.copyOf(messagesByLocale), signature(resolver, basename));
+  }
+
+  /**
+   * Tells whether the files of the bundle changed since the table was loaded.
+   *
+   * @param resolver The resolver of the bundle files.
+   * @param basename The basename of the bundle.
+   * @return true if a file was added, removed or modified.
+   */
+  boolean isStale(ResourcePatternResolver resolver, String basename) {
+    return signature(resolver, basename) != signature;
+  }
+
+  /**
+   * Returns the message of a code in a language.
+   *
+   * @param code     The code of the message.
+   * @param language The language, as sent by the client, e.g. {@code vi} or {@code en-US}.
+   * @return The message, or null if the code is unknown.
+   */
+  String get(String code, String language) {
+    return code == null ? null : messages(language).get(code);
+  }
+
+  private Map<String, String> messages(String language) {
+    if (language == null) {
+      return defaultMessages;
+    }
+    Map<String, String> messages = messagesByLanguage.get(language);
+    if (messages == null) {
+      messages = resolve(language);
+      if (messagesByLanguage.size() < MAX_CACHED_LANGUAGES) {
+        messagesByLanguage.putIfAbsent(language, messages);
+      }
+    }
+    return messages;
+  }
+
+  private Map<String, String> resolve(String language) {
+    int end = language.length();
+    for (int i = 0; i < language.length(); i++) {
+      char c = language.charAt(i);
+      if (c == ',' || c == ';') {
+        end = i;
+        break;
+      }
+    }
+    String locale = normalize(language.substring(0, end));
+    while (!locale.isEmpty()) {
+      Map<String, String> messages = messagesByLocale.get(locale);
+      if (messages != null) {
+        return messages;
+      }
+      int separator = locale.lastIndexOf('_');
+      locale = separator > 0 ? locale.substring(0, separator) : "";
+    }
+    return defaultMessages;
+  }
+
+  private static String normalize(String locale) {
+    return locale.trim().replace('-', '_').toLowerCase(Locale.ROOT);
+  }
+
+  private static void putAll(Map<String, String> messages, Properties properties) {
+    if (properties != null) {
+      properties.forEach((key, value) -> messages.put((String) key, (String) value));
+    }
+  }
+
+  private static Resource[] resources(ResourcePatternResolver resolver, String basename) {
+    try {
+      return resolver.getResources(basename + "*" + PROPERTIES_SUFFIX);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Cannot list the files of " + basename, ex);
+    }
+  }
+
+  private static long signature(ResourcePatternResolver resolver, String basename) {
+    long signature = 17;
+    for (Resource resource : resources(resolver, basename)) {
+      long lastModified;
+      try {
+        lastModified = resource.lastModified();
+      } catch (IOException ex) {
+        lastModified = -1;
+      }
+      signature += 31 * resource.getDescription().hashCode() + lastModified;
+    }
+    return signature;
+  }
+}
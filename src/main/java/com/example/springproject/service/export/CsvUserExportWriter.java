@@ -0,0 +1,80 @@
+package com.example.springproject.service.export;
+
+import com.example.springproject.dto.response.UserResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes users as RFC 4180 CSV with a header line, quoting only the values that need it.
+ */
+class CsvUserExportWriter implements UserExportWriter {
+  private static final String HEADER = "id,username,password,email,phone,role\r\n";
+
+  private final Writer writer;
+
+  CsvUserExportWriter(OutputStream out) throws IOException {
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+    this.writer.write(HEADER);
+  }
+
+  @Override
+  public void write(UserResponse user) {
+    try {
+      writeValue(user.getId());
+      writer.write(',');
+      writeValue(user.getUsername());
+      writer.write(',');
+      writeValue(user.getPassword());
+      writer.write(',');
+      writeValue(user.getEmail());
+      writer.write(',');
+      writeValue(user.getPhone());
+      writer.write(',');
+      writeValue(user.getRole());
+      writer.write("\r\n");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.flush();
+  }
+
+  private void writeValue(String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (!needsQuotes(value)) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        writer.write('"');
+      }
+      writer.write(c);
+    }
+    writer.write('"');
+  }
+
+  private static boolean needsQuotes(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.springproject.service.export;
+
+import com.example.springproject.dto.response.UserResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes users as newline-delimited JSON, one object per line.
+ */
+class NdjsonUserExportWriter implements UserExportWriter {
+  private static final JsonMapper MAPPER = JsonMapper.builder()
+        .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .build();
+  private static final ObjectWriter WRITER = MAPPER.writerFor(UserResponse.class);
+
+  private final JsonGenerator generator;
+
+  NdjsonUserExportWriter(OutputStream out) throws IOException {
+    this.generator = MAPPER.createGenerator(out);
+    this.generator.setRootValueSeparator(null);
+  }
+
+  @Override
+  public void write(UserResponse user) {
+    try {
+      WRITER.writeValue(generator, user);
+      generator.writeRaw('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    generator.close();
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.springproject.service.export;
+
+import com.example.springproject.exception.UnsupportedFormatException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Formats in which users can be exported.
+ */
+@Getter
+public enum UserExportFormat {
+  NDJSON("application/x-ndjson", "ndjson") {
+    @Override
+    public UserExportWriter open(OutputStream out) throws IOException {
+      return new NdjsonUserExportWriter(out);
+    }
+  },
+  CSV("text/csv", "csv") {
+    @Override
+    public UserExportWriter open(OutputStream out) throws IOException {
+      return new CsvUserExportWriter(out);
+    }
+  };
+
+  private static final String SUPPORTED_FORMATS = Arrays.stream(values())
+        .map(UserExportFormat::getExtension)
+        .collect(Collectors.joining(", "));
+
+  private final String contentType;
+  private final String extension;
+
+  UserExportFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  /**
+   * Opens a writer of this format on top of the given stream.
+   *
+   * @param out The stream receiving the export.
+   * @return The writer, to be closed once every user has been written.
+   * @throws IOException if the stream fails.
+   */
+  public abstract UserExportWriter open(OutputStream out) throws IOException;
+
+  /**
+   * Resolves a format from its name, case-insensitively.
+   *
+   * @param name The name of the format, e.g. "ndjson" or "csv".
+   * @return The format.
+   * @throws UnsupportedFormatException if there is no such format.
+   */
+  public static UserExportFormat of(String name) {
+    for (UserExportFormat format : values()) {
+      if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+        return format;
+      }
+    }
+    throw new UnsupportedFormatException(SUPPORTED_FORMATS);
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.springproject.service.export;
+
+import com.example.springproject.dto.response.UserResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes users one at a time to an output stream, buffering no more than a few kilobytes.
+ * Closing the writer flushes it but leaves the underlying stream open.
+ */
+public interface UserExportWriter extends Closeable {
+
+  /**
+   * Writes one user.
+   *
+   * @param user The user to write.
+   * @throws UncheckedIOException if the output stream fails, typically because the client went away.
+   */
+  void write(UserResponse user);
+
+  /**
+   * Flushes what is still buffered.
+   *
+   * @throws IOException if the output stream fails.
+   */
+  @Override
+  void close() throws IOException;
+}
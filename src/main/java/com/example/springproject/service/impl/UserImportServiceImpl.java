@@ -0,0 +1,330 @@
+package com.example.springproject.service.impl;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchItemResponse;
+import com.example.springproject.dto.response.BatchResponse;
+import com.example.springproject.dto.response.ImportJobResponse;
+import com.example.springproject.exception.ImportFileTooLargeException;
+import com.example.springproject.exception.ImportJobNotFoundException;
+import com.example.springproject.exception.InvalidImportRowException;
+import com.example.springproject.exception.base.BaseException;
+import com.example.springproject.exception.base.ServiceUnavailableException;
+import com.example.springproject.service.UserImportService;
+import com.example.springproject.service.UserService;
+import com.example.springproject.service.importer.UserImportFormat;
+import com.example.springproject.service.importer.UserImportJob;
+import com.example.springproject.service.importer.UserImportReader;
+import com.example.springproject.utils.UuidUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.springproject.constant.ExceptionCode.GENERIC_CODE;
+
+/**
+ * Implementation of the {@link UserImportService} interface.
+ * Every job runs a pipeline of one parser thread and a few writer threads connected by a bounded queue of chunks:
+ * the parser blocks while the writers are behind, so at most (queue capacity + writer threads + 1) chunks of users
+ * are held in memory, whatever the size of the file. Writers persist each chunk through
+ * {@link UserService#createBatch(List)}, in batched transactions that reject failing rows one by one.
+ *
+ * Uploads are spooled to a temporary file of at most the maximum file size. A semaphore admits at most the running
+ * jobs plus the queued jobs, counting the uploads being spooled; further uploads are refused with 503 before any
+ * byte is read, so neither the parser queue nor the temporary files grow without bound.
+ */
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+    private static final String TEMP_FILE_PREFIX = "user-import-";
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final UserService userService;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final int writerThreads;
+    private final int maxReportedRejections;
+    private final Duration retention;
+    private final long maxFileSize;
+    private final Semaphore admissions;
+    private final ExecutorService parserExecutor;
+    private final ExecutorService writerExecutor;
+    private final Map<String, UserImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a UserImportServiceImpl.
+     *
+     * @param userService           The UserService persisting the chunks of users.
+     * @param chunkSize             The number of users handed to one createBatch call, at most the batch max size.
+     * @param queueCapacity         The number of chunks the parser may read ahead of the writers.
+     * @param writerThreads         The number of threads persisting the chunks of one job.
+     * @param maxConcurrentJobs     The number of jobs running at once, further jobs wait for their turn.
+     * @param maxQueuedJobs         The number of jobs waiting for their turn, further uploads are refused.
+     * @param maxReportedRejections The number of rejected rows kept for the report of one job.
+     * @param retention             The time a finished job can still be queried.
+     * @param maxFileSize           The maximum size of an uploaded file in bytes.
+     */
+    public UserImportServiceImpl(UserService userService, int chunkSize, int queueCapacity, int writerThreads,
+                                 int maxConcurrentJobs, int maxQueuedJobs, int maxReportedRejections,
+                                 Duration retention, long maxFileSize) {
+        this.userService = userService;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.writerThreads = writerThreads;
+        this.maxReportedRejections = maxReportedRejections;
+        this.retention = retention;
+        this.maxFileSize = maxFileSize;
+        this.admissions = new Semaphore(maxConcurrentJobs + maxQueuedJobs);
+        this.parserExecutor = Executors.newFixedThreadPool(maxConcurrentJobs,
+                new CustomizableThreadFactory("user-import-parser-"));
+        this.writerExecutor = Executors.newFixedThreadPool(maxConcurrentJobs * writerThreads,
+                new CustomizableThreadFactory("user-import-writer-"));
+    }
+
+    /**
+     * Stores the upload in a temporary file, so the request completes at the speed of the network rather than of
+     * the database, then queues the job.
+     *
+     * @param format The format of the file, "ndjson" or "csv".
+     * @param body   The content of the file.
+     * @return The ImportJobResponse of the new job.
+     * @throws IOException if the upload cannot be stored.
+     * @throws ServiceUnavailableException if as many jobs as allowed are already running or queued.
+     * @throws ImportFileTooLargeException if the upload is larger than the maximum file size.
+     */
+    @Override
+    public ImportJobResponse start(String format, InputStream body) throws IOException {
+        UserImportFormat importFormat = UserImportFormat.of(format);
+        purgeFinishedJobs();
+        if (!admissions.tryAcquire()) {
+            throw new ServiceUnavailableException();
+        }
+
+        Path file;
+        long bytes;
+        try {
+            file = spool(body, importFormat);
+            bytes = Files.size(file);
+        } catch (IOException | RuntimeException ex) {
+            admissions.release();
+            throw ex;
+        }
+        UserImportJob job = new UserImportJob(UuidUtils.timeOrdered().toString(), importFormat, bytes,
+                maxReportedRejections);
+        jobs.put(job.getId(), job);
+        log.info("(request) import job: {}, format: {}, bytes: {}", job.getId(), format, bytes);
+        ImportJobResponse response = job.toResponse();
+        parserExecutor.execute(() -> run(job, file));
+        return response;
+    }
+
+    /**
+     * Retrieves the progress of an import job.
+     *
+     * @param id The id of the job.
+     * @return The ImportJobResponse containing the progress of the job.
+     * @throws ImportJobNotFoundException if there is no such job, or it finished longer than the retention ago.
+     */
+    @Override
+    public ImportJobResponse getJob(String id) {
+        UserImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ImportJobNotFoundException();
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * Stops the running jobs when the application shuts down.
+     */
+    public void shutdown() {
+        parserExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+    }
+
+    /**
+     * Copies the upload into a new temporary file, giving up as soon as it exceeds the maximum file size.
+     *
+     * @param body   The content of the file.
+     * @param format The format of the file.
+     * @return The temporary file.
+     */
+    private Path spool(InputStream body, UserImportFormat format) throws IOException {
+        Path file = Files.createTempFile(TEMP_FILE_PREFIX, "." + format.getExtension());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long copied = 0;
+            for (int read = body.read(buffer); read >= 0; read = body.read(buffer)) {
+                copied += read;
+                if (copied > maxFileSize) {
+                    throw new ImportFileTooLargeException(maxFileSize);
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return file;
+    }
+
+    /**
+     * Runs the pipeline of a job on the parser thread: starts the writers, parses the file into the queue,
+     * then sends every writer an end marker and waits for them. The job then frees its admission.
+     *
+     * @param job  The job.
+     * @param file The uploaded file, deleted at the end.
+     */
+    private void run(UserImportJob job, Path file) {
+        job.start();
+        BlockingQueue<ImportChunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        List<Future<Void>> writers = new ArrayList<>(writerThreads);
+        try {
+            for (int i = 0; i < writerThreads; i++) {
+                writers.add(writerExecutor.submit(() -> write(job, queue)));
+            }
+            parse(job, file, queue, writers);
+            for (int i = 0; i < writerThreads; i++) {
+                put(queue, ImportChunk.END, writers);
+            }
+            for (Future<Void> writer : writers) {
+                writer.get();
+            }
+            job.complete();
+            log.info("(import) job: {} completed: {}", job.getId(), job.toResponse());
+        } catch (ExecutionException ex) {
+            fail(job, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(job, ex);
+        } catch (IOException | RuntimeException ex) {
+            fail(job, ex);
+        } finally {
+            writers.forEach(writer -> writer.cancel(true));
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("(import) job: {} could not delete {}", job.getId(), file, ex);
+            }
+            admissions.release();
+        }
+    }
+
+    /**
+     * Parses the file row by row, rejecting malformed rows and queueing the others by chunk.
+     */
+    private void parse(UserImportJob job, Path file, BlockingQueue<ImportChunk> queue, List<Future<Void>> writers)
+            throws IOException, InterruptedException, ExecutionException {
+        try (InputStream in = Files.newInputStream(file);
+             UserImportReader reader = job.open(in)) {
+            ImportChunk chunk = new ImportChunk(chunkSize);
+            while (true) {
+                UserRequest request;
+                try {
+                    request = reader.next();
+                } catch (InvalidImportRowException ex) {
+                    job.addParsed();
+                    job.reject(reader.line(), ex.getCode());
+                    continue;
+                }
+                if (request == null) {
+                    break;
+                }
+                job.addParsed();
+                chunk.add(reader.line(), request);
+                if (chunk.size() == chunkSize) {
+                    put(queue, chunk, writers);
+                    chunk = new ImportChunk(chunkSize);
+                }
+            }
+            if (chunk.size() > 0) {
+                put(queue, chunk, writers);
+            }
+        }
+    }
+
+    /**
+     * Persists the chunks of the queue until the end marker, recording the rows rejected by the batch.
+     */
+    private Void write(UserImportJob job, BlockingQueue<ImportChunk> queue) throws InterruptedException {
+        while (true) {
+            ImportChunk chunk = queue.take();
+            if (chunk == ImportChunk.END) {
+                return null;
+            }
+            BatchResponse response = userService.createBatch(chunk.requests);
+            job.addImported(response.getSucceeded());
+            for (BatchItemResponse item : response.getItems()) {
+                if (item.getCode() != null) {
+                    job.reject(chunk.lines[item.getIndex()], item.getCode());
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues a chunk, waiting while the queue is full. A writer that is done before the end marker has failed,
+     * its failure is rethrown instead of waiting forever.
+     */
+    private void put(BlockingQueue<ImportChunk> queue, ImportChunk chunk, List<Future<Void>> writers)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(chunk, 1, TimeUnit.SECONDS)) {
+            for (Future<Void> writer : writers) {
+                if (writer.isDone()) {
+                    writer.get();
+                }
+            }
+        }
+    }
+
+    private void fail(UserImportJob job, Throwable ex) {
+        log.error("(import) job: {} failed", job.getId(), ex);
+        job.fail(ex instanceof BaseException baseException ? baseException.getCode() : GENERIC_CODE);
+    }
+
+    private void purgeFinishedJobs() {
+        Instant expiry = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(expiry));
+    }
+
+    /**
+     * Users parsed together and persisted together, with the line each of them starts on.
+     */
+    private static final class ImportChunk {
+        private static final ImportChunk END = new ImportChunk(0);
+
+        private final List<UserRequest> requests;
+        private final long[] lines;
+
+        private ImportChunk(int capacity) {
+            this.requests = new ArrayList<>(capacity);
+            this.lines = new long[capacity];
+        }
+
+        private void add(long line, UserRequest request) {
+            lines[requests.size()] = line;
+            requests.add(request);
+        }
+
+        private int size() {
+            return requests.size();
+        }
+    }
+}
@@ -2,55 +2,153 @@ package com.example.springproject.service.impl;
 
 import com.example.springproject.dto.base.PageResponse;
 import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchItemResponse;
+import com.example.springproject.dto.response.BatchResponse;
+import com.example.springproject.dto.response.BulkDeleteResponse;
+import com.example.springproject.dto.response.UserField;
 import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.dto.response.UserVersion;
 import com.example.springproject.entity.User;
+import com.example.springproject.exception.BatchTooLargeException;
+import com.example.springproject.exception.InvalidUserException;
 import com.example.springproject.exception.UserNotFoundException;
 import com.example.springproject.repository.UserRepository;
 import com.example.springproject.service.UserService;
 import com.example.springproject.service.base.BaseServiceImpl;
+import com.example.springproject.service.search.SearchHits;
+import com.example.springproject.service.search.UserSearchEngine;
+import com.example.springproject.service.support.ReadThroughCache;
+import com.example.springproject.service.support.RowCounter;
+import com.example.springproject.service.support.UserCacheFills;
+import com.example.springproject.service.support.UserReadFlights;
+import com.example.springproject.utils.CursorUtils;
+import com.example.springproject.utils.TransactionUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.springproject.constant.CommonConstants.LIKE_ESCAPE;
 import static com.example.springproject.constant.CommonConstants.PERCENT;
+import static com.example.springproject.constant.CommonConstants.USER_SERVICE_TIMER;
+import static com.example.springproject.constant.ExceptionCode.CONFLICT_CODE;
+import static com.example.springproject.constant.ExceptionCode.GENERIC_CODE;
+import static com.example.springproject.constant.ExceptionCode.INVALID_USER_CODE;
 
 /**
  * Implementation of the {@link UserService} interface.
  * Extends {@link BaseServiceImpl} for common CRUD operations.
+ * Reads run in read-only transactions, which are served by the read replicas when there are any. Reads filling a
+ * cache are run by {@link UserCacheFills} on the primary instead, so a lagging replica cannot cache a deleted user back.
+ * Identical concurrent reads by id and searches share a single database call; the transactions of the callers
+ * waiting for it borrow no connection.
  */
 @Slf4j
+@Timed(value = USER_SERVICE_TIMER, description = "Time spent in the methods of the user service", histogram = true)
 public class UserServiceImpl extends BaseServiceImpl<User> implements UserService {
     private final UserRepository repository;
+    private final RowCounter userCounter;
+    private final UserSearchEngine searchEngine;
+    private final ReadThroughCache<String, UserResponse> userCache;
+    private final UserReadFlights readFlights;
+    private final UserCacheFills cacheFills;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchChunkSize;
+    private final int batchMaxSize;
+    private final int deleteChunkSize;
+    private final int deleteMaxSize;
 
     /**
      * Constructor for UserServiceImpl.
      *
-     * @param repository The UserRepository used for database operations.
+     * @param repository          The UserRepository used for database operations.
+     * @param userCounter         The maintained number of users, reported as the total of unfiltered listings.
+     * @param searchEngine        The engine answering keyword searches with user ids, the database is used while it is not ready.
+     * @param userCache           The read-through cache in front of getById.
+     * @param readFlights         The single flights coalescing identical concurrent reads.
+     * @param cacheFills          The runner of the reads filling the user cache and the query region.
+     * @param transactionTemplate The template running each chunk of a batch in its own transaction.
+     * @param batchChunkSize      The number of users persisted per transaction, in line with the JDBC batch size.
+     * @param batchMaxSize        The maximum number of users accepted by one batch request.
+     * @param deleteChunkSize     The number of ids deleted per statement and transaction of a bulk delete.
+     * @param deleteMaxSize       The maximum number of ids accepted by one bulk delete request.
      */
-    public UserServiceImpl(UserRepository repository) {
+    public UserServiceImpl(UserRepository repository, RowCounter userCounter, UserSearchEngine searchEngine,
+                           ReadThroughCache<String, UserResponse> userCache, UserReadFlights readFlights,
+                           UserCacheFills cacheFills, TransactionTemplate transactionTemplate, int batchChunkSize, int batchMaxSize,
+                           int deleteChunkSize, int deleteMaxSize) {
         super(repository);
         this.repository = repository;
+        this.userCounter = userCounter;
+        this.searchEngine = searchEngine;
+        this.userCache = userCache;
+        this.readFlights = readFlights;
+        this.cacheFills = cacheFills;
+        this.transactionTemplate = transactionTemplate;
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxSize = batchMaxSize;
+        this.deleteChunkSize = deleteChunkSize;
+        this.deleteMaxSize = deleteMaxSize;
     }
 
     /**
-     * Retrieve a user by their unique identifier.
+     * Retrieve a user by their unique identifier, through the user cache, which already loads each user once for
+     * concurrent readers. A selection of fields is read with a narrower query and bypasses the cache, which only
+     * holds whole users, so identical concurrent selections are coalesced instead.
      *
-     * @param id The unique identifier of the user.
+     * @param id     The unique identifier of the user.
+     * @param fields The fields of the user to retrieve.
      * @return The UserResponseDTO containing user details.
      * @throws UserNotFoundException if the user with the given id is not found.
      */
+    @Transactional(readOnly = true)
     @Override
-    public UserResponse getById(String id) {
-        log.info("(request) getById: {}", id);
-        UserResponse user = repository.getByUserId(id);
+    public UserResponse getById(String id, Set<UserField> fields) {
+        log.info("(request) getById: {}, fields: {}", id, fields);
+        UserResponse user = UserField.isAll(fields)
+                ? userCache.get(id, key -> cacheFills.byId(() -> repository.getByUserId(key)))
+                : readFlights.getById().execute(new UserReadFlights.ByIdKey(id, fields),
+                        () -> repository.getProjectedByUserId(id, fields));
         if (user != null)
             return user;
         else
             throw new UserNotFoundException();
     }
 
+    /**
+     * Retrieve the version of a user, to answer conditional requests without loading the whole user.
+     *
+     * @param id The unique identifier of the user.
+     * @return The UserVersion of the user.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public UserVersion getVersion(String id) {
+        UserVersion version = readFlights.getVersion().execute(id, () -> repository.getVersionByUserId(id));
+        if (version != null)
+            return version;
+        else
+            throw new UserNotFoundException();
+    }
+
     /**
      * Create a new user based on the provided UserRequestDTO.
      *
@@ -61,22 +159,50 @@ public class UserServiceImpl extends BaseServiceImpl<User> implements UserServic
     @Override
     public UserResponse create(UserRequest request) {
         log.info("(request) create: {}", request);
-        User user = new User(
-                request.getUsername(),
-                request.getPassword(),
-                request.getEmail(),
-                request.getPhone(),
-                request.getRole()
-        );
+        User user = toUser(request);
         this.create(user);
-        return new UserResponse(
-                user.getId(),
-                user.getUsername(),
-                user.getPassword(),
-                user.getEmail(),
-                user.getPhone(),
-                user.getRole()
-        );
+        UserResponse response = toResponse(user);
+        TransactionUtils.afterCommit(() -> onCreated(Collections.singletonList(response)));
+        return response;
+    }
+
+    /**
+     * Create many users at once. Valid users are persisted in chunks, each chunk in its own transaction and
+     * sent to the database as JDBC batches. When a chunk fails, its users are retried one by one, so a bad
+     * row only fails itself.
+     *
+     * @param requests The UserRequestDTOs containing user information for creation.
+     * @return The BatchResponse containing the outcome of every request, in request order.
+     * @throws BatchTooLargeException if there are more requests than allowed in one batch.
+     */
+    @Override
+    public BatchResponse createBatch(List<UserRequest> requests) {
+        log.info("(request) createBatch size: {}", requests.size());
+        if (requests.size() > batchMaxSize) {
+            throw new BatchTooLargeException(batchMaxSize);
+        }
+        BatchItemResponse[] items = new BatchItemResponse[requests.size()];
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            if (isValid(requests.get(i))) {
+                valid.add(i);
+            } else {
+                items[i] = BatchItemResponse.ofFailure(i, HttpStatus.BAD_REQUEST.value(), INVALID_USER_CODE);
+            }
+        }
+        for (int from = 0; from < valid.size(); from += batchChunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + batchChunkSize, valid.size()));
+            if (!persistChunk(requests, chunk, items) && chunk.size() > 1) {
+                for (Integer index : chunk) {
+                    persistChunk(requests, Collections.singletonList(index), items);
+                }
+            }
+        }
+        int succeeded = 0;
+        for (BatchItemResponse item : items) {
+            succeeded += item.getCode() == null ? 1 : 0;
+        }
+        return BatchResponse.of(List.of(items), succeeded);
     }
 
     /**
@@ -90,22 +216,89 @@ public class UserServiceImpl extends BaseServiceImpl<User> implements UserServic
         log.info("(request) delete id: {}", id);
         User user = checkUserExist(id);
         repository.delete(user);
+        userCache.invalidate(id);
+        TransactionUtils.afterCommit(() -> {
+            userCounter.add(-1);
+            searchEngine.remove(id);
+            userCache.invalidate(id);
+        });
+    }
+
+    /**
+     * Delete many users by their unique identifiers. The ids are processed in chunks, each chunk in its own
+     * transaction with one SELECT of the existing ids and one set-based DELETE, instead of a lookup and a
+     * delete per user.
+     *
+     * @param ids The unique identifiers of the users to be deleted.
+     * @return The BulkDeleteResponse containing the number of deleted users and the ids that did not exist.
+     * @throws BatchTooLargeException if there are more ids than allowed in one request.
+     */
+    @Override
+    public BulkDeleteResponse deleteBatch(Set<String> ids) {
+        log.info("(request) deleteBatch size: {}", ids.size());
+        if (ids.size() > deleteMaxSize) {
+            throw new BatchTooLargeException(deleteMaxSize);
+        }
+        List<String> requested = new ArrayList<>(ids);
+        List<String> notFound = new ArrayList<>();
+        int deleted = 0;
+        for (int from = 0; from < requested.size(); from += deleteChunkSize) {
+            List<String> chunk = requested.subList(from, Math.min(from + deleteChunkSize, requested.size()));
+            List<String> existing = transactionTemplate.execute(status -> deleteChunk(chunk));
+            deleted += existing.size();
+            Set<String> found = new HashSet<>(existing);
+            for (String id : chunk) {
+                if (!found.contains(id)) {
+                    notFound.add(id);
+                }
+            }
+        }
+        return new BulkDeleteResponse(deleted, notFound);
+    }
+
+    /**
+     * Deletes the existing users of one chunk, within the current transaction.
+     *
+     * @param chunk The ids to delete.
+     * @return The ids that existed and have been deleted.
+     */
+    private List<String> deleteChunk(List<String> chunk) {
+        List<String> existing = repository.findExistingIds(chunk);
+        if (existing.isEmpty()) {
+            return existing;
+        }
+        int deleted = repository.deleteUsersByIds(existing);
+        existing.forEach(userCache::invalidate);
+        TransactionUtils.afterCommit(() -> {
+            userCounter.add(-deleted);
+            for (String id : existing) {
+                searchEngine.remove(id);
+                userCache.invalidate(id);
+            }
+        });
+        return existing;
     }
 
     /**
      * Retrieve a paginated list of all users.
+     * The page is read as a slice and the total comes from the maintained user counter,
+     * so no count query is run per request.
      *
-     * @param size The number of users to be retrieved in each page.
-     * @param page The page number.
+     * @param size   The number of users to be retrieved in each page.
+     * @param page   The page number.
+     * @param fields The fields of the users to retrieve.
      * @return The PageResponse containing a list of UserResponse objects.
      */
+    @Transactional(readOnly = true)
     @Override
-    public PageResponse<UserResponse> getAllUser(int size, int page) {
-        log.info("(request) listAllUser size : {}, page: {}", size, page);
+    public PageResponse<UserResponse> getAllUser(int size, int page, Set<UserField> fields) {
+        log.info("(request) listAllUser size : {}, page: {}, fields: {}", size, page, fields);
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<UserResponse> listAllUsers = repository.findAllUser(pageable);
-        return PageResponse.of(listAllUsers.getContent(), (int) listAllUsers.getTotalElements());
+        Slice<UserResponse> listAllUsers = UserField.isAll(fields)
+                ? cacheFills.pages(() -> repository.findAllUserSlice(pageable))
+                : repository.findAllProjectedSlice(pageable, fields);
+        return PageResponse.of(listAllUsers.getContent(), (int) userCounter.get(), listAllUsers.hasNext(), null);
     }
 
     /**
@@ -114,17 +307,281 @@ public class UserServiceImpl extends BaseServiceImpl<User> implements UserServic
      * @param keyword The search keyword to filter users.
      * @param size   The number of users to be retrieved in each page.
      * @param page    The page number.
+     * @param fields  The fields of the users to retrieve.
      * @return A PageResponse containing a list of UserResponse objects matching the search criteria.
      *         The PageResponse includes the user data for the requested page and the total number of matching users.
      */
+    @Transactional(readOnly = true)
     @Override
-    public PageResponse<UserResponse> getUserBySearch(String keyword, int size, int page) {
-        log.info("(request) listSearchUser keyword:{}, size : {}, page: {}", keyword, size, page);
+    public PageResponse<UserResponse> getUserBySearch(String keyword, int size, int page, Set<UserField> fields) {
+        log.info("(request) listSearchUser keyword:{}, size : {}, page: {}, fields: {}", keyword, size, page, fields);
 
+        return readFlights.getSearch().execute(new UserReadFlights.SearchKey(keyword, size, page, true, fields),
+                () -> searchPage(keyword, size, page, fields));
+    }
+
+    /**
+     * Reads a page of users matching a search keyword with the total number of matches, once per flight.
+     */
+    private PageResponse<UserResponse> searchPage(String keyword, int size, int page, Set<UserField> fields) {
+        if (isIndexed(keyword)) {
+            SearchHits hits = searchEngine.search(keyword, page * size, size);
+            return PageResponse.of(hydrate(hits.getIds(), fields), hits.getTotal(), (page + 1) * size < hits.getTotal(), null);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<UserResponse> users = repository.searchUser(pageable, keyword, PERCENT, PERCENT);
+        Page<UserResponse> users = UserField.isAll(fields)
+                ? repository.searchUser(pageable, escapeLike(keyword), PERCENT, PERCENT)
+                : repository.searchProjected(pageable, escapeLike(keyword), PERCENT, PERCENT, fields);
+
+        return PageResponse.of(users.getContent(), (int) users.getTotalElements(), users.hasNext(), null);
+    }
+
+    /**
+     * Retrieves a page of users matching a search keyword without counting the total number of matches.
+     *
+     * @param keyword The search keyword to filter users.
+     * @param size    The number of users to be retrieved in each page.
+     * @param page    The page number.
+     * @param fields  The fields of the users to retrieve.
+     * @return A PageResponse containing the users of the page and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public PageResponse<UserResponse> getUserBySearchSlice(String keyword, int size, int page, Set<UserField> fields) {
+        log.info("(request) listSearchUser slice keyword:{}, size : {}, page: {}, fields: {}", keyword, size, page, fields);
+
+        return readFlights.getSearch().execute(new UserReadFlights.SearchKey(keyword, size, page, false, fields),
+                () -> searchSlice(keyword, size, page, fields));
+    }
+
+    /**
+     * Reads a page of users matching a search keyword without counting the matches, once per flight.
+     */
+    private PageResponse<UserResponse> searchSlice(String keyword, int size, int page, Set<UserField> fields) {
+        if (isIndexed(keyword)) {
+            SearchHits hits = searchEngine.search(keyword, page * size, size);
+            return PageResponse.ofSlice(hydrate(hits.getIds(), fields), (page + 1) * size < hits.getTotal());
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        Slice<UserResponse> users = UserField.isAll(fields)
+                ? repository.searchUserSlice(pageable, escapeLike(keyword), PERCENT, PERCENT)
+                : repository.searchProjectedSlice(pageable, escapeLike(keyword), PERCENT, PERCENT, fields);
+
+        return PageResponse.ofSlice(users.getContent(), users.hasNext());
+    }
+
+    /**
+     * Retrieves a page of all users by cursor. The cursor encodes the id of the last user of the previous page,
+     * so the query seeks on the primary key instead of skipping rows with an offset.
+     *
+     * @param after  The cursor of the previous page, blank for the first page.
+     * @param size   The number of users to be retrieved in the page.
+     * @param fields The fields of the users to retrieve.
+     * @return A PageResponse containing the users of the page and the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public PageResponse<UserResponse> getAllUserAfter(String after, int size, Set<UserField> fields) {
+        log.info("(request) listAllUser after : {}, size: {}, fields: {}", after, size, fields);
+
+        String afterId = CursorUtils.decode(after);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<UserResponse> users = UserField.isAll(fields)
+                ? repository.findAllUserAfter(afterId, pageable)
+                : repository.findAllProjectedAfter(afterId, pageable, fields);
+        PageResponse<UserResponse> response = toCursorPage(users, size);
+        response.setAmount((int) userCounter.get());
+        return response;
+    }
+
+    /**
+     * Retrieves a page of users matching a search keyword by cursor.
+     *
+     * @param keyword The search keyword to filter users.
+     * @param after   The cursor of the previous page, blank for the first page.
+     * @param size    The number of users to be retrieved in the page.
+     * @param fields  The fields of the users to retrieve.
+     * @return A PageResponse containing the users of the page and the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public PageResponse<UserResponse> getUserBySearchAfter(String keyword, String after, int size, Set<UserField> fields) {
+        log.info("(request) listSearchUser keyword:{}, after : {}, size: {}, fields: {}", keyword, after, size, fields);
+
+        String afterId = CursorUtils.decode(after);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<UserResponse> users;
+        if (isIndexed(keyword)) {
+            users = hydrate(searchEngine.searchAfter(keyword, afterId, size + 1), fields);
+        } else if (UserField.isAll(fields)) {
+            users = repository.searchUserAfter(pageable, escapeLike(keyword), PERCENT, PERCENT, afterId);
+        } else {
+            users = repository.searchProjectedAfter(pageable, escapeLike(keyword), PERCENT, PERCENT, afterId, fields);
+        }
+        return toCursorPage(users, size);
+    }
+
+    /**
+     * Streams every user to the consumer from a forward-only database cursor, in a read-only transaction
+     * held open until the last user has been consumed. Users are projected straight into UserResponse objects,
+     * so nothing accumulates in the persistence context and memory stays flat whatever the number of users.
+     *
+     * @param consumer The consumer receiving the users one at a time, in id order.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(Consumer<UserResponse> consumer) {
+        log.info("(request) exportAll");
+
+        try (Stream<UserResponse> users = repository.streamAllUser()) {
+            users.forEach(consumer);
+        }
+    }
+
+    /**
+     * Tells whether a keyword search can be answered by the search engine instead of the database.
+     * A search without keyword is a plain listing and always goes to the database.
+     *
+     * @param keyword The search keyword.
+     * @return true if the search engine is ready and there is a keyword.
+     */
+    private boolean isIndexed(String keyword) {
+        return keyword != null && searchEngine.isReady();
+    }
+
+    /**
+     * Escapes the LIKE wildcards of a keyword, so that the database matches it literally like the search engine does.
+     *
+     * @param keyword The search keyword, or null.
+     * @return The keyword with '%', '_' and the escape character '!' escaped with '!', or null.
+     */
+    private static String escapeLike(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        StringBuilder escaped = new StringBuilder(keyword.length() + 4);
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Loads the users found by the search engine, keeping the order of the ids.
+     *
+     * @param ids    The ids returned by the search engine.
+     * @param fields The fields of the users to load.
+     * @return The UserResponse objects in the order of the ids, users deleted meanwhile are skipped.
+     */
+    private List<UserResponse> hydrate(List<String> ids, Set<UserField> fields) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<UserResponse> loaded = UserField.isAll(fields)
+                ? repository.findAllUserByIds(ids)
+                : repository.findAllProjectedByIds(ids, fields);
+        Map<String, UserResponse> users = loaded
+                .stream()
+                .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
-        return PageResponse.of(users.getContent(), (int) users.getTotalElements());
+    /**
+     * Builds a cursor page from a result that was fetched with one extra row.
+     * The extra row only tells whether there is a next page and is not returned.
+     *
+     * @param users The users fetched, at most size + 1.
+     * @param size  The requested page size.
+     * @return A PageResponse with the cursor of the next page, or no cursor on the last page.
+     */
+    private PageResponse<UserResponse> toCursorPage(List<UserResponse> users, int size) {
+        if (users.size() <= size) {
+            return PageResponse.ofCursor(users, null);
+        }
+        List<UserResponse> content = users.subList(0, size);
+        return PageResponse.ofCursor(content, CursorUtils.encode(content.get(size - 1).getId()));
+    }
+
+    /**
+     * Persists the users of one chunk in a single transaction and records their outcome.
+     * New entities are built on every attempt, so a retried user is inserted again rather than merged.
+     *
+     * @param requests The requests of the batch.
+     * @param chunk    The positions of the requests to persist.
+     * @param items    The outcome of every request, filled in for the positions of the chunk.
+     * @return true if the chunk was committed, false if it was rolled back.
+     */
+    private boolean persistChunk(List<UserRequest> requests, List<Integer> chunk, BatchItemResponse[] items) {
+        List<User> users = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            users.add(toUser(requests.get(index)));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.saveAll(users);
+                repository.flush();
+            });
+        } catch (RuntimeException ex) {
+            log.warn("(createBatch) chunk of {} users rolled back: {}", chunk.size(), ex.getMessage());
+            if (chunk.size() == 1) {
+                items[chunk.get(0)] = ex instanceof DataIntegrityViolationException
+                        ? BatchItemResponse.ofFailure(chunk.get(0), HttpStatus.CONFLICT.value(), CONFLICT_CODE)
+                        : BatchItemResponse.ofFailure(chunk.get(0), HttpStatus.INTERNAL_SERVER_ERROR.value(), GENERIC_CODE);
+            }
+            return false;
+        }
+        List<UserResponse> created = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            created.add(toResponse(users.get(i)));
+            items[chunk.get(i)] = BatchItemResponse.ofSuccess(chunk.get(i), users.get(i).getId(), HttpStatus.CREATED.value());
+        }
+        onCreated(created);
+        return true;
+    }
+
+    /**
+     * Keeps the user counter, search index and cache in line with users that have been committed.
+     *
+     * @param created The users that have been created.
+     */
+    private void onCreated(List<UserResponse> created) {
+        userCounter.add(created.size());
+        for (UserResponse user : created) {
+            searchEngine.index(user);
+            userCache.invalidate(user.getId());
+        }
+    }
+
+    private boolean isValid(UserRequest request) {
+        return request != null && request.getUsername() != null && !request.getUsername().isBlank();
+    }
+
+    private User toUser(UserRequest request) {
+        return new User(
+                request.getUsername(),
+                request.getPassword(),
+                request.getEmail(),
+                request.getPhone(),
+                request.getRole()
+        );
+    }
+
+    private UserResponse toResponse(User user) {
+        return new UserResponse(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getRole()
+        );
     }
 
     /**
@@ -0,0 +1,44 @@
+package com.example.springproject.service.importer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Input stream publishing the number of bytes read so far, so that the progress of an import can be read
+ * from other threads.
+ */
+class CountingInputStream extends FilterInputStream {
+  private final AtomicLong count;
+
+  CountingInputStream(InputStream in, AtomicLong count) {
+    super(in);
+    this.count = count;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = super.read();
+    if (b >= 0) {
+      count.incrementAndGet();
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int n = super.read(b, off, len);
+    if (n > 0) {
+      count.addAndGet(n);
+    }
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = super.skip(n);
+    count.addAndGet(skipped);
+    return skipped;
+  }
+}
@@ -0,0 +1,163 @@
+package com.example.springproject.service.importer;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.exception.InvalidImportFileException;
+import com.example.springproject.exception.InvalidImportRowException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads users from RFC 4180 CSV. The first record is a header naming the columns; username, password, email,
+ * phone and role are mapped in any order and other columns, such as the id of the CSV export, are ignored.
+ * Quoted values may contain commas, doubled quotes and line breaks.
+ */
+class CsvUserImportReader implements UserImportReader {
+  private static final String[] COLUMNS = {"username", "password", "email", "phone", "role"};
+  private static final int USERNAME = 0;
+  private static final char BOM = '\uFEFF';
+
+  private final BufferedReader reader;
+  private final int[] columnIndexes;
+  private final int columnCount;
+  private final List<String> values = new ArrayList<>();
+  private final StringBuilder value = new StringBuilder();
+  private long nextLine = 1;
+  private long line;
+  private int pending = -1;
+
+  CsvUserImportReader(InputStream in) throws IOException {
+    this.reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+    if (!readRecord()) {
+      throw new InvalidImportFileException();
+    }
+    this.columnCount = values.size();
+    this.columnIndexes = new int[COLUMNS.length];
+    for (int i = 0; i < COLUMNS.length; i++) {
+      columnIndexes[i] = -1;
+    }
+    for (int i = 0; i < values.size(); i++) {
+      String name = values.get(i).replace(String.valueOf(BOM), "").trim().toLowerCase(Locale.ROOT);
+      for (int column = 0; column < COLUMNS.length; column++) {
+        if (COLUMNS[column].equals(name)) {
+          columnIndexes[column] = i;
+        }
+      }
+    }
+    if (columnIndexes[USERNAME] < 0) {
+      throw new InvalidImportFileException();
+    }
+  }
+
+  @Override
+  public UserRequest next() throws IOException {
+    boolean read;
+    do {
+      read = readRecord();
+      if (!read) {
+        return null;
+      }
+    } while (values.size() == 1 && values.get(0).isEmpty());
+    if (values.size() != columnCount) {
+      throw new InvalidImportRowException();
+    }
+    return new UserRequest(value(0), value(1), value(2), value(3), value(4));
+  }
+
+  @Override
+  public long line() {
+    return line;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private String value(int column) {
+    int index = columnIndexes[column];
+    if (index < 0) {
+      return null;
+    }
+    String text = values.get(index);
+    return text.isEmpty() ? null : text;
+  }
+
+  /**
+   * Reads the next record into {@code values}.
+   *
+   * @return false at the end of the input.
+   * @throws InvalidImportRowException if the input ends inside a quoted value.
+   */
+  private boolean readRecord() throws IOException {
+    values.clear();
+    value.setLength(0);
+    line = nextLine;
+    int c = read();
+    if (c < 0) {
+      return false;
+    }
+    boolean quoted = false;
+    boolean afterQuote = false;
+    while (true) {
+      if (quoted) {
+        if (c < 0) {
+          throw new InvalidImportRowException();
+        }
+        if (c == '"') {
+          int next = read();
+          if (next == '"') {
+            value.append('"');
+          } else {
+            quoted = false;
+            afterQuote = true;
+            c = next;
+            continue;
+          }
+        } else {
+          if (c == '\n') {
+            nextLine++;
+          }
+          value.append((char) c);
+        }
+      } else if (c < 0 || c == '\n' || c == '\r') {
+        values.add(value.toString());
+        if (c == '\r') {
+          int next = read();
+          if (next != '\n') {
+            pending = next;
+          }
+        }
+        if (c >= 0) {
+          nextLine++;
+        }
+        return true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+        afterQuote = false;
+      } else if (c == '"' && value.length() == 0 && !afterQuote) {
+        quoted = true;
+      } else {
+        value.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private int read() throws IOException {
+    if (pending != -1) {
+      int c = pending;
+      pending = -1;
+      return c;
+    }
+    return reader.read();
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.springproject.service.importer;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.exception.InvalidImportRowException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads users from newline-delimited JSON, one object per line. Blank lines are skipped and unknown
+ * properties ignored, so a file produced by the NDJSON export can be imported back.
+ */
+class NdjsonUserImportReader implements UserImportReader {
+  private static final ObjectReader READER = JsonMapper.builder()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build()
+        .readerFor(UserRequest.class);
+
+  private final BufferedReader reader;
+  private long line;
+
+  NdjsonUserImportReader(InputStream in) {
+    this.reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+  }
+
+  @Override
+  public UserRequest next() throws IOException {
+    String text;
+    do {
+      text = reader.readLine();
+      line++;
+      if (text == null) {
+        return null;
+      }
+    } while (text.isBlank());
+    try {
+      UserRequest request = READER.readValue(text);
+      if (request == null) {
+        throw new InvalidImportRowException();
+      }
+      return request;
+    } catch (JsonProcessingException e) {
+      throw new InvalidImportRowException();
+    }
+  }
+
+  @Override
+  public long line() {
+    return line;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
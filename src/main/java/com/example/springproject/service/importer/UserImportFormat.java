@@ -0,0 +1,65 @@
+package com.example.springproject.service.importer;
+
+import com.example.springproject.exception.UnsupportedFormatException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Formats from which users can be imported, the same as the export formats.
+ */
+@Getter
+public enum UserImportFormat {
+  NDJSON("ndjson") {
+    @Override
+    public UserImportReader open(InputStream in) {
+      return new NdjsonUserImportReader(in);
+    }
+  },
+  CSV("csv") {
+    @Override
+    public UserImportReader open(InputStream in) throws IOException {
+      return new CsvUserImportReader(in);
+    }
+  };
+
+  private static final String SUPPORTED_FORMATS = Arrays.stream(values())
+        .map(UserImportFormat::getExtension)
+        .collect(Collectors.joining(", "));
+
+  private final String extension;
+
+  UserImportFormat(String extension) {
+    this.extension = extension;
+  }
+
+  /**
+   * Opens a reader of this format on top of the given stream.
+   *
+   * @param in The stream holding the users to import.
+   * @return The reader, to be closed once every row has been read.
+   * @throws IOException if the stream fails.
+   * @throws com.example.springproject.exception.InvalidImportFileException if the stream does not start as expected.
+   */
+  public abstract UserImportReader open(InputStream in) throws IOException;
+
+  /**
+   * Resolves a format from its name, case-insensitively.
+   *
+   * @param name The name of the format, e.g. "ndjson" or "csv".
+   * @return The format.
+   * @throws UnsupportedFormatException if there is no such format.
+   */
+  public static UserImportFormat of(String name) {
+    for (UserImportFormat format : values()) {
+      if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+        return format;
+      }
+    }
+    throw new UnsupportedFormatException(SUPPORTED_FORMATS);
+  }
+}
@@ -0,0 +1,150 @@
+package com.example.springproject.service.importer;
+
+import com.example.springproject.dto.response.ImportJobResponse;
+import com.example.springproject.dto.response.ImportRejectionResponse;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import, updated by the threads of its pipeline and read concurrently by status requests.
+ * Every rejected row is counted, but only the first ones are kept to report them.
+ */
+public class UserImportJob {
+
+  /**
+   * Lifecycle of an import job.
+   */
+  public enum State {
+    PENDING, RUNNING, COMPLETED, FAILED
+  }
+
+  @Getter
+  private final String id;
+  @Getter
+  private final UserImportFormat format;
+  private final long totalBytes;
+  private final int maxReportedRejections;
+  private final AtomicLong bytesRead = new AtomicLong();
+  private final AtomicLong parsed = new AtomicLong();
+  private final AtomicLong imported = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicInteger reportedRejections = new AtomicInteger();
+  private final Queue<ImportRejectionResponse> rejections = new ConcurrentLinkedQueue<>();
+  @Getter
+  private volatile State state = State.PENDING;
+  private volatile Instant startedAt;
+  @Getter
+  private volatile Instant finishedAt;
+  private volatile String errorCode;
+
+  public UserImportJob(String id, UserImportFormat format, long totalBytes, int maxReportedRejections) {
+    this.id = id;
+    this.format = format;
+    this.totalBytes = totalBytes;
+    this.maxReportedRejections = maxReportedRejections;
+  }
+
+  /**
+   * Opens a reader of the format of the job on top of the given stream, counting the bytes read as the progress.
+   *
+   * @param in The stream of the uploaded file.
+   * @return The reader.
+   * @throws IOException if the stream fails.
+   */
+  public UserImportReader open(InputStream in) throws IOException {
+    return format.open(new CountingInputStream(in, bytesRead));
+  }
+
+  public void start() {
+    startedAt = Instant.now();
+    state = State.RUNNING;
+  }
+
+  public void complete() {
+    finishedAt = Instant.now();
+    state = State.COMPLETED;
+  }
+
+  public void fail(String code) {
+    errorCode = code;
+    finishedAt = Instant.now();
+    state = State.FAILED;
+  }
+
+  public boolean isFailed() {
+    return state == State.FAILED;
+  }
+
+  public boolean isFinished() {
+    return state == State.COMPLETED || state == State.FAILED;
+  }
+
+  public void addParsed() {
+    parsed.incrementAndGet();
+  }
+
+  public void addImported(long count) {
+    imported.addAndGet(count);
+  }
+
+  /**
+   * Counts a rejected row, and keeps it for the report while there is room.
+   *
+   * @param line The line of the file on which the row starts.
+   * @param code The code of the message explaining the rejection.
+   */
+  public void reject(long line, String code) {
+    rejected.incrementAndGet();
+    if (reportedRejections.getAndIncrement() < maxReportedRejections) {
+      rejections.add(ImportRejectionResponse.of(line, code));
+    }
+  }
+
+  /**
+   * Takes a snapshot of the progress of the job. The counters are read one after the other while the job runs,
+   * so they are individually exact but may be a few rows apart from each other.
+   *
+   * @return The progress of the job.
+   */
+  public ImportJobResponse toResponse() {
+    long importedRows = imported.get();
+    long rejectedRows = rejected.get();
+    List<ImportRejectionResponse> reported = new ArrayList<>(rejections);
+    reported.sort(Comparator.comparingLong(ImportRejectionResponse::getLine));
+    return ImportJobResponse.builder()
+          .id(id)
+          .format(format.getExtension())
+          .state(state.name())
+          .progress(totalBytes == 0 ? 100 : Math.min(100, 100.0 * bytesRead.get() / totalBytes))
+          .parsed(parsed.get())
+          .imported(importedRows)
+          .rejected(rejectedRows)
+          .rowsPerSecond(rowsPerSecond(importedRows + rejectedRows))
+          .startedAt(startedAt)
+          .finishedAt(finishedAt)
+          .errorCode(errorCode)
+          .rejections(reported)
+          .build();
+  }
+
+  private double rowsPerSecond(long rows) {
+    Instant start = startedAt;
+    if (start == null) {
+      return 0;
+    }
+    Instant end = finishedAt != null ? finishedAt : Instant.now();
+    long millis = Math.max(1, Duration.between(start, end).toMillis());
+    return rows * 1000.0 / millis;
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.springproject.service.importer;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.exception.InvalidImportRowException;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads users one row at a time from an input stream, holding no more than the current row in memory.
+ */
+public interface UserImportReader extends Closeable {
+
+  /**
+   * Reads the next row.
+   *
+   * @return The user of the row, or null at the end of the input.
+   * @throws InvalidImportRowException if the row cannot be parsed; the reader is then positioned on the following row.
+   * @throws IOException if the input stream fails.
+   */
+  UserRequest next() throws IOException;
+
+  /**
+   * Returns the line of the input on which the row last returned by {@link #next()} starts.
+   *
+   * @return The 1-based line number.
+   */
+  long line();
+}
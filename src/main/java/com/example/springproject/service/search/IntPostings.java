@@ -0,0 +1,96 @@
+package com.example.springproject.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable, sorted list of primitive document numbers, used as a posting list of the trigram index.
+ * Keeping postings as int arrays avoids one boxed Integer and one list node per (trigram, user) pair.
+ */
+class IntPostings {
+  private static final int INITIAL_CAPACITY = 4;
+
+  private int[] docs;
+  private int size;
+
+  IntPostings() {
+    this.docs = new int[INITIAL_CAPACITY];
+  }
+
+  IntPostings(int capacity) {
+    this.docs = new int[Math.max(capacity, INITIAL_CAPACITY)];
+  }
+
+  int size() {
+    return size;
+  }
+
+  int get(int index) {
+    return docs[index];
+  }
+
+  /**
+   * Appends a document number. Document numbers are handed out in increasing order and only renumbered by a
+   * compaction, which keeps their order, so appending keeps the list sorted. A trigram found twice in a text adds
+   * its document once.
+   */
+  void add(int doc) {
+    if (size > 0 && docs[size - 1] == doc) {
+      return;
+    }
+    ensureCapacity(size + 1);
+    docs[size++] = doc;
+  }
+
+  /**
+   * Renumbers the documents of this list in place and drops the removed ones.
+   *
+   * @param renumbered The new number of every document, or -1 for a removed document. New numbers must keep
+   *                   the order of the old ones.
+   */
+  void renumber(int[] renumbered) {
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      int doc = renumbered[docs[i]];
+      if (doc >= 0) {
+        docs[kept++] = doc;
+      }
+    }
+    size = kept;
+    if (kept < docs.length >> 2) {
+      docs = Arrays.copyOf(docs, Math.max(kept, INITIAL_CAPACITY));
+    }
+  }
+
+  boolean contains(int doc) {
+    return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+  }
+
+  /**
+   * Intersects this list with another sorted list, galloping through the longer one.
+   *
+   * @param other The list to intersect with.
+   * @return A new list holding the documents present in both lists.
+   */
+  IntPostings intersect(IntPostings other) {
+    IntPostings small = size <= other.size ? this : other;
+    IntPostings large = small == this ? other : this;
+    IntPostings result = new IntPostings(small.size);
+    int from = 0;
+    for (int i = 0; i < small.size && from < large.size; i++) {
+      int position = Arrays.binarySearch(large.docs, from, large.size, small.docs[i]);
+      if (position >= 0) {
+        result.docs[result.size++] = small.docs[i];
+        from = position + 1;
+      } else {
+        from = -position - 1;
+      }
+    }
+    return result;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > docs.length) {
+      docs = Arrays.copyOf(docs, Math.max(capacity, docs.length + (docs.length >> 1)));
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.springproject.service.search;
+
+import com.example.springproject.dto.response.UserResponse;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Search engine that is never ready, so every search is answered by the database query.
+ */
+public class NoOpUserSearchEngine implements UserSearchEngine {
+
+  @Override
+  public boolean isReady() {
+    return false;
+  }
+
+  @Override
+  public void index(UserResponse user) {
+  }
+
+  @Override
+  public void remove(String id) {
+  }
+
+  @Override
+  public SearchHits search(String keyword, int offset, int limit) {
+    return new SearchHits(Collections.emptyList(), 0);
+  }
+
+  @Override
+  public List<String> searchAfter(String keyword, String after, int limit) {
+    return Collections.emptyList();
+  }
+}
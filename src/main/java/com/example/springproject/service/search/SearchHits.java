@@ -0,0 +1,20 @@
+package com.example.springproject.service.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A page of search results returned by a {@link UserSearchEngine}.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+  private final List<String> ids;
+
+  /**
+   * The total number of matches, not only the ones of this page
+   */
+  private final int total;
+}
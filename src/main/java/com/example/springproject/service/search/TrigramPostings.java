@@ -0,0 +1,135 @@
+package com.example.springproject.service.search;
+
+/**
+ * Map from a trigram, packed into a primitive long, to its posting list.
+ * Open addressing with linear probing over parallel arrays, so a trigram costs no boxed Long and no map entry.
+ */
+class TrigramPostings {
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private long[] keys;
+  private IntPostings[] values;
+  private int size;
+
+  TrigramPostings() {
+    this.keys = new long[INITIAL_CAPACITY];
+    this.values = new IntPostings[INITIAL_CAPACITY];
+  }
+
+  int size() {
+    return size;
+  }
+
+  IntPostings get(long key) {
+    int mask = keys.length - 1;
+    for (int slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the posting list of a trigram, adding an empty one if the trigram is new.
+   */
+  IntPostings getOrCreate(long key) {
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    for (; values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+    }
+    IntPostings list = new IntPostings();
+    keys[slot] = key;
+    values[slot] = list;
+    if (++size > keys.length >> 1) {
+      resize(keys.length << 1);
+    }
+    return list;
+  }
+
+  /**
+   * Adds a trigram that is not in the table yet.
+   */
+  void put(long key, IntPostings list) {
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    while (values[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = list;
+    if (++size > keys.length >> 1) {
+      resize(keys.length << 1);
+    }
+  }
+
+  /**
+   * Calls the consumer with every trigram and its posting list.
+   */
+  void forEach(EntryConsumer consumer) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (values[slot] != null) {
+        consumer.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  /**
+   * Removes a trigram, shifting back the entries of its probe sequence so that no tombstone is left.
+   */
+  void remove(long key) {
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    while (values[slot] != null && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    if (values[slot] == null) {
+      return;
+    }
+    size--;
+    int hole = slot;
+    for (int next = (hole + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+      int home = slot(keys[next], mask);
+      // the entry at next may fill the hole only if its home slot is not between the hole and next
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+    values[hole] = null;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    IntPostings[] oldValues = values;
+    keys = new long[capacity];
+    values = new IntPostings[capacity];
+    int mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = slot(oldKeys[i], mask);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int slot(long key, int mask) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  /**
+   * Consumer of the entries of the table, taking the trigram unboxed.
+   */
+  interface EntryConsumer {
+    void accept(long key, IntPostings list);
+  }
+}
@@ -0,0 +1,353 @@
+package com.example.springproject.service.search;
+
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory trigram inverted index over the searchable user fields (username, phone, email and role).
+ *
+ * Every user gets an internal document number and every three-character sequence of its lower-cased fields,
+ * packed into a long, points to a sorted {@link IntPostings} list of document numbers in a {@link TrigramPostings}
+ * table. A substring query intersects the posting lists of its trigrams, starting with the shortest, then verifies the few remaining candidates against the
+ * stored text, which gives the same matches as {@code lower(col) LIKE '%keyword%'} without scanning the table;
+ * like the database queries, which escape them, wildcard characters of the keyword match themselves.
+ * Keywords shorter than a trigram are answered by scanning the stored texts in memory.
+ *
+ * Removing a user only marks its document number in a bitset of tombstones, in constant time; searches skip the
+ * marked numbers. Once a quarter of the numbers are tombstones, a compaction renumbers the live documents in order
+ * and drops the dead ones from every posting list. Each compaction is paid for by the removals before it, so a bulk
+ * delete stays linear and the index does not grow with churn.
+ *
+ * The index is loaded from the database once the application is ready and kept up to date by the service
+ * on create and delete. Writes made by other application instances are not seen, so the database engine
+ * should be used when several instances write users.
+ */
+@Slf4j
+public class TrigramUserSearchEngine implements UserSearchEngine {
+  private static final int GRAM = 3;
+  private static final char FIELD_SEPARATOR = '\u0000';
+  private static final int INITIAL_CAPACITY = 1024;
+  static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+  private final UserRepository repository;
+  private final int loadBatchSize;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final BitSet tombstones = new BitSet();
+  private final Map<String, Integer> docByUserId = new HashMap<>();
+  private final Set<String> removedDuringLoad = new HashSet<>();
+  private TrigramPostings postings = new TrigramPostings();
+  private String[] userIds = new String[INITIAL_CAPACITY];
+  private String[] texts = new String[INITIAL_CAPACITY];
+  private int nextDoc;
+  private int tombstoneCount;
+  private volatile boolean ready;
+
+  /**
+   * Constructor for TrigramUserSearchEngine.
+   *
+   * @param repository    The UserRepository used to load the index and nothing else.
+   * @param loadBatchSize The number of users read per query while loading the index.
+   */
+  public TrigramUserSearchEngine(UserRepository repository, int loadBatchSize) {
+    this.repository = repository;
+    this.loadBatchSize = loadBatchSize;
+  }
+
+  /**
+   * Loads the index in the background once the application is ready. Searches are answered by the
+   * database until the load completes.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    Thread loader = new Thread(this::loadAll, "user-search-index-loader");
+    loader.setDaemon(true);
+    loader.start();
+  }
+
+  @Override
+  public boolean isReady() {
+    return ready;
+  }
+
+  @Override
+  public void index(UserResponse user) {
+    lock.writeLock().lock();
+    try {
+      indexLocked(user);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void remove(String id) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(id);
+      if (!ready) {
+        removedDuringLoad.add(id);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public SearchHits search(String keyword, int offset, int limit) {
+    String needle = normalize(keyword);
+    lock.readLock().lock();
+    try {
+      IntPostings matches = match(needle);
+      int total = matches.size();
+      List<String> ids = new ArrayList<>(Math.max(0, Math.min(limit, total - offset)));
+      for (int i = offset; i < total && ids.size() < limit; i++) {
+        ids.add(userIds[matches.get(i)]);
+      }
+      return new SearchHits(ids, total);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<String> searchAfter(String keyword, String after, int limit) {
+    String needle = normalize(keyword);
+    PriorityQueue<String> smallest = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+    lock.readLock().lock();
+    try {
+      IntPostings matches = match(needle);
+      for (int i = 0; i < matches.size(); i++) {
+        String id = userIds[matches.get(i)];
+        if (after != null && id.compareTo(after) <= 0) {
+          continue;
+        }
+        if (smallest.size() < limit) {
+          smallest.add(id);
+        } else if (id.compareTo(smallest.peek()) < 0) {
+          smallest.poll();
+          smallest.add(id);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    List<String> ids = new ArrayList<>(smallest);
+    Collections.sort(ids);
+    return ids;
+  }
+
+  /**
+   * Returns the number of users currently indexed.
+   *
+   * @return The number of indexed users.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return docByUserId.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of document numbers handed out since the last compaction, tombstones included, which
+   * bounds the scans.
+   *
+   * @return The number of document slots.
+   */
+  int documentSlots() {
+    lock.readLock().lock();
+    try {
+      return nextDoc;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void loadAll() {
+    long started = System.currentTimeMillis();
+    try {
+      String after = null;
+      List<UserResponse> batch;
+      do {
+        batch = repository.findAllUserAfter(after, PageRequest.of(0, loadBatchSize));
+        lock.writeLock().lock();
+        try {
+          for (UserResponse user : batch) {
+            if (!removedDuringLoad.contains(user.getId())) {
+              indexLocked(user);
+            }
+          }
+        } finally {
+          lock.writeLock().unlock();
+        }
+        if (!batch.isEmpty()) {
+          after = batch.get(batch.size() - 1).getId();
+        }
+      } while (batch.size() == loadBatchSize);
+
+      lock.writeLock().lock();
+      try {
+        removedDuringLoad.clear();
+        ready = true;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      log.info("(load) indexed {} users in {} ms", size(), System.currentTimeMillis() - started);
+    } catch (RuntimeException ex) {
+      log.error("(load) user search index could not be loaded, searches stay on the database", ex);
+    }
+  }
+
+  private void indexLocked(UserResponse user) {
+    removeLocked(user.getId());
+    String text = text(user);
+    int doc = nextDoc++;
+    if (doc == userIds.length) {
+      userIds = Arrays.copyOf(userIds, doc + (doc >> 1));
+      texts = Arrays.copyOf(texts, userIds.length);
+    }
+    userIds[doc] = user.getId();
+    texts[doc] = text;
+    docByUserId.put(user.getId(), doc);
+    forEachTrigram(text, key -> postings.getOrCreate(key).add(doc));
+  }
+
+  private void removeLocked(String id) {
+    Integer doc = docByUserId.remove(id);
+    if (doc == null) {
+      return;
+    }
+    userIds[doc] = null;
+    texts[doc] = null;
+    tombstones.set(doc);
+    if (++tombstoneCount >= Math.max(MIN_TOMBSTONES_TO_COMPACT, nextDoc >> 2)) {
+      compact();
+    }
+  }
+
+  /**
+   * Renumbers the live documents from 0 in their current order and rewrites every posting list without the
+   * tombstones, dropping the lists left empty.
+   */
+  private void compact() {
+    int[] renumbered = new int[nextDoc];
+    int live = 0;
+    for (int doc = 0; doc < nextDoc; doc++) {
+      if (tombstones.get(doc)) {
+        renumbered[doc] = -1;
+        continue;
+      }
+      renumbered[doc] = live;
+      userIds[live] = userIds[doc];
+      texts[live] = texts[doc];
+      docByUserId.put(userIds[live], live);
+      live++;
+    }
+    int capacity = Math.max(INITIAL_CAPACITY, live + (live >> 1));
+    if (capacity < userIds.length >> 1) {
+      userIds = Arrays.copyOf(userIds, capacity);
+      texts = Arrays.copyOf(texts, capacity);
+    }
+    Arrays.fill(userIds, live, Math.min(nextDoc, userIds.length), null);
+    Arrays.fill(texts, live, Math.min(nextDoc, texts.length), null);
+
+    TrigramPostings compacted = new TrigramPostings();
+    postings.forEach((key, list) -> {
+      list.renumber(renumbered);
+      if (list.size() > 0) {
+        compacted.put(key, list);
+      }
+    });
+    postings = compacted;
+    nextDoc = live;
+    tombstones.clear();
+    tombstoneCount = 0;
+  }
+
+  private IntPostings match(String needle) {
+    if (needle.length() < GRAM) {
+      return scan(needle);
+    }
+    List<IntPostings> lists = new ArrayList<>();
+    for (int i = 0; i + GRAM <= needle.length(); i++) {
+      IntPostings list = postings.get(trigram(needle, i));
+      if (list == null) {
+        return new IntPostings();
+      }
+      if (!lists.contains(list)) {
+        lists.add(list);
+      }
+    }
+    lists.sort(Comparator.comparingInt(IntPostings::size));
+    IntPostings candidates = lists.get(0);
+    for (int i = 1; i < lists.size() && candidates.size() > 0; i++) {
+      candidates = candidates.intersect(lists.get(i));
+    }
+    IntPostings matches = new IntPostings(candidates.size());
+    for (int i = 0; i < candidates.size(); i++) {
+      int doc = candidates.get(i);
+      if (!tombstones.get(doc) && texts[doc].contains(needle)) {
+        matches.add(doc);
+      }
+    }
+    return matches;
+  }
+
+  private IntPostings scan(String needle) {
+    IntPostings matches = new IntPostings();
+    for (int doc = 0; doc < nextDoc; doc++) {
+      if (!tombstones.get(doc) && texts[doc].contains(needle)) {
+        matches.add(doc);
+      }
+    }
+    return matches;
+  }
+
+  private static String normalize(String keyword) {
+    return keyword.toLowerCase(Locale.ROOT);
+  }
+
+  private static String text(UserResponse user) {
+    StringBuilder text = new StringBuilder();
+    for (String field : new String[]{user.getUsername(), user.getPhone(), user.getEmail(), user.getRole()}) {
+      if (field != null) {
+        text.append(normalize(field)).append(FIELD_SEPARATOR);
+      }
+    }
+    return text.toString();
+  }
+
+  private static void forEachTrigram(String text, LongConsumer consumer) {
+    for (int i = 0; i + GRAM <= text.length(); i++) {
+      if (text.charAt(i) != FIELD_SEPARATOR && text.charAt(i + 1) != FIELD_SEPARATOR
+            && text.charAt(i + 2) != FIELD_SEPARATOR) {
+        consumer.accept(trigram(text, i));
+      }
+    }
+  }
+
+  private static long trigram(String text, int start) {
+    return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+  }
+}
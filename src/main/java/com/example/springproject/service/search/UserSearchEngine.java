@@ -0,0 +1,53 @@
+package com.example.springproject.service.search;
+
+import com.example.springproject.dto.response.UserResponse;
+
+import java.util.List;
+
+/**
+ * Pluggable engine answering keyword searches over users with user ids only.
+ * The ids are hydrated from the database by the caller, so the engine never has to hold full user rows.
+ */
+public interface UserSearchEngine {
+
+  /**
+   * Tells whether the engine can answer searches. While it is not ready, callers fall back to the database.
+   *
+   * @return true if searches can be answered by the engine.
+   */
+  boolean isReady();
+
+  /**
+   * Adds a user to the engine, replacing any previous version of the same user.
+   *
+   * @param user The user to index.
+   */
+  void index(UserResponse user);
+
+  /**
+   * Removes a user from the engine.
+   *
+   * @param id The unique identifier of the user.
+   */
+  void remove(String id);
+
+  /**
+   * Searches the users containing the keyword in one of their searchable fields.
+   *
+   * @param keyword The keyword to search for, case-insensitive.
+   * @param offset  The number of matches to skip.
+   * @param limit   The maximum number of ids to return.
+   * @return The ids of the requested page and the total number of matches.
+   */
+  SearchHits search(String keyword, int offset, int limit);
+
+  /**
+   * Searches the users containing the keyword whose id sorts after the given id (keyset pagination).
+   *
+   * @param keyword The keyword to search for, case-insensitive.
+   * @param after   The id of the last user of the previous page, or null for the first page.
+   * @param limit   The maximum number of ids to return.
+   * @return The matching ids, ordered by id.
+   */
+  List<String> searchAfter(String keyword, String after, int limit);
+}
@@ -0,0 +1,142 @@
+package com.example.springproject.service.support;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, concurrent read-through cache.
+ *
+ * Backed by Caffeine, whose Window TinyLFU policy only admits a new entry when it is estimated to be used
+ * more often than the entry it would evict, so a skewed hot set stays cached while one-off reads do not
+ * flush it. Entries expire after the configured time to live and hit, miss and eviction counts are recorded.
+ * A disabled cache calls the loader every time.
+ *
+ * A miss installs a pending future and runs the loader on the calling thread, outside of any lock of the map,
+ * so a virtual thread loading from the database is not pinned to its carrier as it would be by a computing get.
+ * Caffeine records the load statistics of that future itself once it completes.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+public class ReadThroughCache<K, V> {
+  private final AsyncCache<K, V> cache;
+  private final StatsCounter statsCounter;
+
+  private ReadThroughCache(AsyncCache<K, V> cache, StatsCounter statsCounter) {
+    this.cache = cache;
+    this.statsCounter = statsCounter;
+  }
+
+  /**
+   * Creates an enabled cache.
+   *
+   * @param maximumSize The maximum number of entries.
+   * @param timeToLive  The time after which an entry expires, counted from when it was loaded.
+   * @return A new ReadThroughCache.
+   */
+  public static <K, V> ReadThroughCache<K, V> of(long maximumSize, Duration timeToLive) {
+    StatsCounter statsCounter = new ConcurrentStatsCounter();
+    return new ReadThroughCache<>(Caffeine.newBuilder()
+          .maximumSize(maximumSize)
+          .expireAfterWrite(timeToLive)
+          .recordStats(() -> statsCounter)
+          .buildAsync(), statsCounter);
+  }
+
+  /**
+   * Creates a cache that does not cache anything.
+   *
+   * @return A new disabled ReadThroughCache.
+   */
+  public static <K, V> ReadThroughCache<K, V> disabled() {
+    return new ReadThroughCache<>(null, null);
+  }
+
+  /**
+   * Returns the cached value of the key, loading and caching it on a miss. Concurrent misses on the same key
+   * wait for a single load. A null value is returned but not cached.
+   *
+   * @param key    The key to look up.
+   * @param loader The function loading the value of a missing key.
+   * @return The value, or null if the loader found nothing.
+   */
+  public V get(K key, Function<K, V> loader) {
+    if (cache == null) {
+      return loader.apply(key);
+    }
+    CompletableFuture<V> cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return join(cached);
+    }
+    CompletableFuture<V> loading = new CompletableFuture<>();
+    CompletableFuture<V> concurrent = cache.asMap().putIfAbsent(key, loading);
+    if (concurrent != null) {
+      return join(concurrent);
+    }
+    try {
+      V value = loader.apply(key);
+      loading.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      loading.completeExceptionally(ex);
+      cache.asMap().remove(key, loading);
+      throw ex;
+    }
+  }
+
+  /**
+   * Removes the cached value of the key, if any.
+   *
+   * @param key The key to invalidate.
+   */
+  public void invalidate(K key) {
+    if (cache != null) {
+      cache.synchronous().invalidate(key);
+    }
+  }
+
+  /**
+   * Returns the hit, miss and eviction statistics of the cache.
+   *
+   * @return The statistics, empty when the cache is disabled.
+   */
+  public Optional<CacheStats> stats() {
+    return cache == null ? Optional.empty() : Optional.of(statsCounter.snapshot());
+  }
+
+  /**
+   * Returns the underlying Caffeine cache, for instrumentation.
+   *
+   * @return The Caffeine cache, empty when the cache is disabled.
+   */
+  public Optional<Cache<K, V>> nativeCache() {
+    return cache == null ? Optional.empty() : Optional.of(cache.synchronous());
+  }
+
+  /**
+   * Waits for a value loaded by another thread, rethrowing the failure of its loader as is.
+   */
+  private static <V> V join(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.springproject.service.support;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Maintained row counter for a table, so listings can report a total without a count query per request.
+ *
+ * The counter is seeded lazily with a real count, then kept up to date by the writes of this instance
+ * through {@link #add(long)}. It is re-seeded after the configured interval to absorb writes made by
+ * other instances or outside the application; a non positive interval disables re-seeding.
+ */
+public class RowCounter {
+  private static final long UNSEEDED = -1L;
+
+  private final LongSupplier source;
+  private final long resyncMillis;
+  private final AtomicLong count = new AtomicLong();
+  private final ReentrantLock seedLock = new ReentrantLock();
+  private volatile long seededAt = UNSEEDED;
+
+  /**
+   * Constructor for RowCounter.
+   *
+   * @param source         The query producing the exact number of rows, e.g. repository::count.
+   * @param resyncInterval The interval after which the counter is seeded again from the source.
+   */
+  public RowCounter(LongSupplier source, Duration resyncInterval) {
+    this.source = source;
+    this.resyncMillis = resyncInterval.toMillis();
+  }
+
+  /**
+   * Returns the current number of rows, seeding the counter first if needed.
+   *
+   * @return The number of rows.
+   */
+  public long get() {
+    if (needsSeed(seededAt)) {
+      seed();
+    }
+    return count.get();
+  }
+
+  /**
+   * Adjusts the counter after rows have been inserted (positive delta) or removed (negative delta).
+   * Must be called once the change is committed.
+   *
+   * @param delta The number of rows added or removed.
+   */
+  public void add(long delta) {
+    if (seededAt != UNSEEDED) {
+      count.addAndGet(delta);
+    }
+  }
+
+  private boolean needsSeed(long seededAt) {
+    return seededAt == UNSEEDED || (resyncMillis > 0 && System.currentTimeMillis() - seededAt >= resyncMillis);
+  }
+
+  private void seed() {
+    seedLock.lock();
+    try {
+      if (needsSeed(seededAt)) {
+        count.set(source.getAsLong());
+        seededAt = System.currentTimeMillis();
+      }
+    } finally {
+      seedLock.unlock();
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.example.springproject.service.support;
+
+import com.example.springproject.exception.base.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls into one.
+ *
+ * The first caller of a key runs the call on its own thread; callers of the same key arriving while it runs do not
+ * run it again but wait for it and receive its result, or its exception, as is. The key is forgotten once the call
+ * completes, so nothing is cached: a caller arriving afterwards runs the call again. Callers therefore share the
+ * returned object and must not modify it.
+ *
+ * Waiting callers give up after the maximum wait with a {@link ServiceUnavailableException}, so a stuck call does not
+ * hold every caller of its key. A disabled single flight runs every call.
+ *
+ * @param <K> The type of the keys identifying identical calls.
+ * @param <V> The type of the results.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+  @Getter
+  private final String name;
+  private final long maxWaitNanos;
+  private final ConcurrentMap<K, CompletableFuture<V>> flights;
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder timedOut = new LongAdder();
+
+  private SingleFlight(String name, Duration maxWait, boolean enabled) {
+    this.name = name;
+    this.maxWaitNanos = maxWait.toNanos();
+    this.flights = enabled ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * Creates an enabled single flight.
+   *
+   * @param name    The name of the coalesced operation, used for the metrics.
+   * @param maxWait The time a caller waits for the call of another one before giving up.
+   * @return A new SingleFlight.
+   */
+  public static <K, V> SingleFlight<K, V> of(String name, Duration maxWait) {
+    return new SingleFlight<>(name, maxWait, true);
+  }
+
+  /**
+   * Creates a single flight running every call.
+   *
+   * @param name The name of the operation.
+   * @return A new disabled SingleFlight.
+   */
+  public static <K, V> SingleFlight<K, V> disabled(String name) {
+    return new SingleFlight<>(name, Duration.ZERO, false);
+  }
+
+  /**
+   * Runs the call of the key, or waits for the one already running.
+   *
+   * @param key  The key identifying identical calls.
+   * @param call The call.
+   * @return The result of the call, possibly null.
+   * @throws ServiceUnavailableException if the running call did not complete within the maximum wait.
+   */
+  public V execute(K key, Supplier<V> call) {
+    if (flights == null) {
+      executed.increment();
+      return call.get();
+    }
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> running = flights.putIfAbsent(key, flight);
+    if (running != null) {
+      coalesced.increment();
+      return await(running);
+    }
+    executed.increment();
+    try {
+      V value = call.get();
+      flight.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      flight.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      flights.remove(key, flight);
+    }
+  }
+
+  /**
+   * Returns the number of calls run since startup.
+   *
+   * @return The number of executed calls.
+   */
+  public long getExecuted() {
+    return executed.sum();
+  }
+
+  /**
+   * Returns the number of calls answered by the call of another caller since startup, timed out ones included.
+   *
+   * @return The number of coalesced calls.
+   */
+  public long getCoalesced() {
+    return coalesced.sum();
+  }
+
+  /**
+   * Returns the number of callers that gave up waiting since startup.
+   *
+   * @return The number of timed out calls.
+   */
+  public long getTimedOut() {
+    return timedOut.sum();
+  }
+
+  /**
+   * Registers the executed, coalesced and timed out calls, tagged with the name of the operation.
+   *
+   * @param registry The registry of the application.
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("single.flight.executed", this, SingleFlight::getExecuted)
+          .tag("operation", name)
+          .description("Calls run against the database")
+          .register(registry);
+    FunctionCounter.builder("single.flight.coalesced", this, SingleFlight::getCoalesced)
+          .tag("operation", name)
+          .description("Calls answered by an identical call already running")
+          .register(registry);
+    FunctionCounter.builder("single.flight.timed.out", this, SingleFlight::getTimedOut)
+          .tag("operation", name)
+          .description("Calls that gave up waiting for an identical call")
+          .register(registry);
+  }
+
+  /**
+   * Waits for the call of another caller, rethrowing its failure as is.
+   */
+  private V await(CompletableFuture<V> running) {
+    try {
+      return running.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      timedOut.increment();
+      throw new ServiceUnavailableException();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException();
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.springproject.service.support;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the user reads whose result is kept in a cache: whole users put in the user cache, and pages of users put in
+ * the query region of Hibernate.
+ *
+ * Read-only transactions are served by the read replicas. A replica lagging behind a delete still returns the
+ * deleted user. A cache filled from that replica would keep serving the user after the replica caught up, because
+ * the delete invalidated the cache before the fill. So when there are replicas, a cache fill runs in a read-write
+ * transaction of its own, which is served by the primary. The read-only transaction around it has not borrowed a
+ * connection yet, and a fill answered from the cache borrows none either. Reads of a disabled cache are not fills
+ * and run in the current transaction.
+ */
+public class UserCacheFills {
+  private final TransactionTemplate byId;
+  private final TransactionTemplate pages;
+
+  private UserCacheFills(TransactionTemplate byId, TransactionTemplate pages) {
+    this.byId = byId;
+    this.pages = pages;
+  }
+
+  /**
+   * Creates the fills of the given caches, run on the primary.
+   *
+   * @param transactionManager The transaction manager of the primary.
+   * @param byIdOnPrimary      Whether the fills of the user cache run on the primary.
+   * @param pagesOnPrimary     Whether the fills of the pages of users run on the primary.
+   * @return A new UserCacheFills.
+   */
+  public static UserCacheFills onPrimary(PlatformTransactionManager transactionManager, boolean byIdOnPrimary,
+                                         boolean pagesOnPrimary) {
+    TransactionTemplate primary = new TransactionTemplate(transactionManager);
+    primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    primary.setReadOnly(false);
+    return new UserCacheFills(byIdOnPrimary ? primary : null, pagesOnPrimary ? primary : null);
+  }
+
+  /**
+   * Creates fills running in the current transaction, for a database without replicas.
+   *
+   * @return A new UserCacheFills.
+   */
+  public static UserCacheFills inCurrentTransaction() {
+    return new UserCacheFills(null, null);
+  }
+
+  /**
+   * Runs a read of a whole user by id put in the user cache.
+   *
+   * @param read The read.
+   * @return The result of the read.
+   */
+  public <T> T byId(Supplier<T> read) {
+    return execute(byId, read);
+  }
+
+  /**
+   * Runs a read of a page of users put in the query region.
+   *
+   * @param read The read.
+   * @return The result of the read.
+   */
+  public <T> T pages(Supplier<T> read) {
+    return execute(pages, read);
+  }
+
+  private static <T> T execute(TransactionTemplate template, Supplier<T> read) {
+    return template == null ? read.get() : template.execute(status -> read.get());
+  }
+}
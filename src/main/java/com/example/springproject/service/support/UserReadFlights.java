@@ -0,0 +1,53 @@
+package com.example.springproject.service.support;
+
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.dto.response.UserVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * The single flights of the hot user reads that do not go through the user cache: selections of fields and versions
+ * by id, and search pages, whose first pages are requested by many clients at once. Whole users are read through
+ * the cache, which already loads each of them once for concurrent readers.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserReadFlights implements MeterBinder {
+  private final SingleFlight<ByIdKey, UserResponse> byId;
+  private final SingleFlight<String, UserVersion> version;
+  private final SingleFlight<SearchKey, PageResponse<UserResponse>> search;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    byId.bindTo(registry);
+    version.bindTo(registry);
+    search.bindTo(registry);
+  }
+
+  /**
+   * The key of a read by id of a selection of fields.
+   *
+   * @param id     The id of the user.
+   * @param fields The fields read.
+   */
+  public record ByIdKey(String id, Set<UserField> fields) {
+  }
+
+  /**
+   * The key of a page of search results.
+   *
+   * @param keyword The keyword searched, or null.
+   * @param size    The size of the page.
+   * @param page    The number of the page.
+   * @param counted Whether the total number of matches is counted.
+   * @param fields  The fields read.
+   */
+  public record SearchKey(String keyword, int size, int page, boolean counted, Set<UserField> fields) {
+  }
+}
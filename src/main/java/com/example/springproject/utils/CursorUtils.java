@@ -0,0 +1,47 @@
+package com.example.springproject.utils;
+
+import com.example.springproject.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding the opaque cursors used by keyset pagination.
+ * A cursor wraps the sort key of the last row of a page, so the next page can seek directly past it.
+ */
+public class CursorUtils {
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private CursorUtils() {}
+
+  /**
+   * Encodes the sort key of the last returned row into an opaque cursor.
+   *
+   * @param lastKey The sort key (user id) of the last row of the page.
+   * @return The URL-safe cursor.
+   */
+  public static String encode(String lastKey) {
+    return ENCODER.encodeToString(lastKey.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor previously produced by {@link #encode(String)}.
+   * A blank cursor means "start from the first page" and is decoded to null.
+   *
+   * @param cursor The cursor sent by the client.
+   * @return The sort key to seek after, or null for the first page.
+   * @throws InvalidCursorException if the cursor is not a valid token.
+   */
+  public static String decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      return new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidCursorException();
+    }
+  }
+}
@@ -1,19 +1,30 @@
 package com.example.springproject.utils;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 
 /**
  * Utility class for handling date-related operations.
  */
 public class DateUtils {
+  private static volatile CachedDate currentDate = CachedDate.of(System.currentTimeMillis());
+
   /**
    *
    *The getCurrentDateString method in the provided code snippet returns the current
-   *date as a string in the format "yyyy-MM-dd" using the LocalDate.now() method
+   *date as a string in the format "yyyy-MM-dd". The string is computed once per day and
+   *shared until midnight, in the default time zone, so each call only reads the clock
    * @return String yyyy-MM-dd
    */
   public static String getCurrentDateString() {
-    return LocalDate.now().toString();
+    CachedDate date = currentDate;
+    long now = System.currentTimeMillis();
+    if (now < date.from || now >= date.until) {
+      date = CachedDate.of(now);
+      currentDate = date;
+    }
+    return date.value;
   }
 
   /**
@@ -25,4 +36,26 @@ public class DateUtils {
   public static Long getCurrentTimeMillis() {
     return System.currentTimeMillis();
   }
-}
\ No newline at end of file
+
+  /**
+   * The formatted date of a day, with the bounds in milliseconds of that day.
+   */
+  private static final class CachedDate {
+    private final String value;
+    private final long from;
+    private final long until;
+
+    private CachedDate(String value, long from, long until) {
+      this.value = value;
+      this.from = from;
+      this.until = until;
+    }
+
+    private static CachedDate of(long millis) {
+      ZoneId zone = ZoneId.systemDefault();
+      LocalDate date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+      return new CachedDate(date.toString(), date.atStartOfDay(zone).toInstant().toEpochMilli(),
+            date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.example.springproject.utils;
+
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.dto.response.UserVersion;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class for computing the strong entity tags of user resources and evaluating conditional requests.
+ *
+ * A tag is a 64-bit FNV-1a digest of what the body depends on, together with the selected fields, the language of the
+ * message and the date of the timestamp. The tag of a single user is derived from its version, its id and the time of
+ * its last update, so a conditional request is answered without loading the user. The tag of a page is derived from
+ * every field of its users, as a page has no version of its own.
+ */
+public class ETagUtils {
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final long NULL_MARKER = 0x9e3779b97f4a7c15L;
+
+  private ETagUtils() {}
+
+  /**
+   * Computes the tag of a single user from its version.
+   *
+   * @param version  The version of the user.
+   * @param language The language of the response.
+   * @param fields   The fields of the user in the response.
+   * @return The quoted entity tag.
+   */
+  public static String ofVersion(UserVersion version, String language, Set<UserField> fields) {
+    long hash = mix(FNV_OFFSET_BASIS, UserField.mask(fields));
+    hash = hash(hash, version.getId());
+    hash = hash(hash, version.getLastUpdatedAt());
+    hash = hash(hash, language);
+    hash = hash(hash, DateUtils.getCurrentDateString());
+    return quote(hash);
+  }
+
+  /**
+   * Computes the tag of a page of users from its content.
+   *
+   * @param page     The page.
+   * @param language The language of the response.
+   * @param fields   The fields of the users in the response.
+   * @return The quoted entity tag.
+   */
+  public static String ofPage(PageResponse<UserResponse> page, String language, Set<UserField> fields) {
+    long hash = mix(FNV_OFFSET_BASIS, UserField.mask(fields));
+    List<UserResponse> content = page.getContent();
+    if (content != null) {
+      for (UserResponse user : content) {
+        hash = hash(hash, user);
+      }
+    }
+    hash = hash(hash, page.getAmount() == null ? null : page.getAmount().longValue());
+    hash = hash(hash, page.getHasNext() == null ? null : page.getHasNext() ? 1L : 0L);
+    hash = hash(hash, page.getNextCursor());
+    hash = hash(hash, language);
+    hash = hash(hash, DateUtils.getCurrentDateString());
+    return quote(hash);
+  }
+
+  /**
+   * Tells whether a GET request can be answered with 304 Not Modified. If-None-Match takes precedence over
+   * If-Modified-Since, and tags are compared weakly, as required for GET.
+   *
+   * @param headers      The headers of the request.
+   * @param etag         The current tag of the resource.
+   * @param lastModified The time of the last modification of the resource in milliseconds, or null if unknown.
+   * @return true if the client already has the current version of the resource.
+   */
+  public static boolean isNotModified(HttpHeaders headers, String etag, Long lastModified) {
+    List<String> ifNoneMatch = headers.getIfNoneMatch();
+    if (!ifNoneMatch.isEmpty()) {
+      for (String tag : ifNoneMatch) {
+        if ("*".equals(tag) || opaque(tag).equals(opaque(etag))) {
+          return true;
+        }
+      }
+      return false;
+    }
+    long ifModifiedSince = headers.getIfModifiedSince();
+    return lastModified != null && ifModifiedSince >= 0 && lastModified / 1000 * 1000 <= ifModifiedSince;
+  }
+
+  private static String opaque(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+
+  private static long hash(long hash, UserResponse user) {
+    hash = hash(hash, user.getId());
+    hash = hash(hash, user.getUsername());
+    hash = hash(hash, user.getPassword());
+    hash = hash(hash, user.getEmail());
+    hash = hash(hash, user.getPhone());
+    return hash(hash, user.getRole());
+  }
+
+  private static long hash(long hash, String value) {
+    if (value == null) {
+      return mix(hash, NULL_MARKER);
+    }
+    for (int i = 0; i < value.length(); i++) {
+      hash = mix(hash, value.charAt(i));
+    }
+    return mix(hash, value.length());
+  }
+
+  private static long hash(long hash, Long value) {
+    return mix(hash, value == null ? NULL_MARKER : value);
+  }
+
+  private static long mix(long hash, long value) {
+    for (int i = 0; i < Long.BYTES; i++) {
+      hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+      value >>>= 8;
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, char value) {
+    hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+    return (hash ^ (value >>> 8)) * FNV_PRIME;
+  }
+
+  private static String quote(long hash) {
+    return '"' + Long.toHexString(hash) + '"';
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.springproject.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for hooking work onto the outcome of the current transaction.
+ */
+public class TransactionUtils {
+
+  private TransactionUtils() {}
+
+  /**
+   * Runs the given action once the current transaction has committed, or immediately when no transaction
+   * is active. Used to keep in-memory state (counters, indexes, caches) in line with what is really persisted.
+   *
+   * @param action The action to run after commit.
+   */
+  public static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
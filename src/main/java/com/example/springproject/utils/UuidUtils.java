@@ -0,0 +1,48 @@
+package com.example.springproject.utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Utility class for generating time-ordered UUIDs.
+ */
+public class UuidUtils {
+  private static final int SEQUENCE_BITS = 12;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+  private static final long VERSION_7 = 0x7000L;
+  private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+  private static final long VARIANT_RFC = 0x8000000000000000L;
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  /**
+   * The last (milliseconds, sequence) pair handed out, packed as milliseconds << 12 | sequence
+   */
+  private static final AtomicLong LAST_TIMESTAMP = new AtomicLong();
+
+  private UuidUtils() {}
+
+  /**
+   * Generates a version 7 UUID (RFC 9562): 48 bits of Unix milliseconds, a 12-bit sequence that keeps ids
+   * generated within the same millisecond increasing, then 62 random bits. Ids generated by this JVM are
+   * strictly increasing, and their string form sorts in generation order, so new rows are appended at the
+   * end of the clustered index instead of being inserted at random pages.
+   *
+   * @return A new time-ordered UUID.
+   */
+  public static UUID timeOrdered() {
+    long now = System.currentTimeMillis() << SEQUENCE_BITS;
+    long previous;
+    long next;
+    do {
+      previous = LAST_TIMESTAMP.get();
+      next = Math.max(now, previous + 1);
+    } while (!LAST_TIMESTAMP.compareAndSet(previous, next));
+
+    long millis = next >>> SEQUENCE_BITS;
+    long mostSignificant = (millis << 16) | VERSION_7 | (next & SEQUENCE_MASK);
+    long leastSignificant = (RANDOM.nextLong() & VARIANT_MASK) | VARIANT_RFC;
+    return new UUID(mostSignificant, leastSignificant);
+  }
+}
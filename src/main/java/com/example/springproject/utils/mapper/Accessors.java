@@ -0,0 +1,105 @@
+package com.example.springproject.utils.mapper;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compiles constructors, getters and setters into functional interfaces with {@link LambdaMetafactory}, so that
+ * calling them costs a direct, inlinable invocation instead of a reflective one. Each accessor is spun in the
+ * lookup of its declaring class, which keeps it visible to the class loader of the application classes.
+ * When a lambda cannot be spun, for instance for a class that is not accessible, the accessor falls back to
+ * invoking the method handle.
+ */
+final class Accessors {
+
+  private Accessors() {}
+
+  @SuppressWarnings("unchecked")
+  static <T> Supplier<T> constructor(Class<T> type) {
+    try {
+      MethodHandles.Lookup lookup = lookupIn(type);
+      MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+      try {
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+              MethodType.methodType(Object.class), constructor, MethodType.methodType(type));
+        return (Supplier<T>) site.getTarget().invokeExact();
+      } catch (Throwable ex) {
+        MethodHandle generic = constructor.asType(MethodType.methodType(Object.class));
+        return () -> (T) invoke(() -> generic.invokeExact());
+      }
+    } catch (NoSuchMethodException | IllegalAccessException ex) {
+      throw new IllegalArgumentException(type.getName() + " has no accessible no-argument constructor", ex);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static Function<Object, Object> getter(Method method) {
+    try {
+      MethodHandles.Lookup lookup = lookupIn(method.getDeclaringClass());
+      MethodHandle getter = lookup.unreflect(method);
+      try {
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+              MethodType.methodType(Object.class, Object.class), getter,
+              MethodType.methodType(box(method.getReturnType()), method.getDeclaringClass()));
+        return (Function<Object, Object>) site.getTarget().invokeExact();
+      } catch (Throwable ex) {
+        MethodHandle generic = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return source -> invoke(() -> generic.invokeExact(source));
+      }
+    } catch (IllegalAccessException ex) {
+      throw new IllegalArgumentException(method + " is not accessible", ex);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static BiConsumer<Object, Object> setter(Method method) {
+    try {
+      MethodHandles.Lookup lookup = lookupIn(method.getDeclaringClass());
+      MethodHandle setter = lookup.unreflect(method);
+      try {
+        CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+              MethodType.methodType(void.class, Object.class, Object.class), setter,
+              MethodType.methodType(void.class, method.getDeclaringClass(), box(method.getParameterTypes()[0])));
+        return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+      } catch (Throwable ex) {
+        MethodHandle generic = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (target, value) -> invoke(() -> {
+          generic.invokeExact(target, value);
+          return null;
+        });
+      }
+    } catch (IllegalAccessException ex) {
+      throw new IllegalArgumentException(method + " is not accessible", ex);
+    }
+  }
+
+  static Class<?> box(Class<?> type) {
+    return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+  }
+
+  private static MethodHandles.Lookup lookupIn(Class<?> type) throws IllegalAccessException {
+    return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+  }
+
+  private static Object invoke(Invocation invocation) {
+    try {
+      return invocation.invoke();
+    } catch (RuntimeException | Error ex) {
+      throw ex;
+    } catch (Throwable ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Invocation {
+    Object invoke() throws Throwable;
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.springproject.utils.mapper;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Mapper copying the properties of a source type into a new instance of a target type.
+ *
+ * A property is copied when the source has a getter and the target a setter of the same name, and the value
+ * of the getter can be assigned to the setter, boxing and unboxing included. Other properties are left
+ * untouched, and a null value is not copied into a primitive property. The matching is resolved and the
+ * accessors compiled once per (source, target) pair, the first time the pair is mapped; mapping is then a
+ * sequence of direct calls.
+ *
+ * Unlike the ModelMapper it replaces, properties are matched by exact name only: nested properties are not
+ * flattened or unflattened (a target {@code addressCity} is not read from {@code getAddress().getCity()}), and
+ * values are not converted between types (a String is not parsed into a number or a date, nor a number
+ * formatted into a String). Properties that relied on either are now left untouched. The entities and DTOs of
+ * this application declare matching names and types, so none of them did.
+ *
+ * @param <S> The type of the source.
+ * @param <T> The type of the target.
+ */
+public final class BeanMapper<S, T> {
+  private static final ClassValue<Map<Class<?>, BeanMapper<?, ?>>> MAPPERS = new ClassValue<>() {
+    @Override
+    protected Map<Class<?>, BeanMapper<?, ?>> computeValue(Class<?> sourceType) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private final Supplier<T> constructor;
+  private final Property[] properties;
+
+  private BeanMapper(Class<S> sourceType, Class<T> targetType) {
+    this.constructor = Accessors.constructor(targetType);
+    Map<String, PropertyDescriptor> targetProperties = new HashMap<>();
+    for (PropertyDescriptor property : properties(targetType)) {
+      if (property.getWriteMethod() != null) {
+        targetProperties.put(property.getName(), property);
+      }
+    }
+    List<Property> propertyList = new ArrayList<>();
+    for (PropertyDescriptor property : properties(sourceType)) {
+      Method getter = property.getReadMethod();
+      PropertyDescriptor target = targetProperties.get(property.getName());
+      if (getter == null || target == null) {
+        continue;
+      }
+      Method setter = target.getWriteMethod();
+      Class<?> parameterType = setter.getParameterTypes()[0];
+      if (!Accessors.box(parameterType).isAssignableFrom(Accessors.box(getter.getReturnType()))) {
+        continue;
+      }
+      propertyList.add(new Property(Accessors.getter(getter), Accessors.setter(setter), parameterType.isPrimitive()));
+    }
+    this.properties = propertyList.toArray(new Property[0]);
+  }
+
+  /**
+   * Returns the mapper of a (source, target) pair, compiling it on first use.
+   *
+   * @param sourceType The type of the source.
+   * @param targetType The type of the target.
+   * @return The mapper.
+   * @throws IllegalArgumentException if the target type has no accessible no-argument constructor.
+   */
+  @SuppressWarnings("unchecked")
+  public static <S, T> BeanMapper<S, T> of(Class<S> sourceType, Class<T> targetType) {
+    return (BeanMapper<S, T>) MAPPERS.get(sourceType)
+          .computeIfAbsent(targetType, type -> new BeanMapper<>(sourceType, type));
+  }
+
+  /**
+   * Maps a source into a new instance of the target type.
+   *
+   * @param source The source.
+   * @return The target.
+   * @throws IllegalArgumentException if the source is null.
+   */
+  public T map(S source) {
+    if (source == null) {
+      throw new IllegalArgumentException("source cannot be null");
+    }
+    T target = constructor.get();
+    for (Property property : properties) {
+      Object value = property.getter.apply(source);
+      if (value != null || !property.primitive) {
+        property.setter.accept(target, value);
+      }
+    }
+    return target;
+  }
+
+  private static PropertyDescriptor[] properties(Class<?> type) {
+    try {
+      return Introspector.getBeanInfo(Objects.requireNonNull(type), Object.class).getPropertyDescriptors();
+    } catch (IntrospectionException ex) {
+      throw new IllegalArgumentException("Cannot introspect " + type.getName(), ex);
+    }
+  }
+
+  /**
+   * A property copied from the source to the target, with its compiled accessors.
+   */
+  private record Property(Function<Object, Object> getter, BiConsumer<Object, Object> setter, boolean primitive) {
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.springproject.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Permits and limit updates of the adaptive concurrency limiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void refusesRequestsBeyondTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.of("refusing", 2, 1, 10, 1.5, 0.2, 100);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+        assertThat(limiter.getInflight()).isEqualTo(2);
+
+        first.onSuccess();
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    void releasesAPermitOnlyOnce() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.of("once", 2, 1, 10, 1.5, 0.2, 100);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        permit.onSuccess();
+        permit.onSuccess();
+        permit.onDropped();
+
+        assertThat(limiter.getInflight()).isZero();
+        assertThat(limiter.getDropped()).isZero();
+    }
+
+    @Test
+    void growsWhileTheLatencyHoldsAndTheLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.of("growing", 4, 1, 20, 1.5, 1.0, 4);
+
+        // the first window sets the long RTT to its own, so the gradient is 1 and the limit grows by sqrt(4)
+        releaseAll(acquire(limiter, 4));
+
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void keepsTheLimitOfAGroupNotUsingIt() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.of("idle", 10, 1, 20, 1.5, 1.0, 1);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire().onSuccess();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffOnDroppedRequestsDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.of("dropping", 10, 8, 20, 1.5, 0.2, 1);
+
+        limiter.tryAcquire().onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        limiter.tryAcquire().onDropped();
+        limiter.tryAcquire().onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(8);
+        assertThat(limiter.getDropped()).isEqualTo(3);
+    }
+
+    @Test
+    void clampsTheInitialLimitBetweenTheBounds() {
+        assertThat(AdaptiveConcurrencyLimiter.of("low", 1, 4, 20, 1.5, 0.2, 10).getLimit()).isEqualTo(4);
+        assertThat(AdaptiveConcurrencyLimiter.of("high", 100, 4, 20, 1.5, 0.2, 10).getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void disabledLimiterGrantsEveryPermit() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.disabled("disabled");
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 1000);
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::onDropped);
+
+        assertThat(permits).doesNotContainNull();
+        assertThat(limiter.getRejected()).isZero();
+        assertThat(limiter.getDropped()).isZero();
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.tryAcquire());
+        }
+        return permits;
+    }
+
+    private static void releaseAll(List<AdaptiveConcurrencyLimiter.Permit> permits) {
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.springproject.concurrency;
+
+import com.example.springproject.exception.base.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Limits of the thread pool and semaphore bulkheads.
+ */
+class BulkheadTest {
+    // each caller on its own thread, as a common pool of one thread would run them one after the other
+    private static final Executor CALLERS = task -> new Thread(task).start();
+
+    @Test
+    void poolRejectsOnceItsThreadsAndQueueAreTaken() throws Exception {
+        Bulkhead bulkhead = Bulkhead.of("pool", 2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            List<CompletableFuture<String>> accepted = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                accepted.add(bulkhead.submit(() -> await(release)));
+            }
+            while (bulkhead.getActive() < 2) {
+                Thread.onSpinWait();
+            }
+
+            assertThat(bulkhead.getQueueDepth()).isEqualTo(1);
+            assertThatThrownBy(() -> bulkhead.submit(() -> "rejected"))
+                    .isInstanceOf(ServiceUnavailableException.class);
+            assertThat(bulkhead.getRejected()).isEqualTo(1);
+
+            release.countDown();
+            for (CompletableFuture<String> future : accepted) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).startsWith("bulkhead-pool-");
+            }
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    void semaphoreRunsOnTheCallerAndRejectsBeyondItsQueue() throws Exception {
+        Bulkhead bulkhead = Bulkhead.semaphore("semaphore", 2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<CompletableFuture<String>>> callers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            callers.add(CompletableFuture.supplyAsync(() -> bulkhead.submit(() -> await(release)), CALLERS));
+        }
+        while (bulkhead.getActive() < 2 || bulkhead.getQueueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> bulkhead.submit(() -> "rejected"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(bulkhead.getRejected()).isEqualTo(1);
+
+        release.countDown();
+        for (CompletableFuture<CompletableFuture<String>> caller : callers) {
+            assertThat(caller.get(5, TimeUnit.SECONDS).join()).doesNotStartWith("bulkhead-");
+        }
+        assertThat(bulkhead.getActive()).isZero();
+        assertThat(bulkhead.getQueueDepth()).isZero();
+        assertThat(bulkhead.submit(() -> Thread.currentThread().getName()).join())
+                .isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void semaphoreGivesItsPermitsBackWhenATaskFails() {
+        Bulkhead bulkhead = Bulkhead.semaphore("failing", 1, 0);
+
+        assertThatThrownBy(() -> bulkhead.submit(() -> {
+            throw new IllegalStateException("failed");
+        })).hasMessage("failed");
+
+        assertThat(bulkhead.submit(() -> "next").join()).isEqualTo("next");
+        assertThat(bulkhead.getRejected()).isZero();
+    }
+
+    private static String await(CountDownLatch release) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return Thread.currentThread().getName();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.springproject.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-client buckets and the bound on the number of clients tracked.
+ */
+class ClientBucketsTest {
+
+    @Test
+    void limitsEachClientWithItsOwnBucket() {
+        ClientBuckets buckets = new ClientBuckets(0.001, 2, 100, 4);
+
+        assertThat(buckets.tryConsume("ip:10.0.0.1")).isZero();
+        assertThat(buckets.tryConsume("ip:10.0.0.1")).isZero();
+        assertThat(buckets.tryConsume("ip:10.0.0.1")).isPositive();
+        assertThat(buckets.tryConsume("ip:10.0.0.2")).isZero();
+        assertThat(buckets.size()).isEqualTo(2);
+    }
+
+    @Test
+    void expiresIdleClients() {
+        AtomicLong now = new AtomicLong();
+        ClientBuckets buckets = new ClientBuckets(1, 2, 4, 1, now::get);
+        for (int i = 0; i < 4; i++) {
+            buckets.tryConsume("ip:10.0.0." + i);
+        }
+        // at one token per second the buckets of two tokens are full again two seconds later
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        buckets.tryConsume("ip:10.0.1.0");
+
+        assertThat(buckets.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsClientsBeyondTheBoundWhenNoneIsIdle() {
+        ClientBuckets buckets = new ClientBuckets(0.001, 1, 4, 1);
+        for (int i = 0; i < 100; i++) {
+            buckets.tryConsume("ip:10.0.0." + i);
+        }
+
+        assertThat(buckets.size()).isEqualTo(4);
+    }
+
+    @Test
+    void keepsTheActiveClientsUnderAFloodOfNewKeys() {
+        ClientBuckets buckets = new ClientBuckets(0.001, 1_000_000, 4, 1);
+        for (int i = 0; i < 1000; i++) {
+            buckets.tryConsume("ip:10.0.0.1");
+            buckets.tryConsume("ip:10.0.1." + i);
+        }
+
+        // a client keeping its bucket has consumed a token per request, one starting again would have a full bucket
+        assertThat(buckets.tryConsume("ip:10.0.0.1")).isZero();
+        assertThat(buckets.size()).isEqualTo(4);
+    }
+
+    @Test
+    void staysBoundedUnderConcurrentNewClients() throws InterruptedException {
+        ClientBuckets buckets = new ClientBuckets(0.001, 1, 64, 4);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t * 10_000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    buckets.tryConsume("key:" + (offset + i));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(buckets.size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void roundsTheStripesUpToAPowerOfTwoAndSharesTheCapacity() {
+        ClientBuckets buckets = new ClientBuckets(0.001, 1, 6, 3);
+        for (int i = 0; i < 1000; i++) {
+            buckets.tryConsume("key:" + i);
+        }
+
+        // four stripes of one client each
+        assertThat(buckets.size()).isEqualTo(4);
+    }
+}
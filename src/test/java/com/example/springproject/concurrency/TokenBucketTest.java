@@ -0,0 +1,68 @@
+package com.example.springproject.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Token bucket on the generic cell rate algorithm, driven by an explicit clock.
+ */
+class TokenBucketTest {
+    private static final long INTERVAL = 1_000;
+
+    @Test
+    void allowsTheBurstThenRefusesWithTheWaitForTheNextToken() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 3, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryConsume(400)).isEqualTo(INTERVAL - 400);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(INTERVAL)).isZero();
+        assertThat(bucket.tryConsume(INTERVAL)).isPositive();
+        assertThat(bucket.tryConsume(3 * INTERVAL)).isZero();
+        assertThat(bucket.tryConsume(3 * INTERVAL)).isZero();
+        assertThat(bucket.tryConsume(3 * INTERVAL)).isPositive();
+    }
+
+    @Test
+    void neverHoldsMoreThanItsCapacityAfterIdling() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, 0);
+        long later = 1_000 * INTERVAL;
+
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    @Test
+    void isFullOnceEveryTakenTokenIsRefilled() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, 0);
+        assertThat(bucket.isFull(0)).isTrue();
+
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.isFull(INTERVAL)).isFalse();
+        assertThat(bucket.isFull(2 * INTERVAL)).isTrue();
+    }
+
+    @Test
+    void worksAcrossTheWrapOfNanoTime() {
+        long now = Long.MAX_VALUE - INTERVAL / 2;
+        TokenBucket bucket = new TokenBucket(INTERVAL, 1, now);
+
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now + INTERVAL / 4)).isEqualTo(INTERVAL - INTERVAL / 4);
+        assertThat(bucket.tryConsume(now + INTERVAL)).isZero();
+    }
+}
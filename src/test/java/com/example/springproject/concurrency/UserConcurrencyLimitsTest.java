@@ -0,0 +1,35 @@
+package com.example.springproject.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grouping of the user endpoints under their concurrency limits.
+ */
+class UserConcurrencyLimitsTest {
+    private final AdaptiveConcurrencyLimiter pointRead = AdaptiveConcurrencyLimiter.disabled("point-read");
+    private final AdaptiveConcurrencyLimiter list = AdaptiveConcurrencyLimiter.disabled("list");
+    private final AdaptiveConcurrencyLimiter write = AdaptiveConcurrencyLimiter.disabled("write");
+    private final UserConcurrencyLimits limits = new UserConcurrencyLimits(pointRead, list, write);
+
+    @Test
+    void readsByIdArePointReads() {
+        assertThat(limits.limiterFor("GET", "/api/v1/users/42")).isSameAs(pointRead);
+        assertThat(limits.limiterFor("HEAD", "/api/v1/users/42")).isSameAs(pointRead);
+    }
+
+    @Test
+    void listingsSearchesAndExportsShareALimit() {
+        assertThat(limits.limiterFor("GET", "/api/v1/users/all")).isSameAs(list);
+        assertThat(limits.limiterFor("GET", "/api/v1/users/search")).isSameAs(list);
+        assertThat(limits.limiterFor("GET", "/api/v1/users/export")).isSameAs(list);
+    }
+
+    @Test
+    void everyOtherMethodIsAWrite() {
+        assertThat(limits.limiterFor("POST", "/api/v1/users")).isSameAs(write);
+        assertThat(limits.limiterFor("DELETE", "/api/v1/users/42")).isSameAs(write);
+        assertThat(limits.limiterFor("POST", "/api/v1/users/search")).isSameAs(write);
+    }
+}
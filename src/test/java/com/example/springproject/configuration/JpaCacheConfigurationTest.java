@@ -0,0 +1,41 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statistics of the second-level cache, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.user.cache.enabled=false")
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+class JpaCacheConfigurationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void statisticsArePublishedWithoutLoggingEverySession(CapturedOutput output) {
+        String id = userService.create(new UserRequest("statistics", "secret", "statistics@example.com",
+                "0900000000", "USER")).getId();
+        userService.getById(id, UserField.ALL);
+        userService.getById(id, UserField.ALL);
+
+        assertThat(registry.get("hibernate.sessions.open").functionCounter().count()).isPositive();
+        assertThat(output.getAll()).doesNotContain("Session Metrics");
+    }
+}
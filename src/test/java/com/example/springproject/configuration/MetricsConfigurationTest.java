@@ -0,0 +1,57 @@
+package com.example.springproject.configuration;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.example.springproject.constant.CommonConstants.USER_SERVICE_TIMER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Meters recorded by the user service and its cache, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class MetricsConfigurationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void serviceMethodsAreTimedWithAHistogram() {
+        String id = userService.create(new UserRequest("timed", "secret", "timed@example.com", "0900000000",
+                "USER")).getId();
+        userService.getById(id, UserField.ALL);
+
+        Timer getById = registry.get(USER_SERVICE_TIMER).tag("method", "getById").timer();
+        assertThat(getById.count()).isGreaterThanOrEqualTo(1);
+        assertThat(getById.takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(registry.get(USER_SERVICE_TIMER).tag("method", "create").timer().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void userCacheHitsAndMissesAreCounted() {
+        String id = userService.create(new UserRequest("cached", "secret", "cached@example.com", "0900000000",
+                "USER")).getId();
+        double hits = registry.get("cache.gets").tag("cache", "user").tag("result", "hit").functionCounter().count();
+        double misses = registry.get("cache.gets").tag("cache", "user").tag("result", "miss").functionCounter()
+                .count();
+
+        userService.getById(id, UserField.ALL);
+        userService.getById(id, UserField.ALL);
+
+        assertThat(registry.get("cache.gets").tag("cache", "user").tag("result", "miss").functionCounter().count())
+                .isEqualTo(misses + 1);
+        assertThat(registry.get("cache.gets").tag("cache", "user").tag("result", "hit").functionCounter().count())
+                .isEqualTo(hits + 1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.springproject.controller;
+
+import com.example.springproject.dto.base.ResponseGeneral;
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.service.support.ReadThroughCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.springproject.datasource.SqlStatisticsAssert.assertThatStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETag and 304 handling of the reads by id, against an in-memory H2 database in MySQL mode.
+ * The controller is called directly; Spring MVC would add nothing to what is asserted here.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.jpa.cache.enabled=false")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserControllerConditionalGetTest {
+    private static final String LANGUAGE = "en";
+
+    @Autowired
+    private UserController controller;
+
+    @Autowired
+    private ReadThroughCache<String, UserResponse> userCache;
+
+    private String id;
+
+    @BeforeAll
+    void seed() {
+        id = controller.create(new UserRequest("conditional", "secret", "conditional@example.com", "0900000000",
+                "USER"), LANGUAGE).join().getData().getId();
+    }
+
+    @Test
+    void unconditionalReadCarriesBothValidators() {
+        ResponseEntity<ResponseGeneral<UserResponse>> response = get(new HttpHeaders());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotNull();
+        assertThat(response.getHeaders().getLastModified()).isPositive();
+        assertThat(response.getBody().getData().getUsername()).isEqualTo("conditional");
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWith304FromTheVersionAlone() {
+        String etag = get(new HttpHeaders()).getHeaders().getETag();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        AtomicReference<ResponseEntity<ResponseGeneral<UserResponse>>> response = new AtomicReference<>();
+
+        // the cache is emptied so that loading the user would show up as a second select
+        userCache.invalidate(id);
+        assertThatStatements(() -> response.set(get(headers))).hasSelects(1);
+
+        assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.get().getHeaders().getETag()).isEqualTo(etag);
+        assertThat(response.get().getHeaders().getLastModified()).isPositive();
+        assertThat(response.get().getBody()).isNull();
+    }
+
+    @Test
+    void staleIfNoneMatchGetsTheBodyOfItsNewTag() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"0\"");
+
+        ResponseEntity<ResponseGeneral<UserResponse>> response = get(headers);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo(get(new HttpHeaders()).getHeaders().getETag());
+    }
+
+    @Test
+    void ifModifiedSinceReadsTheVersion() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(System.currentTimeMillis() + 60_000);
+        AtomicReference<ResponseEntity<ResponseGeneral<UserResponse>>> response = new AtomicReference<>();
+
+        get(new HttpHeaders());
+        assertThatStatements(() -> response.set(get(headers))).hasSelects(1);
+
+        assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.get().getHeaders().getLastModified()).isPositive();
+
+        headers.setIfModifiedSince(0);
+        assertThat(get(headers).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void tagsDependOnTheFieldsAndTheLanguage() {
+        String all = get(new HttpHeaders()).getHeaders().getETag();
+        String some = controller.getById(id, "username", LANGUAGE, new HttpHeaders()).join().getHeaders().getETag();
+        String other = controller.getById(id, null, "vi", new HttpHeaders()).join().getHeaders().getETag();
+
+        assertThat(all).isNotEqualTo(some).isNotEqualTo(other);
+    }
+
+    private ResponseEntity<ResponseGeneral<UserResponse>> get(HttpHeaders headers) {
+        return controller.getById(id, null, LANGUAGE, headers).join();
+    }
+}
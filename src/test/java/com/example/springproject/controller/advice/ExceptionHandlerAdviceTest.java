@@ -0,0 +1,74 @@
+package com.example.springproject.controller.advice;
+
+import com.example.springproject.configuration.MessageSourceConfiguration;
+import com.example.springproject.dto.base.ResponseGeneral;
+import com.example.springproject.exception.BatchTooLargeException;
+import com.example.springproject.exception.DuplicateNameException;
+import com.example.springproject.exception.ImportJobNotFoundException;
+import com.example.springproject.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static com.example.springproject.constant.CommonConstants.API_EXCEPTIONS_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Error bodies built by {@link ExceptionHandlerAdvice}, and the exceptions they are built from.
+ */
+class ExceptionHandlerAdviceTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExceptionHandlerAdvice advice = new ExceptionHandlerAdvice(
+            new MessageSourceConfiguration().messageSource(), registry);
+
+    @Test
+    void everyResponseGetsItsOwnBody() {
+        ResponseGeneral<Object> first = advice.handleNotFoundException(new UserNotFoundException(), Locale.ENGLISH)
+                .getBody();
+        first.setMessage("changed by a caller");
+        first.setData("leaked");
+
+        ResponseGeneral<Object> second = advice.handleNotFoundException(new UserNotFoundException(), Locale.ENGLISH)
+                .getBody();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getStatus()).isEqualTo(404);
+        assertThat(second.getMessage()).isEqualTo("User Not Found Exception");
+        assertThat(second.getData()).isNull();
+        assertThat(second.getTimestamp()).isNotNull();
+    }
+
+    @Test
+    void messagesAreLocalizedAndFormattedWithTheirParameters() {
+        ResponseGeneral<Object> english = advice.handleBadRequestException(new BatchTooLargeException(1000),
+                Locale.ENGLISH).getBody();
+        ResponseGeneral<Object> other = advice.handleBadRequestException(new BatchTooLargeException(20),
+                Locale.ENGLISH).getBody();
+        ResponseGeneral<Object> vietnamese = advice.handleBadRequestException(new BatchTooLargeException(1000),
+                new Locale("vi")).getBody();
+
+        assertThat(english.getMessage()).isEqualTo("Batch Is Too Large, At Most 1000 Items Are Allowed");
+        assertThat(other.getMessage()).isEqualTo("Batch Is Too Large, At Most 20 Items Are Allowed");
+        assertThat(vietnamese.getMessage()).startsWith("Lô quá lớn").contains("1000");
+    }
+
+    @Test
+    void handledExceptionsAreCountedByClassAndStatus() {
+        advice.handleNotFoundException(new UserNotFoundException(), Locale.ENGLISH);
+        advice.handleNotFoundException(new UserNotFoundException(), Locale.ENGLISH);
+        advice.handleGenericException(new IllegalStateException("failure"), Locale.ENGLISH);
+
+        assertThat(registry.get(API_EXCEPTIONS_COUNTER).tag("exception", "UserNotFoundException").tag("status", "404")
+                .counter().count()).isEqualTo(2);
+        assertThat(registry.get(API_EXCEPTIONS_COUNTER).tag("exception", "IllegalStateException").tag("status", "500")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyTheFrequentExceptionsSkipTheirStackTrace() {
+        assertThat(new UserNotFoundException().getStackTrace()).isEmpty();
+        assertThat(new DuplicateNameException().getStackTrace()).isEmpty();
+        assertThat(new ImportJobNotFoundException().getStackTrace()).isNotEmpty();
+    }
+}
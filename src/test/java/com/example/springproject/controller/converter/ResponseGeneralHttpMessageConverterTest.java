@@ -0,0 +1,98 @@
+package com.example.springproject.controller.converter;
+
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.base.ResponseGeneral;
+import com.example.springproject.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON written by {@link ResponseGeneralHttpMessageConverter}, which must be the one of the ObjectMapper.
+ */
+class ResponseGeneralHttpMessageConverterTest {
+    private static final String TIMESTAMP = "2026-10-16";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResponseGeneralHttpMessageConverter converter = new ResponseGeneralHttpMessageConverter(objectMapper,
+            2);
+
+    @Test
+    void writesTheSameJsonAsTheObjectMapper() throws IOException {
+        UserResponse user = new UserResponse("1", "alice", "secret", "alice@example.com", "0900000000", "USER");
+        List<ResponseGeneral<?>> responses = List.of(
+                ResponseGeneral.of(200, "detail", user, TIMESTAMP),
+                ResponseGeneral.of(200, "list", PageResponse.of(List.of(user, user), 2), TIMESTAMP),
+                ResponseGeneral.of(200, "slice", PageResponse.ofSlice(List.of(user), true), TIMESTAMP),
+                ResponseGeneral.of(200, "cursor", PageResponse.ofCursor(List.of(user), "next"), TIMESTAMP),
+                ResponseGeneral.of(200, "other", Map.of("deleted", 3), TIMESTAMP),
+                ResponseGeneral.of(404, "\"quoted\" é", null, TIMESTAMP));
+
+        for (ResponseGeneral<?> response : responses) {
+            assertThat(objectMapper.readTree(write(response)))
+                    .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(response)));
+        }
+    }
+
+    @Test
+    void leavesTheResponseStreamOpen() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("the response stream must stay open");
+            }
+        };
+
+        converter.write(ResponseGeneral.of(200, "ok", null, TIMESTAMP), MediaType.APPLICATION_JSON,
+                new MockHttpOutputMessage() {
+                    @Override
+                    public OutputStream getBody() {
+                        return body;
+                    }
+                });
+
+        assertThat(body.toString(UTF_8)).startsWith("{\"status\":200");
+    }
+
+    @Test
+    void concurrentWritesBeyondThePoolSizeDoNotShareBuffers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String message = "message-" + i;
+                writes.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        String json = write(ResponseGeneral.of(200, message, null, TIMESTAMP));
+                        assertThat(objectMapper.readTree(json).get("message").asText()).isEqualTo(message);
+                    } catch (IOException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String write(ResponseGeneral<?> response) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsString(UTF_8);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.springproject.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Admission of borrowers by {@link ConnectionLimitingDataSource}, over an in-memory H2 database.
+ */
+class ConnectionLimitingDataSourceTest {
+
+    @Test
+    void admitsAtMostTheLimitAndTimesOutBeyond() throws SQLException {
+        ConnectionLimitingDataSource dataSource = limited(2, Duration.ofMillis(50));
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThat(dataSource.getBorrowed()).isEqualTo(2);
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+
+        assertThat(dataSource.getBorrowed()).isZero();
+    }
+
+    @Test
+    void aWaitingBorrowerGetsTheConnectionReleased() throws Exception {
+        ConnectionLimitingDataSource dataSource = limited(1, Duration.ofSeconds(10));
+        Connection held = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (dataSource.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        held.close();
+
+        try (Connection connection = waiting.get(5, TimeUnit.SECONDS)) {
+            assertThat(connection.isValid(1)).isTrue();
+            assertThat(dataSource.getBorrowed()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void closingTwiceReleasesOnePermit() throws SQLException {
+        ConnectionLimitingDataSource dataSource = limited(2, Duration.ofMillis(50));
+        Connection other = dataSource.getConnection();
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getBorrowed()).isEqualTo(1);
+        other.close();
+    }
+
+    @Test
+    void aFailingPoolGivesThePermitBack() {
+        DataSource failing = new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("pool down");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                throw new SQLException("pool down");
+            }
+        };
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(failing, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool down");
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool down");
+        assertThat(dataSource.getBorrowed()).isZero();
+    }
+
+    private static ConnectionLimitingDataSource limited(int maxConnections, Duration timeout) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:connection-limit;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+        return new ConnectionLimitingDataSource(h2, maxConnections, timeout);
+    }
+}
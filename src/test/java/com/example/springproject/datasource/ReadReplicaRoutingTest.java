@@ -0,0 +1,182 @@
+package com.example.springproject.datasource;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.exception.UserNotFoundException;
+import com.example.springproject.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Routing of the user reads to replicas, with embedded H2 databases standing in for the primary and two replicas.
+ * The replicas are not replicated: each test writes the rows it expects a replica to answer with.
+ * Whole users are cached and filled from the primary, so the routing is observed through reads of a few fields.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY,
+        "app.datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA_1 + "," + ReadReplicaRoutingTest.REPLICA_2,
+        "app.datasource.replicas.health-check-interval=1h",
+        "app.datasource.replicas.lag-query=select seconds from replica_lag",
+        "app.datasource.replicas.max-lag=5s"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTest {
+    static final String PRIMARY = "jdbc:h2:mem:routing-primary;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1 = "jdbc:h2:mem:routing-replica-1;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_2 = "jdbc:h2:mem:routing-replica-2;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    private static final String REPLICATED_ID = "replicated-user";
+    private static final Set<UserField> USERNAME = Set.of(UserField.USERNAME);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReadReplicas readReplicas;
+
+    @BeforeAll
+    void createReplicas() throws SQLException {
+        List<String> schema = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet script = statement.executeQuery("script nodata")) {
+            while (script.next()) {
+                schema.add(script.getString(1));
+            }
+        }
+        for (String replica : List.of(REPLICA_1, REPLICA_2)) {
+            execute(replica, "drop all objects");
+            for (String ddl : schema) {
+                if (!ddl.startsWith("CREATE USER")) {
+                    execute(replica, ddl);
+                }
+            }
+            execute(replica, "create table replica_lag (seconds int)");
+            execute(replica, "insert into replica_lag values (0)");
+        }
+        insertUser(REPLICA_1, REPLICATED_ID, "replica-1");
+        insertUser(REPLICA_2, REPLICATED_ID, "replica-2");
+    }
+
+    @BeforeEach
+    void resetLag() throws SQLException {
+        execute(REPLICA_1, "update replica_lag set seconds = 0");
+        execute(REPLICA_2, "update replica_lag set seconds = 0");
+        readReplicas.check();
+    }
+
+    @Test
+    void readsAreSpreadOverTheReplicas() {
+        Set<String> answeredBy = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            answeredBy.add(userService.getById(REPLICATED_ID, USERNAME).getUsername());
+        }
+        assertThat(answeredBy).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void writesGoToThePrimary() throws SQLException {
+        String id = userService.create(new UserRequest("written", "secret", "written@example.com", "0933333333",
+                "USER")).getId();
+        assertThat(countUsers(PRIMARY, id)).isEqualTo(1);
+        assertThat(countUsers(REPLICA_1, id)).isZero();
+        assertThat(countUsers(REPLICA_2, id)).isZero();
+    }
+
+    @Test
+    void laggingReplicaIsLeftOut() throws SQLException {
+        execute(REPLICA_1, "update replica_lag set seconds = 60");
+        readReplicas.check();
+        for (int i = 0; i < 4; i++) {
+            assertThat(userService.getById(REPLICATED_ID, USERNAME).getUsername()).isEqualTo("replica-2");
+        }
+    }
+
+    @Test
+    void primaryServesReadsWithoutAvailableReplica() throws SQLException {
+        execute(REPLICA_1, "update replica_lag set seconds = 60");
+        execute(REPLICA_2, "update replica_lag set seconds = 60");
+        readReplicas.check();
+        long fallbacks = readReplicas.getFallbacks();
+        assertThatThrownBy(() -> userService.getById(REPLICATED_ID, USERNAME))
+                .isInstanceOf(UserNotFoundException.class);
+        assertThat(readReplicas.getFallbacks()).isGreaterThan(fallbacks);
+    }
+
+    @Test
+    void deletedUserIsNotCachedBackFromALaggingReplica() throws SQLException {
+        String id = userService.create(new UserRequest("deleted", "secret", "deleted@example.com", "0955555555",
+                "USER")).getId();
+        // both replicas have the user but are still behind the delete, within the maximum lag
+        for (String replica : List.of(REPLICA_1, REPLICA_2)) {
+            insertUser(replica, id, "deleted");
+            execute(replica, "update replica_lag set seconds = 3");
+        }
+        readReplicas.check();
+        assertThat(userService.getById(id, UserField.ALL).getUsername()).isEqualTo("deleted");
+        assertThat(userService.getAllUser(100, 0, UserField.ALL).getContent()).extracting(UserResponse::getId)
+                .contains(id);
+
+        userService.delete(id);
+
+        assertThat(userService.getById(id, USERNAME).getUsername()).isEqualTo("deleted");
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> userService.getById(id, UserField.ALL))
+                    .isInstanceOf(UserNotFoundException.class);
+            assertThat(userService.getAllUser(100, 0, UserField.ALL).getContent()).extracting(UserResponse::getId)
+                    .doesNotContain(id);
+        }
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void insertUser(String url, String id, String username) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement statement = connection.prepareStatement(
+                     "insert into user (id, username, password, email, phone, role) values (?, ?, ?, ?, ?, ?)")) {
+            statement.setString(1, id);
+            statement.setString(2, username);
+            statement.setString(3, "secret");
+            statement.setString(4, username + "@example.com");
+            statement.setString(5, "0944444444");
+            statement.setString(6, "USER");
+            statement.executeUpdate();
+        }
+    }
+
+    private static long countUsers(String url, String id) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement statement = connection.prepareStatement("select count(*) from user where id = ?")) {
+            statement.setString(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.springproject.datasource;
+
+import org.assertj.core.api.AbstractAssert;
+
+/**
+ * Assertions on the SQL statements an operation issues, so that a regression such as an N+1 query fails the build.
+ *
+ * <pre>
+ * assertThatStatements(() -> userService.getById(id, UserField.ALL)).hasSelects(1).hasStatements(1);
+ * </pre>
+ */
+public class SqlStatisticsAssert extends AbstractAssert<SqlStatisticsAssert, SqlStatistics> {
+
+    private SqlStatisticsAssert(SqlStatistics actual) {
+        super(actual, SqlStatisticsAssert.class);
+    }
+
+    public static SqlStatisticsAssert assertThat(SqlStatistics actual) {
+        return new SqlStatisticsAssert(actual);
+    }
+
+    /**
+     * Runs an operation on the current thread, and on the bulkheads it submits to, counting its statements.
+     */
+    public static SqlStatisticsAssert assertThatStatements(Runnable operation) {
+        return assertThat(capture(operation));
+    }
+
+    public static SqlStatistics capture(Runnable operation) {
+        SqlStatistics statistics = new SqlStatistics();
+        try (SqlStatistics.Scope ignored = statistics.bind()) {
+            operation.run();
+        }
+        return statistics;
+    }
+
+    public SqlStatisticsAssert hasStatements(long expected) {
+        return has("statements", actual.getStatements(), expected);
+    }
+
+    public SqlStatisticsAssert hasAtMostStatements(long max) {
+        isNotNull();
+        if (actual.getStatements() > max) {
+            failWithMessage("Expected at most <%s> statements but there were <%s>: %s", max, actual.getStatements(),
+                    actual);
+        }
+        return this;
+    }
+
+    public SqlStatisticsAssert hasSelects(long expected) {
+        return has("selects", actual.getSelects(), expected);
+    }
+
+    public SqlStatisticsAssert hasInserts(long expected) {
+        return has("inserts", actual.getInserts(), expected);
+    }
+
+    public SqlStatisticsAssert hasUpdates(long expected) {
+        return has("updates", actual.getUpdates(), expected);
+    }
+
+    public SqlStatisticsAssert hasDeletes(long expected) {
+        return has("deletes", actual.getDeletes(), expected);
+    }
+
+    private SqlStatisticsAssert has(String kind, long count, long expected) {
+        isNotNull();
+        if (count != expected) {
+            failWithMessage("Expected <%s> %s but there were <%s>: %s", expected, kind, count, actual);
+        }
+        return this;
+    }
+}
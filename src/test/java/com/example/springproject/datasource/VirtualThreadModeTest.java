@@ -0,0 +1,46 @@
+package com.example.springproject.datasource;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The guards of the virtual-thread mode around the DataSource, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.threads.virtual.enabled=true",
+        "app.threads.pinning-monitor.enabled=false"
+})
+@ActiveProfiles("test")
+class VirtualThreadModeTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void connectionsAreLimitedToThePoolSize() {
+        ConnectionLimitingDataSource limiting = DataSourceWrappers.unwrap(dataSource, ConnectionLimitingDataSource.class);
+
+        assertThat(limiting).isNotNull();
+        assertThat(DataSourceWrappers.unwrap(dataSource, HikariDataSource.class)).isNotNull();
+
+        String id = userService.create(new UserRequest("virtual", "secret", "virtual@example.com", "0900000000",
+                "USER")).getId();
+        assertThat(userService.getById(id, UserField.ALL).getUsername()).isEqualTo("virtual");
+        // every connection borrowed by the service went back
+        assertThat(limiting.getBorrowed()).isZero();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.springproject.dto.response;
+
+import com.example.springproject.exception.UnsupportedFieldException;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Parsing of the {@code ?fields=} selections.
+ */
+class UserFieldTest {
+
+    @Test
+    void parsesNamesCaseInsensitively() {
+        assertThat(UserField.parse(" Username,EMAIL ")).containsExactly(UserField.USERNAME, UserField.EMAIL);
+        assertThat(UserField.parse("email,username")).containsExactly(UserField.USERNAME, UserField.EMAIL);
+    }
+
+    @Test
+    void absentOrCompleteSelectionsAreEveryField() {
+        assertThat(UserField.parse(null)).isSameAs(UserField.ALL);
+        assertThat(UserField.parse("role,phone,email,password,username,id")).isSameAs(UserField.ALL);
+        assertThat(UserField.isAll(UserField.parse("id,username"))).isFalse();
+    }
+
+    @Test
+    void unknownOrEmptySelectionsAreRejected() {
+        assertThatThrownBy(() -> UserField.parse("id,salary")).isInstanceOf(UnsupportedFieldException.class);
+        assertThatThrownBy(() -> UserField.parse("")).isInstanceOf(UnsupportedFieldException.class);
+        assertThatThrownBy(() -> UserField.parse("id,,role")).isInstanceOf(UnsupportedFieldException.class);
+    }
+
+    @Test
+    void masksTellSelectionsApart() {
+        assertThat(UserField.mask(EnumSet.of(UserField.ID))).isEqualTo(1L);
+        assertThat(UserField.mask(UserField.ALL)).isEqualTo(0b111111L);
+        assertThat(UserField.mask(EnumSet.of(UserField.USERNAME, UserField.ROLE)))
+                .isNotEqualTo(UserField.mask(EnumSet.of(UserField.USERNAME)));
+    }
+}
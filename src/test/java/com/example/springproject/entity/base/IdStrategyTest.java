@@ -0,0 +1,38 @@
+package com.example.springproject.entity.base;
+
+import com.example.springproject.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Selection of the id strategy of an entity and the ids it assigns.
+ */
+class IdStrategyTest {
+
+    @Test
+    void usersGetTimeOrderedIds() {
+        assertThat(IdStrategy.of(User.class)).isEqualTo(IdStrategy.TIME_ORDERED_UUID);
+        assertThat(UUID.fromString(IdStrategy.of(User.class).generate()).version()).isEqualTo(7);
+    }
+
+    @Test
+    void entitiesWithoutIdGenerationGetRandomIds() {
+        assertThat(IdStrategy.of(BaseEntity.class)).isEqualTo(IdStrategy.RANDOM_UUID);
+        assertThat(UUID.fromString(IdStrategy.of(BaseEntity.class).generate()).version()).isEqualTo(4);
+    }
+
+    @Test
+    void ensureIdKeepsAnAssignedId() {
+        User user = new User();
+        user.ensureId();
+        String generated = user.getId();
+
+        user.ensureId();
+
+        assertThat(generated).hasSize(36);
+        assertThat(user.getId()).isEqualTo(generated);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.springproject.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keys clients are rate limited by, and which header values are trusted for it.
+ */
+class ClientKeyResolverTest {
+
+    @Test
+    void ipStrategyIgnoresTheHeaders() {
+        ClientKeyResolver resolver = ClientKeyResolver.of("ip", "", Set.of("known"));
+
+        assertThat(resolver.resolve(request(ClientKeyResolver.API_KEY_HEADER, "known"))).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void apiKeyStrategyUsesKnownKeys() {
+        ClientKeyResolver resolver = ClientKeyResolver.of("api-key", "", Set.of("known"));
+
+        assertThat(resolver.resolve(request(ClientKeyResolver.API_KEY_HEADER, "known"))).isEqualTo("key:known");
+    }
+
+    @Test
+    void unknownOrMissingKeysFallBackToTheAddress() {
+        ClientKeyResolver resolver = ClientKeyResolver.of("api-key", "", Set.of("known"));
+
+        assertThat(resolver.resolve(request(ClientKeyResolver.API_KEY_HEADER, "forged"))).isEqualTo("ip:10.0.0.1");
+        assertThat(resolver.resolve(request(ClientKeyResolver.API_KEY_HEADER, ""))).isEqualTo("ip:10.0.0.1");
+        assertThat(resolver.resolve(request("X-Other", "known"))).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void noKeyIsTrustedUntilSomeAreConfigured() {
+        ClientKeyResolver resolver = ClientKeyResolver.of("api-key", "", null);
+
+        assertThat(resolver.resolve(request(ClientKeyResolver.API_KEY_HEADER, "any"))).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void headerStrategyReadsTheConfiguredHeader() {
+        ClientKeyResolver resolver = ClientKeyResolver.of("header", "X-Tenant", Set.of("tenant-a"));
+
+        assertThat(resolver.resolve(request("X-Tenant", "tenant-a"))).isEqualTo("key:tenant-a");
+        assertThat(resolver.resolve(request("X-Tenant", "tenant-b"))).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void rejectsUnknownStrategiesAndMissingHeaders() {
+        assertThatThrownBy(() -> ClientKeyResolver.of("cookie", "", Set.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ClientKeyResolver.of("header", " ", Set.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MockHttpServletRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/42");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(header, value);
+        return request;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.response.ImportJobResponse;
+import com.example.springproject.dto.response.ImportRejectionResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.exception.ImportFileTooLargeException;
+import com.example.springproject.exception.ImportJobNotFoundException;
+import com.example.springproject.exception.UnsupportedFormatException;
+import com.example.springproject.exception.base.ServiceUnavailableException;
+import com.example.springproject.service.impl.UserImportServiceImpl;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.springproject.constant.ExceptionCode.INVALID_IMPORT_FILE_CODE;
+import static com.example.springproject.constant.ExceptionCode.INVALID_IMPORT_ROW_CODE;
+import static com.example.springproject.constant.ExceptionCode.INVALID_USER_CODE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Background import jobs, from upload to report, against an in-memory H2 database in MySQL mode.
+ * Chunks and queue are small so that a few hundred rows go through several chunks and writers.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class UserImportServiceTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private UserImportService importService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void importsEveryValidRowAndReportsTheRejectedOnes() throws Exception {
+        StringBuilder csv = new StringBuilder("username,email,role\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("imported").append(i).append(",imported").append(i).append("@example.com,USER\n");
+        }
+        csv.append("malformed\n");
+        csv.append(",blank@example.com,USER\n");
+
+        ImportJobResponse job = awaitFinished(importService.start("csv", stream(csv.toString())));
+
+        assertThat(job.getState()).isEqualTo("COMPLETED");
+        assertThat(job.getParsed()).isEqualTo(202);
+        assertThat(job.getImported()).isEqualTo(200);
+        assertThat(job.getRejected()).isEqualTo(2);
+        assertThat(job.getProgress()).isEqualTo(100.0);
+        assertThat(job.getRejections())
+                .extracting(ImportRejectionResponse::getLine, ImportRejectionResponse::getCode)
+                .containsExactlyInAnyOrder(
+                        Tuple.tuple(202L, INVALID_IMPORT_ROW_CODE),
+                        Tuple.tuple(203L, INVALID_USER_CODE));
+        assertThat(userService.getUserBySearch("imported", 10, 0, UserField.ALL).getAmount()).isEqualTo(200);
+    }
+
+    @Test
+    void aFileThatCannotBeReadFailsTheJob() throws Exception {
+        ImportJobResponse job = awaitFinished(importService.start("csv", stream("email,phone\nx,y\n")));
+
+        assertThat(job.getState()).isEqualTo("FAILED");
+        assertThat(job.getErrorCode()).isEqualTo(INVALID_IMPORT_FILE_CODE);
+        assertThat(job.getImported()).isZero();
+    }
+
+    @Test
+    void unknownFormatsAndJobsAreRejected() {
+        assertThatThrownBy(() -> importService.start("xml", stream("")))
+                .isInstanceOf(UnsupportedFormatException.class);
+        assertThatThrownBy(() -> importService.getJob("missing"))
+                .isInstanceOf(ImportJobNotFoundException.class);
+    }
+
+    @Test
+    void uploadsBeyondTheRunningAndQueuedJobsAreRefused() throws Exception {
+        UserImportServiceImpl limited = new UserImportServiceImpl(userService, 16, 2, 1, 1, 0, 10,
+                Duration.ofMinutes(1), 1024);
+        ExecutorService uploader = Executors.newSingleThreadExecutor();
+        CountDownLatch spooling = new CountDownLatch(1);
+        CountDownLatch uploaded = new CountDownLatch(1);
+        InputStream slowUpload = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                spooling.countDown();
+                try {
+                    uploaded.await();
+                } catch (InterruptedException ex) {
+                    throw new InterruptedIOException();
+                }
+                return -1;
+            }
+        };
+        try {
+            Future<ImportJobResponse> first = uploader.submit(() -> limited.start("csv", slowUpload));
+            assertThat(spooling.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> limited.start("csv", stream("username,email,role\n")))
+                    .isInstanceOf(ServiceUnavailableException.class);
+
+            uploaded.countDown();
+            awaitFinished(limited, first.get());
+            ImportJobResponse next = startWhenAdmitted(limited, "username,email,role\nadmitted,admitted@example.com,USER\n");
+            assertThat(awaitFinished(limited, next).getImported()).isEqualTo(1);
+        } finally {
+            uploaded.countDown();
+            uploader.shutdownNow();
+            limited.shutdown();
+        }
+    }
+
+    @Test
+    void uploadsLargerThanTheMaximumFileSizeAreRefused() throws Exception {
+        UserImportServiceImpl limited = new UserImportServiceImpl(userService, 16, 2, 1, 1, 0, 10,
+                Duration.ofMinutes(1), 64);
+        try {
+            StringBuilder csv = new StringBuilder("username,email,role\n");
+            for (int i = 0; i < 10; i++) {
+                csv.append("oversized").append(i).append(",oversized").append(i).append("@example.com,USER\n");
+            }
+            assertThatThrownBy(() -> limited.start("csv", stream(csv.toString())))
+                    .isInstanceOf(ImportFileTooLargeException.class);
+
+            ImportJobResponse job = limited.start("csv", stream("username,email,role\n"));
+            assertThat(awaitFinished(limited, job).getState()).isEqualTo("COMPLETED");
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    private ImportJobResponse awaitFinished(ImportJobResponse started) throws InterruptedException {
+        return awaitFinished(importService, started);
+    }
+
+    /**
+     * Starts a job as soon as the previous one has freed its admission, which happens just after it finishes.
+     */
+    private static ImportJobResponse startWhenAdmitted(UserImportService service, String content) throws Exception {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (true) {
+            try {
+                return service.start("csv", stream(content));
+            } catch (ServiceUnavailableException ex) {
+                if (Instant.now().isAfter(deadline)) {
+                    throw ex;
+                }
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private static ImportJobResponse awaitFinished(UserImportService service, ImportJobResponse started)
+            throws InterruptedException {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            ImportJobResponse job = service.getJob(started.getId());
+            if ("COMPLETED".equals(job.getState()) || "FAILED".equals(job.getState())) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("import job " + started.getId() + " did not finish in " + TIMEOUT);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keywords holding LIKE wildcards are matched literally by the database, as by the trigram index, against an
+ * in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserSearchWildcardTest {
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeAll
+    void seed() {
+        userService.create(new UserRequest("a_b%c!d", "secret", "wild@example.com", "0900000001", "USER"));
+        userService.create(new UserRequest("axbyc", "secret", "tame@example.com", "0900000002", "USER"));
+    }
+
+    @Test
+    void wildcardsOfTheKeywordMatchThemselves() {
+        assertThat(userService.getUserBySearch("a_b", 10, 0, UserField.ALL).getContent())
+                .extracting(UserResponse::getUsername).containsExactly("a_b%c!d");
+        assertThat(userService.getUserBySearch("%", 10, 0, UserField.ALL).getContent())
+                .extracting(UserResponse::getUsername).containsExactly("a_b%c!d");
+        assertThat(userService.getUserBySearch("c!d", 10, 0, UserField.ALL).getContent())
+                .extracting(UserResponse::getUsername).containsExactly("a_b%c!d");
+    }
+
+    @Test
+    void everySearchQueryEscapesTheKeyword() {
+        assertThat(userService.getUserBySearchSlice("_", 10, 0, UserField.ALL).getContent()).hasSize(1);
+        assertThat(userService.getUserBySearchAfter("_", null, 10, UserField.ALL).getContent()).hasSize(1);
+        assertThat(userService.getUserBySearch("_", 10, 0, EnumSet.of(UserField.ID)).getContent()).hasSize(1);
+        assertThat(userService.getUserBySearchAfter("_", null, 10, EnumSet.of(UserField.ID)).getContent())
+                .hasSize(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchItemResponse;
+import com.example.springproject.dto.response.BatchResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.exception.BatchTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.example.springproject.constant.ExceptionCode.INVALID_USER_CODE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Outcome of every item of a batch creation, including invalid and failing ones, against an in-memory H2 database
+ * in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class UserServiceBatchCreateTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void everyValidUserIsCreatedInRequestOrder() {
+        BatchResponse response = userService.createBatch(requests("ordered", 10));
+
+        assertThat(response.getSucceeded()).isEqualTo(10);
+        assertThat(response.getFailed()).isZero();
+        for (int i = 0; i < 10; i++) {
+            BatchItemResponse item = response.getItems().get(i);
+            assertThat(item.getIndex()).isEqualTo(i);
+            assertThat(item.getStatus()).isEqualTo(201);
+            assertThat(userService.getById(item.getId(), UserField.ALL).getUsername()).isEqualTo("ordered" + i);
+        }
+    }
+
+    @Test
+    void invalidUsersFailAloneWithBadRequest() {
+        List<UserRequest> requests = requests("invalid", 5);
+        requests.set(1, new UserRequest(" ", "secret", "blank@example.com", "0900000000", "USER"));
+        requests.set(3, null);
+
+        BatchResponse response = userService.createBatch(requests);
+
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getItems()).extracting(BatchItemResponse::getCode)
+                .containsExactly(null, INVALID_USER_CODE, null, INVALID_USER_CODE, null);
+        assertThat(response.getItems().get(1).getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void aRowRejectedByTheDatabaseOnlyFailsItself() {
+        List<UserRequest> requests = requests("rejected", 6);
+        String tooLong = String.join("", Collections.nCopies(300, "x"));
+        requests.set(2, new UserRequest(tooLong, "secret", "long@example.com", "0900000000", "USER"));
+
+        BatchResponse response = userService.createBatch(requests);
+
+        assertThat(response.getSucceeded()).isEqualTo(5);
+        assertThat(response.getItems().get(2).getId()).isNull();
+        assertThat(response.getItems().get(2).getStatus()).isIn(409, 500);
+        for (int i : new int[]{0, 1, 3, 4, 5}) {
+            assertThat(response.getItems().get(i).getStatus()).isEqualTo(201);
+            assertThat(userService.getById(response.getItems().get(i).getId(), UserField.ALL)).isNotNull();
+        }
+    }
+
+    @Test
+    void batchesOverTheMaximumAreRejected() {
+        assertThatThrownBy(() -> userService.createBatch(requests("large", 301)))
+                .isInstanceOf(BatchTooLargeException.class);
+    }
+
+    private static List<UserRequest> requests(String prefix, int count) {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new UserRequest(prefix + i, "secret", prefix + i + "@example.com", "0900000000", "USER"));
+        }
+        return requests;
+    }
+}
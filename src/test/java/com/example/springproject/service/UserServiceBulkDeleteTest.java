@@ -0,0 +1,80 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchItemResponse;
+import com.example.springproject.dto.response.BulkDeleteResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.exception.BatchTooLargeException;
+import com.example.springproject.exception.UserNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.springproject.datasource.SqlStatisticsAssert.assertThatStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Set-based bulk deletion of users, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class UserServiceBulkDeleteTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void deletesTheExistingUsersAndReportsTheMissingIds() {
+        List<String> ids = create("deleted", 6);
+        Set<String> requested = new HashSet<>(ids);
+        requested.add("missing-1");
+        requested.add("missing-2");
+
+        BulkDeleteResponse response = userService.deleteBatch(requested);
+
+        assertThat(response.getDeleted()).isEqualTo(6);
+        assertThat(response.getNotFound()).containsExactlyInAnyOrder("missing-1", "missing-2");
+        for (String id : ids) {
+            assertThatThrownBy(() -> userService.getById(id, UserField.ALL)).isInstanceOf(UserNotFoundException.class);
+        }
+    }
+
+    @Test
+    void eachChunkSelectsAndDeletesOnce() {
+        Set<String> ids = new HashSet<>(create("chunked", 8));
+
+        assertThatStatements(() -> userService.deleteBatch(ids))
+                .hasSelects(2)
+                .hasDeletes(2)
+                .hasStatements(4);
+    }
+
+    @Test
+    void requestsOverTheMaximumAreRejected() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 21; i++) {
+            ids.add("id" + i);
+        }
+
+        assertThatThrownBy(() -> userService.deleteBatch(ids)).isInstanceOf(BatchTooLargeException.class);
+    }
+
+    private List<String> create(String prefix, int count) {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new UserRequest(prefix + i, "secret", prefix + i + "@example.com", "0900000000", "USER"));
+        }
+        List<String> ids = new ArrayList<>();
+        for (BatchItemResponse item : userService.createBatch(requests).getItems()) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+}
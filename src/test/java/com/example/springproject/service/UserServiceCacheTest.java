@@ -0,0 +1,82 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.exception.UserNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.example.springproject.datasource.SqlStatisticsAssert.assertThatStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The read-through cache of getById and its invalidation by the writes, against an in-memory H2 database in
+ * MySQL mode. The second-level cache of Hibernate is off, so that only the user cache can spare a statement.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.jpa.cache.enabled=false")
+@ActiveProfiles("test")
+class UserServiceCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void secondReadIsServedFromTheCache() {
+        String id = create("cached");
+        userService.getById(id, UserField.ALL);
+
+        assertThatStatements(() -> assertThat(userService.getById(id, UserField.ALL).getUsername())
+                .isEqualTo("cached"))
+                .hasStatements(0);
+    }
+
+    @Test
+    void deleteInvalidatesTheCachedUser() {
+        String id = create("deleted");
+        userService.getById(id, UserField.ALL);
+
+        userService.delete(id);
+
+        assertThatThrownBy(() -> userService.getById(id, UserField.ALL)).isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void bulkDeleteInvalidatesTheCachedUsers() {
+        String id = create("bulk-deleted");
+        userService.getById(id, UserField.ALL);
+
+        userService.deleteBatch(Set.of(id));
+
+        assertThatThrownBy(() -> userService.getById(id, UserField.ALL)).isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void missingUsersAreNotCached() {
+        String id = "not-created-yet";
+        assertThatThrownBy(() -> userService.getById(id, UserField.ALL)).isInstanceOf(UserNotFoundException.class);
+
+        assertThatStatements(() -> assertThatThrownBy(() -> userService.getById(id, UserField.ALL))
+                .isInstanceOf(UserNotFoundException.class))
+                .hasSelects(1);
+    }
+
+    @Test
+    void selectionsOfFieldsBypassTheCache() {
+        String id = create("projected");
+        userService.getById(id, UserField.ALL);
+
+        assertThatStatements(() -> userService.getById(id, Set.copyOf(List.of(UserField.ID, UserField.USERNAME))))
+                .hasSelects(1);
+    }
+
+    private String create(String username) {
+        return userService.create(new UserRequest(username, "secret", username + "@example.com", "0900000000",
+                "USER")).getId();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.springproject.datasource.SqlStatisticsAssert.assertThatStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streaming of every user by the export, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserServiceExportTest {
+    private static final int USERS = 250;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeAll
+    void seed() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            requests.add(new UserRequest("exported" + i, "secret", "exported" + i + "@example.com", "0900000000",
+                    "USER"));
+        }
+        userService.createBatch(requests);
+    }
+
+    @Test
+    void streamsEveryUserInIdOrderWithOneQuery() {
+        List<UserResponse> exported = new ArrayList<>();
+
+        assertThatStatements(() -> userService.exportAll(exported::add))
+                .hasSelects(1)
+                .hasStatements(1);
+
+        assertThat(exported).extracting(UserResponse::getId).doesNotHaveDuplicates().isSorted();
+        // the context is shared with other test classes; time-ordered ids follow the creation order
+        List<String> usernames = exported.stream().map(UserResponse::getUsername)
+                .filter(username -> username.startsWith("exported")).toList();
+        assertThat(usernames).hasSize(USERS);
+        assertThat(usernames.get(0)).isEqualTo("exported0");
+        assertThat(usernames.get(USERS - 1)).isEqualTo("exported" + (USERS - 1));
+    }
+}
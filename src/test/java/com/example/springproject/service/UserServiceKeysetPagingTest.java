@@ -0,0 +1,117 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchItemResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.exception.InvalidCursorException;
+import com.example.springproject.utils.CursorUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyset pagination of the user listing and search, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserServiceKeysetPagingTest {
+    private static final int MATCHING = 25;
+    private static final int OTHERS = 7;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private UserService userService;
+
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> matchingIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < MATCHING + OTHERS; i++) {
+            String name = i < MATCHING ? "keyset" + i : "other" + i;
+            requests.add(new UserRequest(name, "secret", name + "@example.com", "0900000000", "USER"));
+        }
+        List<BatchItemResponse> items = userService.createBatch(requests).getItems();
+        for (int i = 0; i < items.size(); i++) {
+            ids.add(items.get(i).getId());
+            if (i < MATCHING) {
+                matchingIds.add(items.get(i).getId());
+            }
+        }
+        ids.sort(null);
+        matchingIds.sort(null);
+    }
+
+    @Test
+    void getAllUserAfterVisitsEveryUserOnceInIdOrder() {
+        List<String> visited = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            PageResponse<UserResponse> page = userService.getAllUserAfter(cursor, PAGE_SIZE, UserField.ALL);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            assertThat(page.getHasNext()).isEqualTo(page.getNextCursor() != null);
+            page.getContent().forEach(user -> visited.add(user.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // the context is shared, so users of other test classes are listed too
+        assertThat(visited).doesNotHaveDuplicates().isSorted().containsAll(ids);
+        assertThat(pages).isEqualTo((visited.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    @Test
+    void getUserBySearchAfterVisitsEveryMatchOnceInIdOrder() {
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<UserResponse> page = userService.getUserBySearchAfter("KEYSET", cursor, PAGE_SIZE,
+                    UserField.ALL);
+            page.getContent().forEach(user -> visited.add(user.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(visited).isEqualTo(matchingIds);
+    }
+
+    @Test
+    void cursorSeeksPastItsId() {
+        String cursor = CursorUtils.encode(ids.get(4));
+
+        PageResponse<UserResponse> page = userService.getAllUserAfter(cursor, 3, UserField.ALL);
+
+        assertThat(page.getContent()).extracting(UserResponse::getId).isEqualTo(ids.subList(5, 8));
+        assertThat(CursorUtils.decode(page.getNextCursor())).isEqualTo(ids.get(7));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        String cursor = CursorUtils.encode(ids.get(ids.size() - 2));
+
+        PageResponse<UserResponse> page = userService.getAllUserAfter(cursor, PAGE_SIZE, UserField.ALL);
+
+        assertThat(page.getContent()).extracting(UserResponse::getId).containsExactly(ids.get(ids.size() - 1));
+        assertThat(page.getHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> userService.getAllUserAfter("not a cursor!", PAGE_SIZE, UserField.ALL))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.service.support.UserReadFlights;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reads of the user service going through a single flight, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.jpa.cache.enabled=false")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserServiceSingleFlightTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserReadFlights readFlights;
+
+    private String id;
+
+    @BeforeAll
+    void seed() {
+        id = userService.create(new UserRequest("flight", "secret", "flight@example.com", "0900000000", "USER"))
+                .getId();
+    }
+
+    @Test
+    void wholeUsersAreReadThroughTheCacheOnly() {
+        long before = readFlights.getById().getExecuted();
+
+        userService.getById(id, UserField.ALL);
+        userService.getById(id, UserField.ALL);
+
+        assertThat(readFlights.getById().getExecuted()).isEqualTo(before);
+    }
+
+    @Test
+    void uncachedReadsGoThroughTheirFlight() {
+        long byId = readFlights.getById().getExecuted();
+        long version = readFlights.getVersion().getExecuted();
+        long search = readFlights.getSearch().getExecuted();
+
+        userService.getById(id, UserField.parse("username"));
+        userService.getVersion(id);
+        userService.getUserBySearch("flight", 10, 0, UserField.ALL);
+
+        assertThat(readFlights.getById().getExecuted()).isEqualTo(byId + 1);
+        assertThat(readFlights.getVersion().getExecuted()).isEqualTo(version + 1);
+        assertThat(readFlights.getSearch().getExecuted()).isEqualTo(search + 1);
+    }
+}
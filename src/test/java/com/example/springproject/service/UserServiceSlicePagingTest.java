@@ -0,0 +1,81 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.springproject.datasource.SqlStatisticsAssert.assertThatStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Count-free search pages and the maintained total of the user listing, against an in-memory H2 database in
+ * MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.jpa.cache.enabled=false")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserServiceSlicePagingTest {
+    private static final int MATCHING = 12;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeAll
+    void seed() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < MATCHING; i++) {
+            requests.add(new UserRequest("slice" + i, "secret", "slice" + i + "@example.com", "0900000000", "USER"));
+        }
+        userService.createBatch(requests);
+    }
+
+    @Test
+    void searchSliceTellsWhetherThereIsANextPageWithoutCounting() {
+        PageResponse<UserResponse> first = userService.getUserBySearchSlice("slice", PAGE_SIZE, 0, UserField.ALL);
+        PageResponse<UserResponse> last = userService.getUserBySearchSlice("slice", PAGE_SIZE, 2, UserField.ALL);
+
+        assertThat(first.getContent()).hasSize(PAGE_SIZE);
+        assertThat(first.getHasNext()).isTrue();
+        assertThat(first.getAmount()).isNull();
+        assertThat(last.getContent()).hasSize(MATCHING - 2 * PAGE_SIZE);
+        assertThat(last.getHasNext()).isFalse();
+    }
+
+    @Test
+    void searchSliceRunsOneQuery() {
+        assertThatStatements(() -> userService.getUserBySearchSlice("slice", PAGE_SIZE, 0, UserField.ALL))
+                .hasSelects(1)
+                .hasStatements(1);
+    }
+
+    @Test
+    void countedSearchReportsTheTotal() {
+        PageResponse<UserResponse> page = userService.getUserBySearch("slice", PAGE_SIZE, 0, UserField.ALL);
+
+        assertThat(page.getAmount()).isEqualTo(MATCHING);
+        assertThat(page.getHasNext()).isTrue();
+    }
+
+    @Test
+    void listingTotalFollowsCreatesAndDeletes() {
+        int before = userService.getAllUser(PAGE_SIZE, 0, UserField.ALL).getAmount();
+
+        String id = userService.create(new UserRequest("counted", "secret", "counted@example.com", "0900000000",
+                "USER")).getId();
+        assertThat(userService.getAllUser(PAGE_SIZE, 0, UserField.ALL).getAmount()).isEqualTo(before + 1);
+
+        userService.delete(id);
+        assertThat(userService.getAllUser(PAGE_SIZE, 0, UserField.ALL).getAmount()).isEqualTo(before);
+    }
+}
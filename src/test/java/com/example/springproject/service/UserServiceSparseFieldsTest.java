@@ -0,0 +1,97 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.base.PageResponse;
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.PartialUserResponse;
+import com.example.springproject.dto.response.UserField;
+import com.example.springproject.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.springproject.datasource.SqlStatisticsAssert.assertThatStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads of a selection of the user fields, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.jpa.cache.enabled=false")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserServiceSparseFieldsTest {
+    private static final Set<UserField> NAME_AND_EMAIL = UserField.parse("username,email");
+
+    @Autowired
+    private UserService userService;
+
+    private String id;
+
+    @BeforeAll
+    void seed() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(new UserRequest("sparse" + i, "secret", "sparse" + i + "@example.com", "0900000000",
+                    "USER"));
+        }
+        id = userService.createBatch(requests).getItems().get(0).getId();
+    }
+
+    @Test
+    void readByIdReturnsOnlyTheSelectedFields() throws Exception {
+        UserResponse user = userService.getById(id, NAME_AND_EMAIL);
+
+        assertThat(user).isInstanceOf(PartialUserResponse.class);
+        assertThat(user.getUsername()).isEqualTo("sparse0");
+        assertThat(user.getEmail()).isEqualTo("sparse0@example.com");
+        assertThat(user.getPassword()).isNull();
+        assertThat(user.getRole()).isNull();
+        assertThat(new ObjectMapper().writeValueAsString(user))
+                .isEqualTo("{\"username\":\"sparse0\",\"email\":\"sparse0@example.com\"}");
+    }
+
+    @Test
+    void partialReadsByIdBypassTheUserCache() {
+        userService.getById(id, UserField.ALL);
+        assertThatStatements(() -> userService.getById(id, UserField.ALL)).hasStatements(0);
+
+        assertThatStatements(() -> userService.getById(id, NAME_AND_EMAIL)).hasSelects(1);
+        assertThatStatements(() -> userService.getById(id, NAME_AND_EMAIL)).hasSelects(1);
+    }
+
+    @Test
+    void pagesAndSearchesApplyTheSelectionToEveryUser() {
+        PageResponse<UserResponse> all = userService.getAllUser(4, 0, UserField.parse("id"));
+        PageResponse<UserResponse> search = userService.getUserBySearch("sparse", 10, 0, NAME_AND_EMAIL);
+
+        assertThat(all.getContent()).hasSize(4).allSatisfy(user -> {
+            assertThat(user.getId()).isNotNull();
+            assertThat(user.getUsername()).isNull();
+        });
+        assertThat(search.getContent()).hasSize(6).allSatisfy(user -> {
+            assertThat(user.getUsername()).startsWith("sparse");
+            assertThat(user.getPhone()).isNull();
+        });
+        assertThat(search.getAmount()).isEqualTo(6);
+    }
+
+    @Test
+    void cursorsOfPartialPagesStillWork() {
+        Set<UserField> usernames = UserField.parse("username");
+        PageResponse<UserResponse> first = userService.getUserBySearchAfter("sparse", null, 4, usernames);
+        PageResponse<UserResponse> second = userService.getUserBySearchAfter("sparse", first.getNextCursor(), 4,
+                usernames);
+
+        assertThat(first.getContent()).hasSize(4);
+        assertThat(second.getContent()).hasSize(2);
+        assertThat(second.getContent()).extracting(UserResponse::getUsername)
+                .doesNotContainAnyElementsOf(first.getContent().stream().map(UserResponse::getUsername).toList());
+    }
+}
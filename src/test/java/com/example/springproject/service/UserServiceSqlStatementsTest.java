@@ -0,0 +1,102 @@
+package com.example.springproject.service;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.BatchItemResponse;
+import com.example.springproject.dto.response.UserField;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.example.springproject.datasource.SqlStatisticsAssert.assertThatStatements;
+
+/**
+ * Guards the number of SQL statements of the user operations, against an in-memory H2 database in MySQL mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.user.cache.enabled=false")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserServiceSqlStatementsTest {
+    private static final int USERS = 30;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private UserService userService;
+
+    private final List<String> ids = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            requests.add(new UserRequest("user" + i, "secret" + i, "user" + i + "@example.com", "09" + (10000000 + i),
+                    "USER"));
+        }
+        for (BatchItemResponse item : userService.createBatch(requests).getItems()) {
+            ids.add(item.getId());
+        }
+        // seeds the row counter, which listings report instead of counting the rows again
+        userService.getAllUser(PAGE_SIZE, 0, UserField.ALL);
+    }
+
+    @Test
+    void getByIdSelectsOnce() {
+        assertThatStatements(() -> userService.getById(ids.get(0), UserField.ALL))
+                .hasSelects(1)
+                .hasStatements(1);
+    }
+
+    @Test
+    void getAllUserPagesAreCachedUntilUsersChange() {
+        assertThatStatements(() -> userService.getAllUser(PAGE_SIZE, 0, UserField.ALL))
+                .hasAtMostStatements(1);
+        assertThatStatements(() -> userService.getAllUser(PAGE_SIZE, 0, UserField.ALL))
+                .hasStatements(0);
+        userService.create(new UserRequest("listed", "secret", "listed@example.com", "0955555555", "USER"));
+        assertThatStatements(() -> userService.getAllUser(PAGE_SIZE, 0, UserField.ALL))
+                .hasSelects(1)
+                .hasStatements(1);
+    }
+
+    @Test
+    void sparseGetAllUserSelectsThePageOnly() {
+        assertThatStatements(() -> userService.getAllUser(PAGE_SIZE, 0, EnumSet.of(UserField.ID, UserField.EMAIL)))
+                .hasSelects(1)
+                .hasStatements(1);
+    }
+
+    @Test
+    void getAllUserAfterSelectsOnce() {
+        assertThatStatements(() -> userService.getAllUserAfter(null, PAGE_SIZE, UserField.ALL))
+                .hasSelects(1)
+                .hasStatements(1);
+    }
+
+    @Test
+    void createBatchInsertsOneBatchPerChunk() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(new UserRequest("batch" + i, "secret", "batch" + i + "@example.com", "0911111111", "USER"));
+        }
+        // chunks of 4 rows in the test profile
+        assertThatStatements(() -> userService.createBatch(requests))
+                .hasInserts(3)
+                .hasAtMostStatements(3);
+    }
+
+    @Test
+    void deleteFindsTheUserInTheEntityCache() {
+        String id = userService.create(new UserRequest("deleted", "secret", "deleted@example.com", "0922222222",
+                "USER")).getId();
+        assertThatStatements(() -> userService.delete(id))
+                .hasSelects(0)
+                .hasDeletes(1)
+                .hasStatements(1);
+    }
+}
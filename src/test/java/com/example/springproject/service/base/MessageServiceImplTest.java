@@ -0,0 +1,94 @@
+package com.example.springproject.service.base;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resolution of the messages of a bundle by {@link MessageServiceImpl}, on bundles written to a temporary directory.
+ */
+class MessageServiceImplTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void languagesFallBackFromRegionToLanguageToBase() throws IOException {
+        write("messages.properties", "greeting=Hello\nfarewell=Bye\nthanks=Thanks\n");
+        write("messages_vi.properties", "greeting=Xin chào\nfarewell=Tạm biệt\n");
+        write("messages_vi_VN.properties", "greeting=Chào\n");
+        MessageServiceImpl service = service(Duration.ZERO);
+
+        assertThat(service.getMessage("greeting", "vi-VN")).isEqualTo("Chào");
+        assertThat(service.getMessage("farewell", "vi-VN")).isEqualTo("Tạm biệt");
+        assertThat(service.getMessage("thanks", "vi-VN")).isEqualTo("Thanks");
+        assertThat(service.getMessage("greeting", "VI")).isEqualTo("Xin chào");
+        assertThat(service.getMessage("greeting", "vi-VN,vi;q=0.9,en;q=0.8")).isEqualTo("Chào");
+        assertThat(service.getMessage("greeting", "en-US")).isEqualTo("Hello");
+        assertThat(service.getMessage("greeting", null)).isEqualTo("Hello");
+    }
+
+    @Test
+    void unknownCodesResolveToThemselves() throws IOException {
+        write("messages.properties", "greeting=Hello\n");
+        MessageServiceImpl service = service(Duration.ZERO);
+
+        assertThat(service.getMessage("missing", "vi")).isEqualTo("missing");
+        assertThat(service.getMessage(null, "vi")).isNull();
+    }
+
+    @Test
+    void unboundedLanguageHeadersStillResolve() throws IOException {
+        write("messages.properties", "greeting=Hello\n");
+        write("messages_vi.properties", "greeting=Xin chào\n");
+        MessageServiceImpl service = service(Duration.ZERO);
+
+        for (int i = 0; i < MessageTable.MAX_CACHED_LANGUAGES * 2; i++) {
+            assertThat(service.getMessage("greeting", "vi;q=0." + i)).isEqualTo("Xin chào");
+        }
+    }
+
+    @Test
+    void changedFilesAreReloadedAfterTheInterval() throws Exception {
+        Path file = write("messages.properties", "greeting=Hello\n");
+        MessageServiceImpl service = service(Duration.ofMillis(1));
+        MessageServiceImpl neverRefreshed = service(Duration.ZERO);
+
+        write("messages.properties", "greeting=Hi\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        Thread.sleep(5);
+
+        assertThat(service.getMessage("greeting", null)).isEqualTo("Hi");
+        assertThat(neverRefreshed.getMessage("greeting", null)).isEqualTo("Hello");
+
+        neverRefreshed.reload();
+        assertThat(neverRefreshed.getMessage("greeting", null)).isEqualTo("Hi");
+    }
+
+    @Test
+    void applicationBundleIsLoadedFromTheClasspath() {
+        MessageServiceImpl service = new MessageServiceImpl("classpath:i18n/messages", UTF_8, Duration.ZERO);
+
+        assertThat(service.getMessage("com.example.springproject.controller.detail", "en"))
+                .isEqualTo("Get detail user success");
+        assertThat(service.getMessage("com.example.springproject.controller.detail", "vi"))
+                .isEqualTo("Chi tiết người dùng");
+    }
+
+    private MessageServiceImpl service(Duration refreshInterval) {
+        return new MessageServiceImpl(directory.toUri() + "messages", UTF_8, refreshInterval);
+    }
+
+    private Path write(String filename, String content) throws IOException {
+        return Files.writeString(directory.resolve(filename), content, UTF_8);
+    }
+}
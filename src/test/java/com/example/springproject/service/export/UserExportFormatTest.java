@@ -0,0 +1,72 @@
+package com.example.springproject.service.export;
+
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.exception.UnsupportedFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Output of the export writers.
+ */
+class UserExportFormatTest {
+    private static final UserResponse PLAIN = new UserResponse("1", "alice", "secret", "alice@example.com",
+            "0900000000", "USER");
+    private static final UserResponse QUOTED = new UserResponse("2", "bob, \"the\" builder", null,
+            "bob@example.com", "line\nbreak", "ADMIN");
+
+    @Test
+    void csvHasAHeaderAndQuotesOnlyTheValuesThatNeedIt() throws IOException {
+        assertThat(export(UserExportFormat.CSV, PLAIN, QUOTED)).isEqualTo(
+                "id,username,password,email,phone,role\r\n"
+                        + "1,alice,secret,alice@example.com,0900000000,USER\r\n"
+                        + "2,\"bob, \"\"the\"\" builder\",,bob@example.com,\"line\nbreak\",ADMIN\r\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        assertThat(export(UserExportFormat.NDJSON, PLAIN, QUOTED).split("\n", -1)).containsExactly(
+                "{\"id\":\"1\",\"username\":\"alice\",\"password\":\"secret\",\"email\":\"alice@example.com\","
+                        + "\"phone\":\"0900000000\",\"role\":\"USER\"}",
+                "{\"id\":\"2\",\"username\":\"bob, \\\"the\\\" builder\",\"password\":null,"
+                        + "\"email\":\"bob@example.com\",\"phone\":\"line\\nbreak\",\"role\":\"ADMIN\"}",
+                "");
+    }
+
+    @Test
+    void closingFlushesButLeavesTheStreamOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("the response stream must stay open");
+            }
+        };
+        try (UserExportWriter writer = UserExportFormat.NDJSON.open(out)) {
+            writer.write(PLAIN);
+        }
+
+        assertThat(out.toString(UTF_8)).startsWith("{\"id\":\"1\"");
+    }
+
+    @Test
+    void formatsAreResolvedCaseInsensitively() {
+        assertThat(UserExportFormat.of("CSV")).isEqualTo(UserExportFormat.CSV);
+        assertThat(UserExportFormat.of("NdJson")).isEqualTo(UserExportFormat.NDJSON);
+        assertThatThrownBy(() -> UserExportFormat.of("xml")).isInstanceOf(UnsupportedFormatException.class);
+    }
+
+    private static String export(UserExportFormat format, UserResponse... users) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (UserExportWriter writer = format.open(out)) {
+            for (UserResponse user : users) {
+                writer.write(user);
+            }
+        }
+        return out.toString(UTF_8);
+    }
+}
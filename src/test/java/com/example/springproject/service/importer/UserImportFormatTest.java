@@ -0,0 +1,83 @@
+package com.example.springproject.service.importer;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.exception.InvalidImportFileException;
+import com.example.springproject.exception.InvalidImportRowException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Parsing of the import readers, row by row.
+ */
+class UserImportFormatTest {
+
+    @Test
+    void csvMapsColumnsByHeaderAndReadsQuotedValues() throws IOException {
+        UserImportReader reader = open(UserImportFormat.CSV, "﻿id,Role,username,email\r\n"
+                + "1,USER,alice,alice@example.com\r\n"
+                + "2,ADMIN,\"bob, \"\"the\"\"\nbuilder\",\r\n"
+                + "\r\n"
+                + "3,USER,carol,carol@example.com");
+
+        UserRequest alice = reader.next();
+        assertThat(alice.getUsername()).isEqualTo("alice");
+        assertThat(alice.getEmail()).isEqualTo("alice@example.com");
+        assertThat(alice.getRole()).isEqualTo("USER");
+        assertThat(alice.getPassword()).isNull();
+        assertThat(reader.line()).isEqualTo(2);
+
+        UserRequest bob = reader.next();
+        assertThat(bob.getUsername()).isEqualTo("bob, \"the\"\nbuilder");
+        assertThat(bob.getEmail()).isNull();
+        assertThat(reader.line()).isEqualTo(3);
+
+        assertThat(reader.next().getUsername()).isEqualTo("carol");
+        // the quoted line break and the empty line are counted
+        assertThat(reader.line()).isEqualTo(6);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void csvRejectsARowWithAnotherNumberOfValuesAndGoesOn() throws IOException {
+        UserImportReader reader = open(UserImportFormat.CSV, "username,email\nalice\nbob,bob@example.com\n");
+
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidImportRowException.class);
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next().getUsername()).isEqualTo("bob");
+    }
+
+    @Test
+    void csvWithoutUsernameColumnIsRejected() {
+        assertThatThrownBy(() -> open(UserImportFormat.CSV, "email,phone\n"))
+                .isInstanceOf(InvalidImportFileException.class);
+        assertThatThrownBy(() -> open(UserImportFormat.CSV, ""))
+                .isInstanceOf(InvalidImportFileException.class);
+    }
+
+    @Test
+    void ndjsonReadsOneObjectPerLineIgnoringUnknownProperties() throws IOException {
+        UserImportReader reader = open(UserImportFormat.NDJSON, "{\"id\":\"1\",\"username\":\"alice\"}\n"
+                + "\n"
+                + "not json\n"
+                + "null\n"
+                + "{\"username\":\"bob\",\"role\":\"ADMIN\"}");
+
+        assertThat(reader.next().getUsername()).isEqualTo("alice");
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidImportRowException.class);
+        assertThat(reader.line()).isEqualTo(3);
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidImportRowException.class);
+        assertThat(reader.next().getRole()).isEqualTo("ADMIN");
+        assertThat(reader.line()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    private static UserImportReader open(UserImportFormat format, String content) throws IOException {
+        return format.open(new ByteArrayInputStream(content.getBytes(UTF_8)));
+    }
+}
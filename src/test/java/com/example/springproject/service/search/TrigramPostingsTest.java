@@ -0,0 +1,62 @@
+package com.example.springproject.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The open-addressing trigram table, checked against a HashMap under random inserts and removals.
+ */
+class TrigramPostingsTest {
+
+    @Test
+    void behavesLikeAMapUnderRandomInsertsAndRemovals() {
+        TrigramPostings table = new TrigramPostings();
+        Map<Long, IntPostings> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) * 0x1_0001L;
+            if (random.nextInt(3) == 0) {
+                table.remove(key);
+                expected.remove(key);
+            } else {
+                IntPostings list = table.getOrCreate(key);
+                IntPostings previous = expected.putIfAbsent(key, list);
+                assertThat(list).isSameAs(previous != null ? previous : list);
+            }
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertThat(table.get(key * 0x1_0001L)).isSameAs(expected.get(key * 0x1_0001L));
+        }
+    }
+
+    @Test
+    void missingKeysAreAbsent() {
+        TrigramPostings table = new TrigramPostings();
+        table.getOrCreate(7L);
+
+        assertThat(table.get(8L)).isNull();
+        table.remove(8L);
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void forEachVisitsEveryTrigramOnce() {
+        TrigramPostings table = new TrigramPostings();
+        for (long key = 0; key < 3_000; key++) {
+            table.put(key * 0x1_0001L, new IntPostings());
+        }
+        Map<Long, IntPostings> visited = new HashMap<>();
+
+        table.forEach((key, list) -> assertThat(visited.put(key, list)).isNull());
+
+        assertThat(visited).hasSize(3_000);
+        assertThat(table.get(2_999 * 0x1_0001L)).isSameAs(visited.get(2_999 * 0x1_0001L));
+    }
+}
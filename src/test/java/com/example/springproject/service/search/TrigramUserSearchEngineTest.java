@@ -0,0 +1,127 @@
+package com.example.springproject.service.search;
+
+import com.example.springproject.dto.response.UserResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Matching, maintenance and memory bounds of the in-memory trigram index. The index is filled through
+ * {@link TrigramUserSearchEngine#index}, without loading it from a repository.
+ */
+class TrigramUserSearchEngineTest {
+    private final TrigramUserSearchEngine engine = new TrigramUserSearchEngine(null, 100);
+
+    @Test
+    void matchesSubstringsOfEveryFieldIgnoringCase() {
+        engine.index(user("1", "Alice", "alice@example.com", "0911222333", "ADMIN"));
+        engine.index(user("2", "bob", "bob@example.org", "0944555666", "USER"));
+
+        assertThat(engine.search("LIC", 0, 10).getIds()).containsExactly("1");
+        assertThat(engine.search("example.org", 0, 10).getIds()).containsExactly("2");
+        assertThat(engine.search("1222", 0, 10).getIds()).containsExactly("1");
+        assertThat(engine.search("dmi", 0, 10).getIds()).containsExactly("1");
+        assertThat(engine.search("example", 0, 10).getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void keywordsShorterThanATrigramAreScanned() {
+        engine.index(user("1", "alice", "a@x.com", "01", "USER"));
+        engine.index(user("2", "bob", "b@y.com", "02", "USER"));
+
+        assertThat(engine.search("y.", 0, 10).getIds()).containsExactly("2");
+        assertThat(engine.search("o", 0, 10).getIds()).containsExactlyInAnyOrder("1", "2");
+    }
+
+    @Test
+    void trigramsDoNotSpanTwoFields() {
+        engine.index(user("1", "ab", "cd", null, null));
+
+        assertThat(engine.search("bcd", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void wildcardsMatchThemselves() {
+        engine.index(user("1", "a_b%c", "one@example.com", "01", "USER"));
+        engine.index(user("2", "axbyc", "two@example.com", "02", "USER"));
+
+        assertThat(engine.search("a_b", 0, 10).getIds()).containsExactly("1");
+        assertThat(engine.search("b%c", 0, 10).getIds()).containsExactly("1");
+        assertThat(engine.search("%", 0, 10).getIds()).containsExactly("1");
+    }
+
+    @Test
+    void reindexingReplacesAndRemovingForgets() {
+        engine.index(user("1", "before", "one@example.com", "01", "USER"));
+        engine.index(user("1", "after", "one@example.com", "01", "USER"));
+
+        assertThat(engine.search("before", 0, 10).getTotal()).isZero();
+        assertThat(engine.search("after", 0, 10).getIds()).containsExactly("1");
+
+        engine.remove("1");
+
+        assertThat(engine.search("after", 0, 10).getTotal()).isZero();
+        assertThat(engine.search("on", 0, 10).getTotal()).isZero();
+        assertThat(engine.size()).isZero();
+    }
+
+    @Test
+    void churnDoesNotGrowTheIndex() {
+        engine.index(user("kept", "kept", "kept@example.com", "01", "USER"));
+        for (int i = 0; i < 10_000; i++) {
+            engine.index(user("churn" + i, "churn" + i, "churn" + i + "@example.com", "02", "USER"));
+            engine.remove("churn" + i);
+        }
+
+        assertThat(engine.documentSlots()).isLessThanOrEqualTo(1 + TrigramUserSearchEngine.MIN_TOMBSTONES_TO_COMPACT);
+        assertThat(engine.search("ke", 0, 10).getIds()).containsExactly("kept");
+        assertThat(engine.search("churn", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void compactionKeepsTheRemainingUsersInOrder() {
+        List<String> kept = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String id = String.format("id%04d", i);
+            engine.index(user(id, "bulk" + i, "bulk" + i + "@example.com", "01", "USER"));
+            if (i % 3 == 0) {
+                kept.add(id);
+            }
+        }
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 3 != 0) {
+                engine.remove(String.format("id%04d", i));
+            }
+        }
+
+        assertThat(engine.size()).isEqualTo(kept.size());
+        assertThat(engine.documentSlots()).isLessThan(1_000);
+        assertThat(engine.search("bulk", 0, 1_000).getIds()).isEqualTo(kept);
+        assertThat(engine.searchAfter("bulk", kept.get(10), 2)).containsExactly(kept.get(11), kept.get(12));
+
+        engine.index(user("id0001", "bulk1", "bulk1@example.com", "01", "USER"));
+        assertThat(engine.search("bulk1@", 0, 10).getIds()).containsExactly("id0001");
+    }
+
+    @Test
+    void searchPagesByOffsetAndSeeksByIdAfter() {
+        for (int i = 0; i < 9; i++) {
+            engine.index(user("id" + i, "paged" + i, "p" + i + "@example.com", "01", "USER"));
+        }
+
+        SearchHits page = engine.search("paged", 3, 4);
+        List<String> after = engine.searchAfter("paged", "id5", 10);
+
+        assertThat(page.getIds()).hasSize(4);
+        assertThat(page.getTotal()).isEqualTo(9);
+        assertThat(after).containsExactly("id6", "id7", "id8");
+        assertThat(engine.searchAfter("paged", null, 2)).containsExactly("id0", "id1");
+    }
+
+    private static UserResponse user(String id, String username, String email, String phone, String role) {
+        return new UserResponse(id, username, "secret", email, phone, role);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.springproject.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Loading, coalescing and invalidation of the read-through cache in front of getById.
+ */
+class ReadThroughCacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadsOnceThenServesFromTheCache() {
+        ReadThroughCache<String, String> cache = ReadThroughCache.of(100, Duration.ofMinutes(1));
+
+        assertThat(cache.get("a", this::load)).isEqualTo("value-a");
+        assertThat(cache.get("a", this::load)).isEqualTo("value-a");
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats()).get().satisfies(stats -> {
+            assertThat(stats.hitCount()).isEqualTo(1);
+            assertThat(stats.loadSuccessCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void nullValuesAreNotCached() {
+        ReadThroughCache<String, String> cache = ReadThroughCache.of(100, Duration.ofMinutes(1));
+
+        assertThat(cache.get("missing", key -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(cache.get("missing", this::load)).isEqualTo("value-missing");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void failedLoadsArePropagatedAndNotCached() {
+        ReadThroughCache<String, String> cache = ReadThroughCache.of(100, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> cache.get("a", key -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("down");
+        assertThat(cache.get("a", this::load)).isEqualTo("value-a");
+        assertThat(cache.stats()).get().satisfies(stats -> {
+            assertThat(stats.loadFailureCount()).isEqualTo(1);
+            assertThat(stats.loadSuccessCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void invalidatedKeysAreLoadedAgain() {
+        ReadThroughCache<String, String> cache = ReadThroughCache.of(100, Duration.ofMinutes(1));
+        cache.get("a", this::load);
+
+        cache.invalidate("a");
+
+        cache.get("a", this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        ReadThroughCache<String, String> cache = ReadThroughCache.of(100, Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("a", key -> {
+                loading.countDown();
+                await(release);
+                return load(key);
+            })));
+            loading.await();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get("a", this::load)));
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value-a");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        ReadThroughCache<String, String> cache = ReadThroughCache.disabled();
+
+        cache.get("a", this::load);
+        cache.get("a", this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats()).isEmpty();
+    }
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return "value-" + key;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
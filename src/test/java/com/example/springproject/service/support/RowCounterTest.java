@@ -0,0 +1,61 @@
+package com.example.springproject.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeding and maintenance of the row counter reported by the user listings.
+ */
+class RowCounterTest {
+
+    @Test
+    void seedsLazilyOnce() {
+        AtomicInteger counts = new AtomicInteger();
+        RowCounter counter = new RowCounter(() -> {
+            counts.incrementAndGet();
+            return 42;
+        }, Duration.ZERO);
+
+        assertThat(counts).hasValue(0);
+        assertThat(counter.get()).isEqualTo(42);
+        assertThat(counter.get()).isEqualTo(42);
+        assertThat(counts).hasValue(1);
+    }
+
+    @Test
+    void writesBeforeSeedingAreLeftToTheSeed() {
+        RowCounter counter = new RowCounter(() -> 10, Duration.ZERO);
+
+        counter.add(5);
+
+        assertThat(counter.get()).isEqualTo(10);
+    }
+
+    @Test
+    void writesAfterSeedingAdjustTheCount() {
+        RowCounter counter = new RowCounter(() -> 10, Duration.ZERO);
+        counter.get();
+
+        counter.add(3);
+        counter.add(-5);
+
+        assertThat(counter.get()).isEqualTo(8);
+    }
+
+    @Test
+    void reseedsAfterTheInterval() throws InterruptedException {
+        AtomicLong rows = new AtomicLong(10);
+        RowCounter counter = new RowCounter(rows::get, Duration.ofMillis(20));
+        counter.get();
+        rows.set(100);
+
+        Thread.sleep(40);
+
+        assertThat(counter.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.springproject.service.support;
+
+import com.example.springproject.exception.base.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Coalescing of identical concurrent calls.
+ */
+class SingleFlightTest {
+    // each caller on its own thread, as a common pool of one thread would queue the second behind the first
+    private static final Executor THREADS = task -> new Thread(task).start();
+
+    @Test
+    void concurrentCallersOfAKeyShareOneCall() throws Exception {
+        SingleFlight<String, String> flight = SingleFlight.of("shared", Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "value";
+        }), THREADS);
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                () -> flight.execute("key", () -> "second:" + calls.incrementAndGet()), THREADS);
+        while (flight.getCoalesced() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(calls).hasValue(1);
+        assertThat(flight.getExecuted()).isEqualTo(1);
+    }
+
+    @Test
+    void callsOfOtherKeysOrAfterCompletionRunAgain() {
+        SingleFlight<String, Integer> flight = SingleFlight.of("sequential", Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(flight.execute("a", calls::incrementAndGet)).isEqualTo(1);
+        assertThat(flight.execute("a", calls::incrementAndGet)).isEqualTo(2);
+        assertThat(flight.execute("b", calls::incrementAndGet)).isEqualTo(3);
+        assertThat(flight.getExecuted()).isEqualTo(3);
+        assertThat(flight.getCoalesced()).isZero();
+    }
+
+    @Test
+    void waitingCallersReceiveTheFailureAsIs() throws Exception {
+        SingleFlight<String, String> flight = SingleFlight.of("failing", Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }), THREADS);
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Throwable> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                flight.execute("key", () -> "not run");
+                return null;
+            } catch (RuntimeException ex) {
+                return ex;
+            }
+        }, THREADS);
+        while (flight.getCoalesced() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(failure);
+        assertThat(flight.execute("key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void waitingCallersGiveUpAfterTheMaximumWait() throws Exception {
+        SingleFlight<String, String> flight = SingleFlight.of("stuck", Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+            started.countDown();
+            await(release);
+            return "late";
+        }), THREADS);
+        started.await(5, TimeUnit.SECONDS);
+
+        try {
+            assertThatThrownBy(() -> flight.execute("key", () -> "not run"))
+                    .isInstanceOf(ServiceUnavailableException.class);
+            assertThat(flight.getTimedOut()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("late");
+    }
+
+    @Test
+    void disabledFlightRunsEveryCall() {
+        SingleFlight<String, Integer> flight = SingleFlight.disabled("disabled");
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.execute("key", calls::incrementAndGet);
+        flight.execute("key", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+        assertThat(flight.getExecuted()).isEqualTo(2);
+    }
+
+    @Test
+    void registersItsCountersTaggedWithTheOperation() {
+        SingleFlight<String, String> flight = SingleFlight.of("metered", Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        flight.bindTo(registry);
+
+        flight.execute("key", () -> "value");
+
+        assertThat(registry.get("single.flight.executed").tag("operation", "metered").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("single.flight.coalesced").tag("operation", "metered").functionCounter().count())
+                .isZero();
+    }
+
+    private static void await(CountDownLatch release) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
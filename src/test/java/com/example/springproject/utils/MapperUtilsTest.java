@@ -0,0 +1,105 @@
+package com.example.springproject.utils;
+
+import com.example.springproject.dto.request.UserRequest;
+import com.example.springproject.dto.response.UserResponse;
+import com.example.springproject.entity.User;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Output of {@link MapperUtils}, which must stay what ModelMapper produced for the types of the application.
+ */
+class MapperUtilsTest {
+
+    @Test
+    void userIsMappedToResponseWithEveryMatchingProperty() {
+        User user = user(1);
+
+        UserResponse response = MapperUtils.toDTO(user, UserResponse.class);
+
+        assertThat(response).isEqualTo(new UserResponse(user.getId(), "user1", "secret1", "user1@example.com", "0900000001",
+                "USER"));
+    }
+
+    @Test
+    void requestIsMappedToEntityLeavingTheOtherPropertiesUnset() {
+        User user = MapperUtils.toEntity(new UserRequest("alice", "secret", "alice@example.com", "0900000000",
+                "ADMIN"), User.class);
+
+        assertThat(user.getUsername()).isEqualTo("alice");
+        assertThat(user.getPassword()).isEqualTo("secret");
+        assertThat(user.getEmail()).isEqualTo("alice@example.com");
+        assertThat(user.getPhone()).isEqualTo("0900000000");
+        assertThat(user.getRole()).isEqualTo("ADMIN");
+        assertThat(user.getId()).isNull();
+        assertThat(user.getLastUpdatedAt()).isNull();
+    }
+
+    @Test
+    void listsAreMappedInOrderBelowAndAboveTheParallelThreshold() {
+        for (int size : new int[]{3, MapperUtils.PARALLEL_THRESHOLD + 1}) {
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                users.add(user(i));
+            }
+
+            List<UserResponse> responses = MapperUtils.toDTOs(users, UserResponse.class);
+
+            assertThat(responses).hasSize(size);
+            for (int i = 0; i < size; i++) {
+                assertThat(responses.get(i)).isEqualTo(MapperUtils.toDTO(users.get(i), UserResponse.class));
+                assertThat(responses.get(i).getId()).isEqualTo(users.get(i).getId());
+            }
+        }
+    }
+
+    @Test
+    void nullsAreNotCopiedIntoPrimitivesAndMismatchedTypesAreSkipped() {
+        Source source = new Source();
+        source.setCount(null);
+        source.setName("name");
+        source.setAmount("12");
+        Target target = new Target();
+        target.setCount(7);
+
+        Target mapped = MapperUtils.toDTO(source, Target.class);
+
+        assertThat(mapped.getCount()).isZero();
+        assertThat(mapped.getName()).isEqualTo("name");
+        // ModelMapper converted "12" into 12, this mapper does not convert between types
+        assertThat(mapped.getAmount()).isZero();
+    }
+
+    @Test
+    void nullSourcesAreRejected() {
+        assertThatThrownBy(() -> MapperUtils.toDTO(null, UserResponse.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(MapperUtils.toDTOs(new ArrayList<User>(), UserResponse.class)).isEmpty();
+    }
+
+    private static User user(int i) {
+        User user = new User("user" + i, "secret" + i, "user" + i + "@example.com", "090000000" + i, "USER");
+        user.ensureId();
+        return user;
+    }
+
+    @Data
+    public static class Source {
+        private Integer count;
+        private String name;
+        private String amount;
+    }
+
+    @Data
+    public static class Target {
+        private int count;
+        private String name;
+        private int amount;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.springproject.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Layout and ordering of the version 7 UUIDs of {@link UuidUtils}.
+ */
+class UuidUtilsTest {
+
+    @Test
+    void isAVersion7UuidOfTheRfcVariantCarryingTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidUtils.timeOrdered();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        // the sequence may run ahead of the clock when ids are generated faster than one per millisecond
+        assertThat(uuid.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void stringFormsSortInGenerationOrder() {
+        List<String> generated = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            generated.add(UuidUtils.timeOrdered().toString());
+        }
+
+        assertThat(generated).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void concurrentGenerationHandsOutDistinctIds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        ConcurrentHashMap<UUID, Boolean> ids = new ConcurrentHashMap<>();
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(executor.submit(() -> {
+                    UUID previous = null;
+                    for (int i = 0; i < 10_000; i++) {
+                        UUID uuid = UuidUtils.timeOrdered();
+                        // ids generated by one thread are increasing too
+                        if (previous != null) {
+                            assertThat(uuid.toString()).isGreaterThan(previous.toString());
+                        }
+                        ids.put(uuid, Boolean.TRUE);
+                        previous = uuid;
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(80_000);
+    }
+}